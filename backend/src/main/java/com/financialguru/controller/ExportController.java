@@ -5,8 +5,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/export")
@@ -17,17 +19,19 @@ public class ExportController {
     private final ExportService exportService;
 
     @GetMapping("/transactions/csv")
-    public ResponseEntity<byte[]> exportCSV(
+    public ResponseEntity<StreamingResponseBody> exportCSV(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
-            @RequestParam(required = false) String accountId,
-            @RequestParam(required = false) String category) {
-        byte[] data = exportService.exportTransactionsCSV(from, to, accountId, category);
+            @RequestParam(required = false) UUID accountId,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        StreamingResponseBody body = out ->
+                exportService.writeTransactionsCSV(from, to, accountId, category, gzip, out);
+        String filename = "transactions_" + from + "_to_" + to + (gzip ? ".csv.gz" : ".csv");
         return ResponseEntity.ok()
-                .header("Content-Disposition",
-                        "attachment; filename=transactions_" + from + "_to_" + to + ".csv")
-                .header("Content-Type", "text/csv")
-                .body(data);
+                .header("Content-Disposition", "attachment; filename=" + filename)
+                .header("Content-Type", gzip ? "application/gzip" : "text/csv")
+                .body(body);
     }
 
     @GetMapping("/monthly-pdf")
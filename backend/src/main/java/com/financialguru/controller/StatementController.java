@@ -1,16 +1,21 @@
 package com.financialguru.controller;
 
+import com.financialguru.dto.response.ImportProgressResponse;
 import com.financialguru.model.Statement;
+import com.financialguru.service.BulkImportService;
 import com.financialguru.service.PdfExtractionService;
 import com.financialguru.service.StatementService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -23,6 +28,7 @@ public class StatementController {
 
     private final StatementService statementService;
     private final PdfExtractionService pdfExtractionService;
+    private final BulkImportService bulkImportService;
 
     @PostMapping("/upload")
     @Operation(summary = "Upload a PDF bank statement")
@@ -33,6 +39,35 @@ public class StatementController {
         return ResponseEntity.ok(statementService.uploadStatement(file, accountId));
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Upload many PDF statements and/or ZIP archives of PDFs in one request")
+    public ResponseEntity<ImportProgressResponse> bulkImport(
+        @RequestParam("files") List<MultipartFile> files,
+        @RequestParam(value = "accountId", required = false) UUID accountId
+    ) throws Exception {
+        return ResponseEntity.ok(bulkImportService.importFiles(files, accountId));
+    }
+
+    @PostMapping(value = "/bulk", consumes = {"application/zip", "application/x-zip-compressed",
+        MediaType.APPLICATION_PDF_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @Operation(summary = "Import one ZIP archive of PDFs (or one PDF) sent as the raw request body — "
+        + "for archives larger than the multipart upload limit")
+    public ResponseEntity<ImportProgressResponse> bulkImportBody(
+        HttpServletRequest request,
+        @RequestParam(value = "filename", required = false) String filename,
+        @RequestParam(value = "accountId", required = false) UUID accountId
+    ) throws Exception {
+        try (InputStream body = request.getInputStream()) {
+            return ResponseEntity.ok(bulkImportService.importBody(body, filename, request.getContentType(), accountId));
+        }
+    }
+
+    @GetMapping("/bulk/{batchId}")
+    @Operation(summary = "Get progress of a bulk import")
+    public ResponseEntity<ImportProgressResponse> getImportProgress(@PathVariable UUID batchId) {
+        return ResponseEntity.ok(bulkImportService.getProgress(batchId));
+    }
+
     @GetMapping
     @Operation(summary = "List all statements")
     public ResponseEntity<List<Statement>> getAllStatements() {
@@ -76,11 +111,15 @@ public class StatementController {
         if (!pdfFile.exists()) {
             return ResponseEntity.notFound().build();
         }
-        String text = pdfExtractionService.extractText(pdfFile);
-        String institution = pdfExtractionService.detectInstitution(text);
+        PdfExtractionService.ExtractionResult extraction = pdfExtractionService.extract(pdfFile);
+        String text = extraction.text();
         return ResponseEntity.ok(Map.of(
             "fileName", statement.getFileName(),
-            "institution", institution,
+            "institution", extraction.institution(),
+            "institutionConfidence", extraction.institutionConfidence(),
+            "pageCount", extraction.pageCount(),
+            "ocr", extraction.ocr(),
+            "sha256", extraction.sha256(),
             "charCount", text.length(),
             "lineCount", text.split("\n").length,
             "text", text
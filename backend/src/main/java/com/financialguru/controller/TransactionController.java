@@ -25,10 +25,15 @@ public class TransactionController {
     private final TransactionService transactionService;
 
     @GetMapping
-    @Operation(summary = "List all transactions with filtering")
-    public ResponseEntity<Page<TransactionResponse>> getTransactions(
+    @Operation(summary = "List all transactions with filtering",
+        description = "Offset pages by default. With keyset=true or a cursor, returns a cursor page instead; "
+            + "add count=true to include the total.")
+    public ResponseEntity<?> getTransactions(
         @ModelAttribute TransactionFilterRequest filter
     ) {
+        if (filter.isKeyset() || filter.getCursor() != null) {
+            return ResponseEntity.ok(transactionService.getTransactionsAfter(filter));
+        }
         return ResponseEntity.ok(transactionService.getTransactions(filter));
     }
 
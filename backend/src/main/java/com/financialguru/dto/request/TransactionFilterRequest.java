@@ -17,4 +17,8 @@ public class TransactionFilterRequest {
     private String search;
     private int page = 0;
     private int size = 50;
+    // Keyset mode: set keyset=true for the first page, then pass back the returned nextCursor
+    private boolean keyset;
+    private String cursor;
+    private boolean count;
 }
@@ -0,0 +1,29 @@
+package com.financialguru.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportProgressResponse {
+    private UUID batchId;
+    private int totalFiles;
+    private int pending;
+    private int processing;
+    private int completed;
+    private int failed;
+    private int duplicates;
+    private int skipped;
+    private long transactions;
+    private double transactionsPerSecond;
+    private boolean finished;
+    private OffsetDateTime startedAt;
+    private OffsetDateTime finishedAt;
+}
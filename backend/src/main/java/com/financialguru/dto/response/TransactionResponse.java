@@ -1,6 +1,7 @@
 package com.financialguru.dto.response;
 
 import com.financialguru.model.Transaction;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
@@ -9,8 +10,10 @@ import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
+// The all-args constructor doubles as the JPQL/Criteria projection (see TransactionResponseQueries)
 @Data
 @Builder
+@AllArgsConstructor
 public class TransactionResponse {
     private UUID id;
     private UUID accountId;
@@ -0,0 +1,42 @@
+package com.financialguru.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One day's total for a (account, type, category, merchant) bucket of transactions.
+ * Read-only through JPA — rows are maintained by {@code SpendingRollupWriter}.
+ */
+@Entity
+@Table(name = "daily_spending_rollup")
+@Immutable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySpendingRollup {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private LocalDate spendDate;
+
+    private UUID accountId;
+
+    @Enumerated(EnumType.STRING)
+    private Transaction.TransactionType type;
+
+    private String category;
+    private String merchantName;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false)
+    private Long txnCount;
+}
@@ -0,0 +1,40 @@
+package com.financialguru.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "import_batches")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportBatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    /** PDFs accepted into the batch (standalone uploads plus PDFs found inside ZIPs) */
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer fileCount = 0;
+
+    /** PDFs whose bytes matched an existing statement and were not re-ingested */
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer duplicateCount = 0;
+
+    /** Non-PDF files and ZIP entries that were ignored */
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer skippedCount = 0;
+
+    @CreationTimestamp
+    private OffsetDateTime createdAt;
+}
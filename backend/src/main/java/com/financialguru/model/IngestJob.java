@@ -0,0 +1,64 @@
+package com.financialguru.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "ingest_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngestJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "statement_id", nullable = false, unique = true)
+    private UUID statementId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private JobStatus status = JobStatus.QUEUED;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    /** Earliest time a QUEUED job may be claimed — pushed forward on retry for backoff */
+    @Column(nullable = false)
+    @Builder.Default
+    private OffsetDateTime availableAt = OffsetDateTime.now();
+
+    /** A RUNNING job whose lease has expired is considered abandoned and may be re-claimed */
+    private OffsetDateTime leaseExpiresAt;
+
+    /** Worker identity (host/thread) currently holding the lease */
+    private String lockedBy;
+
+    /** Re-enqueued while RUNNING: queue it again when the current run finishes */
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean rerunRequested = false;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    @CreationTimestamp
+    private OffsetDateTime createdAt;
+
+    @UpdateTimestamp
+    private OffsetDateTime updatedAt;
+
+    public enum JobStatus {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+}
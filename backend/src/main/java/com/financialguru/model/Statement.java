@@ -68,6 +68,10 @@ public class Statement {
     /** The calendar year these YTD totals apply to */
     private Integer ytdYear;
 
+    /** SHA-256 of the uploaded PDF bytes — key into the extraction cache */
+    @Column(length = 64)
+    private String contentHash;
+
     @Enumerated(EnumType.STRING)
     @Builder.Default
     private StatementStatus status = StatementStatus.PENDING;
@@ -75,6 +79,13 @@ public class Statement {
     @Column(columnDefinition = "TEXT")
     private String errorMessage;
 
+    /** Bulk import this statement arrived in, if any */
+    @Column(name = "batch_id")
+    private UUID batchId;
+
+    /** When ingestion last finished (COMPLETED or FAILED) */
+    private OffsetDateTime processedAt;
+
     @CreationTimestamp
     private OffsetDateTime createdAt;
 
@@ -52,6 +52,10 @@ public class Transaction {
 
     private String referenceNumber;
 
+    // Import identity set on ingest (see TransactionFingerprinter); unique, and not updated by edits
+    @Column(length = 32)
+    private String fingerprint;
+
     @Builder.Default
     private Boolean isRecurring = false;
 
@@ -0,0 +1,183 @@
+package com.financialguru.parser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Case-insensitive multi-pattern matcher (Aho-Corasick automaton).
+ *
+ * Compiled once from a keyword table, then matches every keyword in a single left-to-right
+ * pass over a {@link CharSequence} — no lowercased copy of the input is made. Patterns are
+ * ASCII; letters are folded so "Whole Foods" and "WHOLE FOODS" both match "whole foods".
+ * The automaton is immutable and safe to share between threads.
+ *
+ * @param <T> payload attached to each pattern and reported on match
+ */
+public final class AhoCorasick<T> {
+
+    @FunctionalInterface
+    public interface MatchHandler<T> {
+        /** Called for each match; {@code end} is exclusive. Return false to stop scanning. */
+        boolean onMatch(T payload, int start, int end);
+    }
+
+    private final byte[] charClass;   // ASCII char -> class id, 0 = appears in no pattern
+    private final int classes;
+    private final int[] delta;        // full DFA: state * classes + class -> next state
+    private final int[][] outputs;    // state -> pattern ids ending here (incl. via suffix links)
+    private final int[] patternLength;
+    private final List<T> payloads;
+    private final int maxPatternLength;
+
+    private AhoCorasick(byte[] charClass, int classes, int[] delta, int[][] outputs,
+                        int[] patternLength, List<T> payloads) {
+        this.charClass = charClass;
+        this.classes = classes;
+        this.delta = delta;
+        this.outputs = outputs;
+        this.patternLength = patternLength;
+        this.payloads = payloads;
+        this.maxPatternLength = Arrays.stream(patternLength).max().orElse(0);
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public int maxPatternLength() {
+        return maxPatternLength;
+    }
+
+    public void scan(CharSequence text, MatchHandler<T> handler) {
+        scan(text, 0, text.length(), handler);
+    }
+
+    public void scan(CharSequence text, int from, int to, MatchHandler<T> handler) {
+        int state = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            int cls = c < 128 ? charClass[c] : 0;
+            state = cls == 0 ? 0 : delta[state * classes + cls];
+            int[] out = outputs[state];
+            if (out == null) continue;
+            for (int id : out) {
+                if (!handler.onMatch(payloads.get(id), i + 1 - patternLength[id], i + 1)) return;
+            }
+        }
+    }
+
+    public static final class Builder<T> {
+        private final List<String> patterns = new ArrayList<>();
+        private final List<T> payloads = new ArrayList<>();
+
+        public Builder<T> add(String pattern, T payload) {
+            if (pattern.isEmpty()) throw new IllegalArgumentException("Empty pattern");
+            for (int i = 0; i < pattern.length(); i++) {
+                if (pattern.charAt(i) >= 128) {
+                    throw new IllegalArgumentException("Non-ASCII pattern: " + pattern);
+                }
+            }
+            patterns.add(pattern.toLowerCase(Locale.ROOT));
+            payloads.add(payload);
+            return this;
+        }
+
+        public AhoCorasick<T> build() {
+            // Compact alphabet: only chars that occur in some pattern get a class
+            byte[] charClass = new byte[128];
+            int classes = 1;
+            for (String p : patterns) {
+                for (int i = 0; i < p.length(); i++) {
+                    char c = p.charAt(i);
+                    if (charClass[c] == 0) {
+                        if (classes == 127) throw new IllegalStateException("Pattern alphabet too large");
+                        charClass[c] = (byte) classes;
+                        char upper = Character.toUpperCase(c);
+                        if (upper < 128) charClass[upper] = (byte) classes;
+                        classes++;
+                    }
+                }
+            }
+
+            // Trie
+            List<int[]> go = new ArrayList<>();
+            List<int[]> own = new ArrayList<>();
+            go.add(newRow(classes));
+            own.add(null);
+            int[] patternLength = new int[patterns.size()];
+            for (int id = 0; id < patterns.size(); id++) {
+                String p = patterns.get(id);
+                patternLength[id] = p.length();
+                int state = 0;
+                for (int i = 0; i < p.length(); i++) {
+                    int cls = charClass[p.charAt(i)];
+                    if (go.get(state)[cls] < 0) {
+                        go.get(state)[cls] = go.size();
+                        go.add(newRow(classes));
+                        own.add(null);
+                    }
+                    state = go.get(state)[cls];
+                }
+                own.set(state, append(own.get(state), id));
+            }
+
+            // BFS over the trie: compute failure links and flatten into a full transition table
+            int states = go.size();
+            int[] delta = new int[states * classes];
+            int[] fail = new int[states];
+            int[][] outputs = new int[states][];
+            outputs[0] = own.get(0);
+            Deque<Integer> queue = new ArrayDeque<>();
+            for (int cls = 1; cls < classes; cls++) {
+                int child = go.get(0)[cls];
+                delta[cls] = child < 0 ? 0 : child;
+                if (child > 0) {
+                    fail[child] = 0;
+                    outputs[child] = own.get(child);
+                    queue.add(child);
+                }
+            }
+            while (!queue.isEmpty()) {
+                int s = queue.poll();
+                for (int cls = 1; cls < classes; cls++) {
+                    int child = go.get(s)[cls];
+                    int viaFail = delta[fail[s] * classes + cls];
+                    if (child < 0) {
+                        delta[s * classes + cls] = viaFail;
+                    } else {
+                        delta[s * classes + cls] = child;
+                        fail[child] = viaFail;
+                        outputs[child] = merge(own.get(child), outputs[viaFail]);
+                        queue.add(child);
+                    }
+                }
+            }
+            return new AhoCorasick<>(charClass, classes, delta, outputs, patternLength, List.copyOf(payloads));
+        }
+
+        private static int[] newRow(int classes) {
+            int[] row = new int[classes];
+            Arrays.fill(row, -1);
+            return row;
+        }
+
+        private static int[] append(int[] ids, int id) {
+            if (ids == null) return new int[]{id};
+            int[] out = Arrays.copyOf(ids, ids.length + 1);
+            out[ids.length] = id;
+            return out;
+        }
+
+        private static int[] merge(int[] a, int[] b) {
+            if (a == null) return b;
+            if (b == null) return a;
+            int[] out = Arrays.copyOf(a, a.length + b.length);
+            System.arraycopy(b, 0, out, a.length, b.length);
+            return out;
+        }
+    }
+}
@@ -8,10 +8,9 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -151,56 +150,74 @@ public class AmexParser extends GenericPdfParser {
     }
 
     @Override
-    public List<Transaction> parse(String pdfText, Statement statement, Account account) {
-        log.info("Using Amex-specific parser");
-
+    protected LocalDate[] prepareStatement(String pdfText, Statement statement) {
         // Always extract payment/YTD info regardless of transaction parse success
         extractPaymentSummary(pdfText, statement);
         extractYtdTotals(pdfText, statement);
+        return super.prepareStatement(pdfText, statement);
+    }
+
+    @Override
+    public List<Transaction> parse(String pdfText, Statement statement, Account account) {
+        log.info("Using Amex-specific parser");
 
+        LocalDate[] period = prepareStatement(pdfText, statement);
         List<Transaction> transactions = new ArrayList<>();
+        parseLines(new LineScanner(pdfText), period, statement, account, transactions::add);
+
+        log.info("Amex parser extracted {} transactions", transactions.size());
+
+        if (transactions.isEmpty()) {
+            log.warn("Amex parser found 0 transactions — falling back to generic");
+            return super.parse(pdfText, statement, account);
+        }
+        return transactions;
+    }
+
+    @Override
+    protected void parseLines(LineScanner line, LocalDate[] period, Statement statement, Account account,
+                              Consumer<Transaction> out) {
         boolean inChargesSection = false;
         boolean inPaymentsSection = false;
         boolean inInterestSection = false;
 
-        String[] lines = pdfText.split("\n");
-        for (String line : lines) {
-            line = line.trim();
-            if (line.isBlank()) continue;
+        Matcher txn = AMEX_TXN.matcher("");
 
+        while (line.next()) {
             // Section detection
-            String lower = line.toLowerCase();
-            if (lower.startsWith("new charges") || lower.startsWith("charges")) {
+            if (line.startsWithAnyIgnoreCase("new charges", "charges")) {
                 inChargesSection = true; inPaymentsSection = false; inInterestSection = false;
                 continue;
             }
-            if (lower.startsWith("payments") || lower.startsWith("payments and credits")) {
+            if (line.startsWithAnyIgnoreCase("payments", "payments and credits")) {
                 inPaymentsSection = true; inChargesSection = false; inInterestSection = false;
                 continue;
             }
-            if (lower.startsWith("interest charged") || lower.startsWith("fees")) {
+            if (line.startsWithAnyIgnoreCase("interest charged", "fees")) {
                 inInterestSection = true; inChargesSection = false; inPaymentsSection = false;
                 continue;
             }
-            if (lower.startsWith("about trailing interest") || lower.startsWith("important notices")) {
+            if (line.startsWithAnyIgnoreCase("about trailing interest", "important notices")) {
                 inChargesSection = false; inPaymentsSection = false; inInterestSection = false;
             }
 
-            Matcher m = AMEX_TXN.matcher(line);
-            if (!m.matches()) continue;
+            if (!line.startsWithMmDd() || !line.endsWithAmount()) continue;
+            Matcher m = line.firstMatch(txn);
+            if (m == null) continue;
 
             try {
-                String dateStr = m.group(1);
                 String description = m.group(2).trim();
-                String amountStr = m.group(3).trim();
 
                 // Skip header rows
                 if (description.equalsIgnoreCase("description") || description.equalsIgnoreCase("amount")) continue;
                 // Skip summary/total lines
                 if (description.toLowerCase().startsWith("total ") || description.toLowerCase().startsWith("new balance")) continue;
 
-                LocalDate date = LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("MM/dd/yy"));
-                BigDecimal amount = parseAmount(amountStr.replace("$", ""));
+                int day = StatementLexer.slashDate(line, m.start(1), m.end(1));
+                long cents = StatementLexer.cents(line, m.start(3), m.end(3));
+                if (day == StatementLexer.NO_DATE || cents == StatementLexer.NO_AMOUNT) continue;
+                LocalDate date = LocalDate.ofEpochDay(day);
+                BigDecimal amount = StatementLexer.toAmount(cents);
 
                 // Determine transaction type
                 Transaction.TransactionType type;
@@ -230,20 +247,14 @@ public class AmexParser extends GenericPdfParser {
                     .category(category)
                     .build();
 
-                transactions.add(t);
+                out.accept(t);
                 log.debug("Amex parsed: {} | {} | {}", date, merchant, amount);
+            } catch (StatementSinkException e) {
+                throw e;
             } catch (Exception e) {
                 log.debug("Amex parser: could not parse line: {} — {}", line, e.getMessage());
             }
         }
-
-        log.info("Amex parser extracted {} transactions", transactions.size());
-
-        if (transactions.isEmpty()) {
-            log.warn("Amex parser found 0 transactions — falling back to generic");
-            return super.parse(pdfText, statement, account);
-        }
-        return transactions;
     }
 
     // ── Merchant normalization ────────────────────────────────────────────────
@@ -325,16 +336,4 @@ public class AmexParser extends GenericPdfParser {
             }
         }
     }
-
-    // Reuse GenericPdfParser.parseDate but also handle MM/DD/YY
-    @Override
-    protected LocalDate parseDate(String dateStr) {
-        try {
-            return LocalDate.parse(dateStr.trim(), DateTimeFormatter.ofPattern("MM/dd/yy"));
-        } catch (DateTimeParseException ignored) {}
-        try {
-            return LocalDate.parse(dateStr.trim(), DateTimeFormatter.ofPattern("MM/dd/yyyy"));
-        } catch (DateTimeParseException ignored) {}
-        return super.parseDate(dateStr);
-    }
 }
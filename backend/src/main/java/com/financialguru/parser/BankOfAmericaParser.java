@@ -8,10 +8,9 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -41,6 +40,13 @@ public class BankOfAmericaParser extends GenericPdfParser {
         "^(\\d{2}/\\d{2})\\s+(.+?)\\s+(-?\\$?[\\d,]+[.,]\\d{2})\\s*$"
     );
 
+    // Section headers — matched case-insensitively against non-transaction lines
+    private static final Pattern PURCHASES_HEADER = Pattern.compile("(?i)\\bpurchases\\b");
+    private static final Pattern PAYMENTS_HEADER  = Pattern.compile("(?i)\\b(payments?|credits?)\\b");
+    private static final Pattern FEES_HEADER      = Pattern.compile("(?i)\\bfees?\\b");
+    private static final Pattern INTEREST_HEADER  = Pattern.compile("(?i)\\binterest\\s+charged\\b");
+    private static final Pattern ANY_MMDD         = Pattern.compile("\\d{2}/\\d{2}");
+
     // Strip trailing 15-20 digit reference numbers
     private static final Pattern REF_NUMBER = Pattern.compile("\\s+\\d{15,20}\\s*$");
 
@@ -226,94 +232,106 @@ public class BankOfAmericaParser extends GenericPdfParser {
             account.getApr(), account.getPromoApr(), account.getPromoAprEndDate());
     }
 
+    @Override
+    protected LocalDate[] prepareStatement(String pdfText, Statement statement) {
+        // Always extract payment summary and YTD totals — even if falling back to generic
+        extractPaymentSummary(pdfText, statement);
+        extractYtdTotals(pdfText, statement);
+
+        LocalDate[] period = detectStatementPeriod(pdfText, statement);
+        log.info("Detected statement period: {} to {}", period[0], period[1]);
+        return period;
+    }
+
     @Override
     public List<Transaction> parse(String pdfText, Statement statement, Account account) {
         log.info("Using BofA-specific parser");
 
-        LocalDate[] period = detectStatementPeriod(pdfText, statement);
+        LocalDate[] period = prepareStatement(pdfText, statement);
+        List<Transaction> transactions = new ArrayList<>();
+        parseLines(new LineScanner(pdfText), period, statement, account, transactions::add);
+
+        if (transactions.isEmpty()) {
+            log.warn("BofA two-date parser found 0 transactions — falling back to generic parser");
+            return super.parse(pdfText, statement, account);
+        }
+
+        log.info("BofA parser extracted {} transactions", transactions.size());
+        return transactions;
+    }
+
+    @Override
+    protected void parseLines(LineScanner line, LocalDate[] period, Statement statement, Account account,
+                              Consumer<Transaction> sink) {
+        // Belt-and-suspenders: drop any $0 transactions that slipped through
+        Consumer<Transaction> out = t -> {
+            if (t.getAmount().signum() != 0) sink.accept(t);
+            else log.debug("BofA: dropped zero-amount transaction {}", t.getDescription());
+        };
+
         LocalDate periodStart = period[0];
         LocalDate periodEnd   = period[1];
-        log.info("Detected statement period: {} to {}", periodStart, periodEnd);
 
-        List<Transaction> transactions = new ArrayList<>();
-        String[] lines = pdfText.split("\n");
+        Matcher purchasesHeader = PURCHASES_HEADER.matcher("");
+        Matcher paymentsHeader  = PAYMENTS_HEADER.matcher("");
+        Matcher feesHeader      = FEES_HEADER.matcher("");
+        Matcher interestHeader  = INTEREST_HEADER.matcher("");
+        Matcher anyMmDd         = ANY_MMDD.matcher("");
+        Matcher twoDate = BOFA_TWO_DATE.matcher("");
+        Matcher oneDate = BOFA_ONE_DATE.matcher("");
 
         Transaction.TransactionType currentSection = Transaction.TransactionType.DEBIT;
         boolean inTransactionSection = false;
 
-        for (int i = 0; i < lines.length; i++) {
-            String line = lines[i].trim();
-            if (line.isBlank()) continue;
-
+        while (line.next()) {
             // ── Section detection ──────────────────────────────────────────────
             // Only treat as section header if the line does NOT start with MM/dd
             // (a line starting with a date is a transaction, not a section header)
-            boolean lineStartsWithDate = line.matches("^\\d{2}/\\d{2}.*");
-            if (!lineStartsWithDate) {
-                String lower = line.toLowerCase();
-                if (lower.matches(".*\\bpurchases\\b.*") && !lower.contains("total")) {
+            if (!line.startsWithMmDd()) {
+                boolean hasTotal = line.containsIgnoreCase("total");
+                if (!hasTotal && purchasesHeader.reset(line).find()) {
                     currentSection = Transaction.TransactionType.DEBIT;
                     inTransactionSection = true;
                     continue;
                 }
-                if (lower.matches(".*\\b(payments?|credits?)\\b.*") && !lower.contains("total")) {
+                if (!hasTotal && paymentsHeader.reset(line).find()) {
                     currentSection = Transaction.TransactionType.CREDIT;
                     inTransactionSection = true;
                     continue;
                 }
-                if (lower.matches(".*\\bfees?\\b.*") && !lower.contains("total")
-                        && !lower.contains("no fee") && !lower.contains("annual fee")) {
+                if (!hasTotal && feesHeader.reset(line).find()
+                        && !line.containsIgnoreCase("no fee") && !line.containsIgnoreCase("annual fee")) {
                     currentSection = Transaction.TransactionType.FEE;
                     inTransactionSection = true;
                     continue;
                 }
-                if (lower.matches(".*\\binterest\\s+charged\\b.*") && !lower.matches(".*\\d{2}/\\d{2}.*")) {
+                if (interestHeader.reset(line).find() && !anyMmDd.reset(line).find()) {
                     currentSection = Transaction.TransactionType.INTEREST;
                     inTransactionSection = true;
                     continue;
                 }
+                // Both transaction layouts start with MM/dd
+                continue;
             }
+            if (!line.endsWithAmount()) continue;
 
             // ── Try two-date format: MM/dd  MM/dd  Description  Amount ─────────
-            Matcher m2 = BOFA_TWO_DATE.matcher(line);
-            if (m2.matches()) {
+            if (line.firstMatch(twoDate) != null) {
                 Transaction t = buildTransaction(
-                    m2.group(1), m2.group(2), m2.group(3), m2.group(4),
-                    periodStart, periodEnd, currentSection, statement, account
+                    line, twoDate, true, periodStart, periodEnd, currentSection, statement, account
                 );
-                if (t != null) { transactions.add(t); inTransactionSection = true; }
+                if (t != null) { out.accept(t); inTransactionSection = true; }
                 continue;
             }
 
             // ── Try single-date format: MM/dd  Description  Amount ────────────
-            Matcher m1 = BOFA_ONE_DATE.matcher(line);
-            if (m1.matches() && inTransactionSection) {
+            if (inTransactionSection && line.firstMatch(oneDate) != null) {
                 Transaction t = buildTransaction(
-                    m1.group(1), null, m1.group(2), m1.group(3),
-                    periodStart, periodEnd, currentSection, statement, account
+                    line, oneDate, false, periodStart, periodEnd, currentSection, statement, account
                 );
-                if (t != null) transactions.add(t);
+                if (t != null) out.accept(t);
             }
         }
-
-        // Always extract payment summary and YTD totals — even if falling back to generic
-        extractPaymentSummary(pdfText, statement);
-        extractYtdTotals(pdfText, statement);
-
-        // Belt-and-suspenders: remove any $0 transactions that slipped through
-        int beforeFilter = transactions.size();
-        transactions.removeIf(t -> t.getAmount().compareTo(java.math.BigDecimal.ZERO) == 0);
-        if (transactions.size() < beforeFilter) {
-            log.info("Removed {} zero-amount transactions", beforeFilter - transactions.size());
-        }
-
-        if (transactions.isEmpty()) {
-            log.warn("BofA two-date parser found 0 transactions — falling back to generic parser");
-            return super.parse(pdfText, statement, account);
-        }
-
-        log.info("BofA parser extracted {} transactions", transactions.size());
-        return transactions;
     }
 
     // ── Helpers ──────────────────────────────────────────────────────────────
@@ -369,15 +387,21 @@ public class BankOfAmericaParser extends GenericPdfParser {
         }
     }
 
+    /**
+     * Builds a transaction from a matched line. Group 1 is the transaction date; when
+     * {@code withPostDate} the post date is group 2, followed by description and amount.
+     */
     private Transaction buildTransaction(
-        String transDateStr, String postDateStr, String rawDesc, String amountStr,
+        CharSequence line, Matcher m, boolean withPostDate,
         LocalDate periodStart, LocalDate periodEnd,
         Transaction.TransactionType sectionType,
         Statement statement, Account account
     ) {
+        int descGroup = withPostDate ? 3 : 2;
+        int amountGroup = descGroup + 1;
         try {
             // Clean description
-            String description = REF_NUMBER.matcher(rawDesc.trim()).replaceAll("").trim();
+            String description = REF_NUMBER.matcher(m.group(descGroup).trim()).replaceAll("").trim();
 
             // Strip leading post-date that OCR bleeds into description: "02/08 INTEREST..."
             description = LEADING_DATE.matcher(description).replaceFirst("").trim();
@@ -385,17 +409,19 @@ public class BankOfAmericaParser extends GenericPdfParser {
             if (isHeaderOrSkipLine(description)) return null;
 
             // Skip $0.00 transactions (BofA "no interest charged" informational lines)
-            BigDecimal amount = parseAmount(amountStr);
-            if (amount.compareTo(BigDecimal.ZERO) == 0) {
+            long cents = StatementLexer.cents(line, m.start(amountGroup), m.end(amountGroup));
+            if (cents == StatementLexer.NO_AMOUNT) return null;
+            if (cents == 0) {
                 log.debug("Skipping $0.00 transaction: {}", description);
                 return null;
             }
+            BigDecimal amount = StatementLexer.toAmount(cents);
 
-            LocalDate transDate = resolveBofaDate(transDateStr, periodStart, periodEnd);
+            LocalDate transDate = resolveMonthDay(line, m.start(1), m.end(1), periodStart, periodEnd);
             if (transDate == null) return null;
 
-            LocalDate postDate = postDateStr != null
-                ? resolveBofaDate(postDateStr, periodStart, periodEnd)
+            LocalDate postDate = withPostDate
+                ? resolveMonthDay(line, m.start(2), m.end(2), periodStart, periodEnd)
                 : null;
 
             boolean isCredit = amount.compareTo(BigDecimal.ZERO) < 0
@@ -471,34 +497,6 @@ public class BankOfAmericaParser extends GenericPdfParser {
         return name.isEmpty() ? description.trim() : name;
     }
 
-    /**
-     * Resolve a MM/dd date string into a full LocalDate using the statement period.
-     */
-    private LocalDate resolveBofaDate(String mmdd, LocalDate periodStart, LocalDate periodEnd) {
-        if (mmdd == null) return null;
-        int year = periodEnd != null ? periodEnd.getYear() : LocalDate.now().getYear();
-
-        LocalDate candidate = parseMmDd(mmdd, year);
-        if (candidate == null) return null;
-
-        // Handle year boundary (Dec transactions on a Jan statement)
-        if (periodStart != null && periodEnd != null) {
-            if (candidate.isAfter(periodEnd)) {
-                LocalDate prev = parseMmDd(mmdd, year - 1);
-                if (prev != null && !prev.isBefore(periodStart)) return prev;
-            }
-        }
-        return candidate;
-    }
-
-    private LocalDate parseMmDd(String mmdd, int year) {
-        try {
-            return LocalDate.parse(mmdd + "/" + year, DateTimeFormatter.ofPattern("MM/dd/yyyy"));
-        } catch (DateTimeParseException e) {
-            return null;
-        }
-    }
-
     private LocalDate[] detectStatementPeriod(String text, Statement statement) {
         Matcher m = OPENING_CLOSING.matcher(text);
         if (m.find()) {
@@ -529,15 +527,7 @@ public class BankOfAmericaParser extends GenericPdfParser {
     }
 
     private LocalDate parseFullDate(String dateStr) {
-        String[] patterns = {"MM/dd/yyyy", "M/d/yyyy", "MM/dd/yy", "M/d/yy"};
-        for (String p : patterns) {
-            try {
-                LocalDate d = LocalDate.parse(dateStr.trim(), DateTimeFormatter.ofPattern(p));
-                if (d.getYear() < 100) d = d.withYear(d.getYear() + 2000);
-                return d;
-            } catch (DateTimeParseException ignored) {}
-        }
-        return null;
+        return StatementLexer.toLocalDate(StatementLexer.slashDate(dateStr));
     }
 
     private boolean isHeaderOrSkipLine(String description) {
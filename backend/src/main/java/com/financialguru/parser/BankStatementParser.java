@@ -4,7 +4,9 @@ import com.financialguru.model.Account;
 import com.financialguru.model.Statement;
 import com.financialguru.model.Transaction;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BankStatementParser {
     boolean supports(String institution);
@@ -15,4 +17,32 @@ public interface BankStatementParser {
      * Implementations update the account object in place. Default is a no-op.
      */
     default void extractAccountInfo(String pdfText, Account account) {}
+
+    /**
+     * Parse transactions from column-aligned tables instead of raw text lines. The text is
+     * still passed for header fields (period, payment summary). Returning an empty list
+     * tells the caller to fall back to {@link #parse}. Default: no table support.
+     */
+    default List<Transaction> parseTables(String pdfText, List<StatementTable> tables,
+                                          Statement statement, Account account) {
+        return List.of();
+    }
+
+    /**
+     * Streaming variant of {@link #parse} for very large statements: page text arrives in
+     * order from {@code pages} and transactions are handed to {@code sink} as they are
+     * recognised instead of being collected. {@code headerText} is the first pages, used
+     * for the statement period and payment summary. Returns the number of transactions
+     * emitted. A failure of {@code sink} must abort parsing rather than be taken for an
+     * unparseable line (see {@link StatementSinkException}). The default joins the pages and
+     * delegates to {@code parse}.
+     */
+    default int parseStream(String headerText, Iterator<? extends CharSequence> pages,
+                            Statement statement, Account account, Consumer<Transaction> sink) {
+        StringBuilder text = new StringBuilder();
+        pages.forEachRemaining(text::append);
+        List<Transaction> transactions = parse(text.toString(), statement, account);
+        transactions.forEach(sink);
+        return transactions.size();
+    }
 }
@@ -8,12 +8,9 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.MonthDay;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -51,21 +48,6 @@ public class CapitalOneParser extends GenericPdfParser {
         "^([A-Z][a-z]{2}\\.?\\s+\\d{1,2},\\s+\\d{4})\\s+(.+?)\\s+(-?\\$?[\\d,]+\\.\\d{2})\\s*$"
     );
 
-    // Date formatters for Capital One style dates
-    private static final List<DateTimeFormatter> CAP1_DATE_FMTS = List.of(
-        DateTimeFormatter.ofPattern("MMM. d, yyyy", Locale.US),
-        DateTimeFormatter.ofPattern("MMM d, yyyy",  Locale.US),
-        DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.US),
-        DateTimeFormatter.ofPattern("MM/dd/yyyy"),
-        DateTimeFormatter.ofPattern("MM/dd/yy"),
-        DateTimeFormatter.ofPattern("M/d/yyyy"),
-        DateTimeFormatter.ofPattern("M/d/yy")
-    );
-
-    // Short date (no year): "Feb 14" → need to combine with statement year
-    private static final DateTimeFormatter SHORT_DATE_FMT =
-        DateTimeFormatter.ofPattern("MMM d", Locale.US);
-
     // ── Statement period ──────────────────────────────────────────────────────
     // "BILLING PERIOD  MM/DD/YY - MM/DD/YY" or "Statement Period: Jan 1, 2026 - Jan 31, 2026"
     private static final Pattern PERIOD_SLASH = Pattern.compile(
@@ -212,67 +194,57 @@ public class CapitalOneParser extends GenericPdfParser {
     }
 
     @Override
-    public List<Transaction> parse(String pdfText, Statement statement, Account account) {
-        log.info("Using Capital One parser");
-
+    protected LocalDate[] prepareStatement(String pdfText, Statement statement) {
         extractPaymentSummary(pdfText, statement);
         extractYtdTotals(pdfText, statement);
 
         LocalDate[] period = detectPeriod(pdfText, statement);
         log.info("CapitalOne statement period: {} to {}", period[0], period[1]);
+        return period;
+    }
+
+    @Override
+    public List<Transaction> parse(String pdfText, Statement statement, Account account) {
+        log.info("Using Capital One parser");
 
+        LocalDate[] period = prepareStatement(pdfText, statement);
         List<Transaction> transactions = new ArrayList<>();
-        String[] lines = pdfText.split("\n");
+        parseLines(new LineScanner(pdfText), period, statement, account, transactions::add);
+
+        log.info("Capital One parser extracted {} transactions", transactions.size());
 
-        for (String line : lines) {
-            line = line.trim();
-            if (line.isBlank()) continue;
+        if (transactions.isEmpty()) {
+            log.warn("Capital One parser found 0 transactions — falling back to generic");
+            return super.parse(pdfText, statement, account);
+        }
+        return transactions;
+    }
 
+    @Override
+    protected void parseLines(LineScanner line, LocalDate[] period, Statement statement, Account account,
+                              Consumer<Transaction> out) {
+        Matcher twoDates = CAP1_TXN_TWO_DATES.matcher("");
+        Matcher full     = CAP1_TXN_FULL.matcher("");
+        Matcher slash    = CAP1_TXN_DATE.matcher("");
+        Matcher loose    = CAP1_TXN_LOOSE.matcher("");
+
+        while (line.next()) {
             // Skip obvious header/footer lines
-            String lower = line.toLowerCase();
-            if (lower.startsWith("trans date") || lower.startsWith("post date") ||
-                lower.startsWith("date") || lower.startsWith("description") ||
-                lower.contains("page ") || lower.contains("continued") ||
-                lower.contains("total fees") || lower.contains("total interest") ||
-                lower.contains("interest charge on") || lower.contains("year-to-date") ||
-                lower.contains("total transactions")) continue;
-
-            Matcher m;
-            String dateStr, desc, amtStr;
-            boolean shortDate = false;
+            if (line.startsWithAnyIgnoreCase("trans date", "post date", "date", "description") ||
+                line.containsAnyIgnoreCase("page ", "continued", "total fees", "total interest",
+                    "interest charge on", "year-to-date", "total transactions")) continue;
+
+            // Every layout starts with a month name or a digit and ends in an amount
+            if (!(line.startsWithCapitalizedWord() || line.startsWithDigit()) || !line.endsWithAmount()) continue;
 
             // 1. NEW two-date format: "Feb 14 Feb 14 AMAZON MKTPL $10.70"
-            m = CAP1_TXN_TWO_DATES.matcher(line);
-            if (m.matches()) {
-                dateStr   = m.group(1); // trans date only, e.g. "Feb 14"
-                desc      = m.group(2).trim();
-                amtStr    = m.group(3);
-                shortDate = true;
-            }
             // 2. Full date with year: "Jan. 15, 2026  description  $amount"
-            else {
-                m = CAP1_TXN_FULL.matcher(line);
-                if (m.matches()) {
-                    dateStr = m.group(1);
-                    desc    = m.group(2).trim();
-                    amtStr  = m.group(3);
-                } else {
-                    // 3. Slash date: "01/15/2026  description  $amount"
-                    m = CAP1_TXN_DATE.matcher(line);
-                    if (m.matches()) {
-                        dateStr = m.group(1);
-                        desc    = m.group(2).trim();
-                        amtStr  = m.group(3);
-                    } else {
-                        // 4. Loose fallback
-                        m = CAP1_TXN_LOOSE.matcher(line);
-                        if (!m.matches()) continue;
-                        dateStr = m.group(1);
-                        desc    = m.group(2).trim();
-                        amtStr  = m.group(3);
-                    }
-                }
-            }
+            // 3. Slash date: "01/15/2026  description  $amount"
+            // 4. Loose fallback
+            Matcher m = line.firstMatch(twoDates, full, slash, loose);
+            if (m == null) continue;
+            String desc    = m.group(2).trim();
+            boolean shortDate = m == twoDates; // trans date only, e.g. "Feb 14"
 
             try {
                 if (desc.equalsIgnoreCase("description") || desc.equalsIgnoreCase("amount")) continue;
@@ -281,15 +253,16 @@ public class CapitalOneParser extends GenericPdfParser {
                 // Parse date — short dates need year from billing period
                 LocalDate date;
                 if (shortDate) {
-                    date = parseShortDate(dateStr, period[1]);
+                    date = parseShortDate(line, m.start(1), m.end(1), period[1]);
                 } else {
-                    date = parseCap1Date(dateStr);
+                    date = StatementLexer.toLocalDate(cap1Day(line, m.start(1), m.end(1)));
                 }
                 if (date == null) continue;
 
-                // Normalize amount: "- $63.00" → "-63.00",  "$10.70" → "10.70"
-                String normalizedAmt = amtStr.replace("$", "").replace(" ", "").trim();
-                BigDecimal amount = parseAmount(normalizedAmt);
+                // Amounts come as "- $63.00", "-$63.00" or "$10.70"
+                long cents = StatementLexer.cents(line, m.start(3), m.end(3));
+                if (cents == StatementLexer.NO_AMOUNT) continue;
+                BigDecimal amount = StatementLexer.toAmount(cents);
 
                 Transaction.TransactionType type;
                 String descUpper = desc.toUpperCase();
@@ -309,7 +282,7 @@ public class CapitalOneParser extends GenericPdfParser {
                 String merchant = normalizeMerchant(desc);
                 String category = categorize(merchant, type);
 
-                transactions.add(Transaction.builder()
+                out.accept(Transaction.builder()
                     .account(account)
                     .statement(statement)
                     .transactionDate(date)
@@ -321,32 +294,25 @@ public class CapitalOneParser extends GenericPdfParser {
                     .build());
 
                 log.debug("CapitalOne parsed: {} | {} | {}", date, merchant, amount);
+            } catch (StatementSinkException e) {
+                throw e;
             } catch (Exception e) {
                 log.debug("CapitalOne: could not parse line: {} — {}", line, e.getMessage());
             }
         }
-
-        log.info("Capital One parser extracted {} transactions", transactions.size());
-
-        if (transactions.isEmpty()) {
-            log.warn("Capital One parser found 0 transactions — falling back to generic");
-            return super.parse(pdfText, statement, account);
-        }
-        return transactions;
     }
 
     // ── Helpers ───────────────────────────────────────────────────────────────
 
     private LocalDate parseCap1Date(String dateStr) {
         if (dateStr == null) return null;
-        for (DateTimeFormatter fmt : CAP1_DATE_FMTS) {
-            try {
-                LocalDate d = LocalDate.parse(dateStr.trim(), fmt);
-                if (d.getYear() < 100) d = d.withYear(d.getYear() + 2000);
-                return d;
-            } catch (DateTimeParseException ignored) {}
-        }
-        return null;
+        return StatementLexer.toLocalDate(cap1Day(dateStr, 0, dateStr.length()));
+    }
+
+    /** "Jan. 15, 2026", "January 15, 2026", "01/15/2026" or "1/15/26" as an epoch day. */
+    private static int cap1Day(CharSequence s, int from, int to) {
+        int day = StatementLexer.monthNameDate(s, from, to);
+        return day != StatementLexer.NO_DATE ? day : StatementLexer.slashDate(s, from, to);
     }
 
     private LocalDate[] detectPeriod(String text, Statement statement) {
@@ -386,20 +352,19 @@ public class CapitalOneParser extends GenericPdfParser {
      * Handles cross-year billing periods (e.g. Dec → Jan): if the short month is later in the
      * year than the period end month, the transaction belongs to the previous year.
      */
-    private LocalDate parseShortDate(String shortDate, LocalDate periodEnd) {
-        try {
-            // Parse just month+day
-            MonthDay md = MonthDay.parse(shortDate.trim(), SHORT_DATE_FMT);
-            int year = periodEnd.getYear();
-            // Cross-year: Dec transaction in a Jan-ending period → previous year
-            if (md.getMonthValue() > periodEnd.getMonthValue() + 1) {
-                year = year - 1;
-            }
-            return md.atYear(year);
-        } catch (Exception e) {
-            log.debug("CapitalOne: could not parse short date '{}': {}", shortDate, e.getMessage());
+    private LocalDate parseShortDate(CharSequence s, int from, int to, LocalDate periodEnd) {
+        int md = StatementLexer.monthDay(s, from, to);
+        if (md == StatementLexer.NO_DATE) {
+            log.debug("CapitalOne: could not parse short date '{}'", s.subSequence(from, to));
             return null;
         }
+        int month = md / 100;
+        int year = periodEnd.getYear();
+        // Cross-year: Dec transaction in a Jan-ending period → previous year
+        if (month > periodEnd.getMonthValue() + 1) {
+            year = year - 1;
+        }
+        return StatementLexer.toLocalDate(StatementLexer.epochDay(year, month, md % 100));
     }
 
     private void extractPaymentSummary(String pdfText, Statement statement) {
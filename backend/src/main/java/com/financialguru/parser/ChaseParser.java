@@ -8,10 +8,9 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -194,18 +193,15 @@ public class ChaseParser extends GenericPdfParser {
     }
 
     @Override
-    public List<Transaction> parse(String pdfText, Statement statement, Account account) {
-        log.info("Using Chase-specific parser");
-
+    protected LocalDate[] prepareStatement(String pdfText, Statement statement) {
         // Extract payment/YTD info regardless of transaction parse result
         extractPaymentSummary(pdfText, statement);
         extractYtdTotals(pdfText, statement);
 
         // Detect statement period for year inference
         LocalDate[] period = detectPeriod(pdfText, statement);
-        LocalDate periodStart = period[0];
-        LocalDate periodEnd   = period[1];
-        log.info("Chase statement period: {} to {}", periodStart, periodEnd);
+        LocalDate periodEnd = period[1];
+        log.info("Chase statement period: {} to {}", period[0], periodEnd);
 
         // Infer payment due date from closing date if not found in text.
         // Chase PDF header values ($35.00, 01/14/26) are in a non-text layer that
@@ -214,56 +210,74 @@ public class ChaseParser extends GenericPdfParser {
             statement.setPaymentDueDate(periodEnd.plusDays(28));
             log.info("Chase: inferred payment due date = {} (closing {} + 28 days)", periodEnd.plusDays(28), periodEnd);
         }
+        return period;
+    }
 
+    @Override
+    public List<Transaction> parse(String pdfText, Statement statement, Account account) {
+        log.info("Using Chase-specific parser");
+
+        LocalDate[] period = prepareStatement(pdfText, statement);
         List<Transaction> transactions = new ArrayList<>();
-        boolean inTransactionSection = false;
-        String[] lines = pdfText.split("\n");
+        parseLines(new LineScanner(pdfText), period, statement, account, transactions::add);
 
-        for (String line : lines) {
-            line = line.trim();
-            if (line.isBlank()) continue;
+        log.info("Chase parser extracted {} transactions", transactions.size());
+
+        if (transactions.isEmpty()) {
+            log.warn("Chase parser found 0 transactions — falling back to generic");
+            return super.parse(pdfText, statement, account);
+        }
+        return transactions;
+    }
 
+    @Override
+    protected void parseLines(LineScanner line, LocalDate[] period, Statement statement, Account account,
+                              Consumer<Transaction> out) {
+        LocalDate periodStart = period[0];
+        LocalDate periodEnd   = period[1];
+
+        boolean inTransactionSection = false;
+        Matcher strict = CHASE_TXN.matcher("");
+        Matcher loose = CHASE_TXN_LOOSE.matcher("");
+
+        while (line.next()) {
             // Section markers
-            String lower = line.toLowerCase();
-            if (lower.contains("date of") || lower.contains("transaction merchant") ||
-                lower.contains("account activity") || lower.contains("transaction detail")) {
+            if (line.containsAnyIgnoreCase("date of", "transaction merchant",
+                    "account activity", "transaction detail")) {
                 inTransactionSection = true;
                 continue;
             }
-            if (lower.startsWith("2026") || lower.startsWith("totals year") ||
-                lower.startsWith("total fees") || lower.startsWith("total interest") ||
-                lower.startsWith("your annual percentage")) {
+            if (line.startsWithAnyIgnoreCase("2026", "totals year", "total fees",
+                    "total interest", "your annual percentage")) {
                 inTransactionSection = false;
             }
 
             if (!inTransactionSection) continue;
+            if (!line.startsWithMmDd() || !line.endsWithAmount()) continue;
 
             // Try strict pattern (2+ spaces between fields) first
-            Matcher m = CHASE_TXN.matcher(line);
-            if (!m.matches()) {
-                m = CHASE_TXN_LOOSE.matcher(line);
-                if (!m.matches()) continue;
-            }
+            Matcher m = line.firstMatch(strict, loose);
+            if (m == null) continue;
 
             try {
-                String dateStr  = m.group(1);
                 String desc     = m.group(2).trim();
-                String amtStr   = m.group(3);
 
                 if (desc.equalsIgnoreCase("description") || desc.equalsIgnoreCase("amount")) continue;
 
-                LocalDate date = resolveDate(dateStr, periodStart, periodEnd);
+                LocalDate date = resolveMonthDay(line, m.start(1), m.end(1), periodStart, periodEnd);
                 if (date == null) continue;
 
-                BigDecimal amount = parseAmount(amtStr);
+                long cents = StatementLexer.cents(line, m.start(3), m.end(3));
+                if (cents == StatementLexer.NO_AMOUNT) continue;
+                BigDecimal amount = StatementLexer.toAmount(cents);
 
                 Transaction.TransactionType type;
                 if (desc.toUpperCase().contains("PAYMENT") || desc.toUpperCase().contains("AUTOPAY") ||
                     amount.compareTo(BigDecimal.ZERO) < 0) {
                     type = Transaction.TransactionType.CREDIT;
-                } else if (lower.contains("interest")) {
+                } else if (line.containsIgnoreCase("interest")) {
                     type = Transaction.TransactionType.INTEREST;
-                } else if (lower.contains("fee")) {
+                } else if (line.containsIgnoreCase("fee")) {
                     type = Transaction.TransactionType.FEE;
                 } else {
                     type = Transaction.TransactionType.DEBIT;
@@ -272,7 +286,7 @@ public class ChaseParser extends GenericPdfParser {
                 String merchant  = normalizeMerchant(desc);
                 String category  = categorize(merchant, type);
 
-                transactions.add(Transaction.builder()
+                out.accept(Transaction.builder()
                     .account(account)
                     .statement(statement)
                     .transactionDate(date)
@@ -284,18 +298,12 @@ public class ChaseParser extends GenericPdfParser {
                     .build());
 
                 log.debug("Chase parsed: {} | {} | {}", date, merchant, amount);
+            } catch (StatementSinkException e) {
+                throw e;
             } catch (Exception e) {
                 log.debug("Chase: could not parse line: {} — {}", line, e.getMessage());
             }
         }
-
-        log.info("Chase parser extracted {} transactions", transactions.size());
-
-        if (transactions.isEmpty()) {
-            log.warn("Chase parser found 0 transactions — falling back to generic");
-            return super.parse(pdfText, statement, account);
-        }
-        return transactions;
     }
 
     // ── Helpers ───────────────────────────────────────────────────────────────
@@ -365,33 +373,8 @@ public class ChaseParser extends GenericPdfParser {
         return new LocalDate[]{now.minusDays(30), now};
     }
 
-    private LocalDate resolveDate(String mmdd, LocalDate start, LocalDate end) {
-        int year = end != null ? end.getYear() : LocalDate.now().getYear();
-        LocalDate candidate = parseMmDd(mmdd, year);
-        if (candidate == null) return null;
-        if (start != null && end != null && candidate.isAfter(end)) {
-            LocalDate prev = parseMmDd(mmdd, year - 1);
-            if (prev != null && !prev.isBefore(start)) return prev;
-        }
-        return candidate;
-    }
-
-    private LocalDate parseMmDd(String mmdd, int year) {
-        try {
-            return LocalDate.parse(mmdd + "/" + year, DateTimeFormatter.ofPattern("MM/dd/yyyy"));
-        } catch (DateTimeParseException e) { return null; }
-    }
-
     private LocalDate parseShortDate(String dateStr) {
         if (dateStr == null) return null;
-        String[] patterns = {"MM/dd/yy", "MM/dd/yyyy", "M/d/yy", "M/d/yyyy"};
-        for (String p : patterns) {
-            try {
-                LocalDate d = LocalDate.parse(dateStr.trim(), DateTimeFormatter.ofPattern(p));
-                if (d.getYear() < 100) d = d.withYear(d.getYear() + 2000);
-                return d;
-            } catch (DateTimeParseException ignored) {}
-        }
-        return null;
+        return StatementLexer.toLocalDate(StatementLexer.slashDate(dateStr));
     }
 }
@@ -8,10 +8,9 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -201,82 +200,87 @@ public class CitiParser extends GenericPdfParser {
     }
 
     @Override
-    public List<Transaction> parse(String pdfText, Statement statement, Account account) {
-        log.info("Using Citi parser");
-
+    protected LocalDate[] prepareStatement(String pdfText, Statement statement) {
         extractPaymentSummary(pdfText, statement);
         extractYtdTotals(pdfText, statement);
 
         LocalDate[] period = detectPeriod(pdfText, statement);
-        LocalDate periodStart = period[0];
-        LocalDate periodEnd   = period[1];
-        log.info("Citi statement period: {} to {}", periodStart, periodEnd);
+        log.info("Citi statement period: {} to {}", period[0], period[1]);
+        return period;
+    }
 
+    @Override
+    public List<Transaction> parse(String pdfText, Statement statement, Account account) {
+        log.info("Using Citi parser");
+
+        LocalDate[] period = prepareStatement(pdfText, statement);
         List<Transaction> transactions = new ArrayList<>();
-        boolean inTransactionSection = false;
-        String[] lines = pdfText.split("\n");
+        parseLines(new LineScanner(pdfText), period, statement, account, transactions::add);
 
-        for (String line : lines) {
-            line = line.trim();
-            if (line.isBlank()) continue;
+        log.info("Citi parser extracted {} transactions", transactions.size());
+
+        if (transactions.isEmpty()) {
+            log.warn("Citi parser found 0 transactions — falling back to generic");
+            return super.parse(pdfText, statement, account);
+        }
+        return transactions;
+    }
+
+    @Override
+    protected void parseLines(LineScanner line, LocalDate[] period, Statement statement, Account account,
+                              Consumer<Transaction> out) {
+        LocalDate periodStart = period[0];
+        LocalDate periodEnd   = period[1];
 
-            String lower = line.toLowerCase();
+        boolean inTransactionSection = false;
+        Matcher twoDate = CITI_TXN_2DATE.matcher("");
+        Matcher oneDate = CITI_TXN_1DATE.matcher("");
+        Matcher loose   = CITI_TXN_LOOSE.matcher("");
 
+        while (line.next()) {
             // Section markers
-            if (lower.contains("purchases and adjustments") || lower.contains("standard purchases") ||
-                lower.contains("account activity") || lower.contains("transaction detail") ||
-                lower.contains("new charges") || lower.contains("payments and credits")) {
+            if (line.containsAnyIgnoreCase("purchases and adjustments", "standard purchases",
+                    "account activity", "transaction detail", "new charges", "payments and credits")) {
                 inTransactionSection = true;
                 continue;
             }
-            if (lower.startsWith("total purchases") || lower.startsWith("total payments") ||
-                lower.startsWith("fees charged") || lower.startsWith("interest charged") ||
-                lower.startsWith("2026") || lower.startsWith("2025") ||
-                lower.startsWith("total fees") || lower.startsWith("total interest")) {
+            if (line.startsWithAnyIgnoreCase("total purchases", "total payments", "fees charged",
+                    "interest charged", "2026", "2025", "total fees", "total interest")) {
                 inTransactionSection = false;
             }
 
-            if (!inTransactionSection) {
-                // Still try to parse even outside known sections
-                // (Citi sometimes lacks clear section headers)
-            }
+            // Section state is advisory only — Citi sometimes lacks clear section
+            // headers, so every line is still tried against the transaction patterns
+            if (!line.startsWithMmDd() || !line.endsWithAmount()) continue;
 
             // Try two-date pattern first
-            Matcher m = CITI_TXN_2DATE.matcher(line);
-            String dateStr, desc, amtStr;
-            if (m.matches()) {
-                dateStr = m.group(1);
-                desc    = m.group(3).trim();
-                amtStr  = m.group(4);
-            } else {
-                m = CITI_TXN_1DATE.matcher(line);
-                if (!m.matches()) {
-                    m = CITI_TXN_LOOSE.matcher(line);
-                    if (!m.matches()) continue;
-                }
-                dateStr = m.group(1);
-                desc    = m.group(2).trim();
-                amtStr  = m.group(3);
-            }
+            Matcher m = line.firstMatch(twoDate, oneDate, loose);
+            if (m == null) continue;
+            // Two-date lines carry the post date in group 2, shifting description and amount
+            int descGroup = m == twoDate ? 3 : 2;
+            int amtGroup  = descGroup + 1;
+            String desc   = m.group(descGroup).trim();
 
             try {
                 if (desc.equalsIgnoreCase("description") || desc.equalsIgnoreCase("amount")) continue;
                 // Skip subtotal / summary lines
                 if (desc.toLowerCase().startsWith("total ") || desc.toLowerCase().startsWith("new balance")) continue;
 
-                LocalDate date = resolveDate(dateStr, periodStart, periodEnd);
+                LocalDate date = resolveMonthDay(line, m.start(1), m.end(1), periodStart, periodEnd);
                 if (date == null) continue;
 
-                BigDecimal amount = parseAmount(amtStr);
+                long cents = StatementLexer.cents(line, m.start(amtGroup), m.end(amtGroup));
+                if (cents == StatementLexer.NO_AMOUNT) continue;
+                BigDecimal amount = StatementLexer.toAmount(cents);
 
                 Transaction.TransactionType type;
                 String descUpper = desc.toUpperCase();
                 if (descUpper.contains("PAYMENT") || descUpper.contains("AUTOPAY") ||
                     descUpper.contains("CREDIT ADJUSTMENT") || amount.compareTo(BigDecimal.ZERO) < 0) {
                     type = Transaction.TransactionType.CREDIT;
-                } else if (lower.contains("interest charge") || lower.contains("interest charged")) {
+                } else if (line.containsAnyIgnoreCase("interest charge", "interest charged")) {
                     type = Transaction.TransactionType.INTEREST;
-                } else if (lower.contains("fee") || lower.contains("annual fee") || lower.contains("late fee")) {
+                } else if (line.containsAnyIgnoreCase("fee", "annual fee", "late fee")) {
                     type = Transaction.TransactionType.FEE;
                 } else {
                     type = Transaction.TransactionType.DEBIT;
@@ -285,7 +289,7 @@ public class CitiParser extends GenericPdfParser {
                 String merchant = normalizeMerchant(desc);
                 String category = categorize(merchant, type);
 
-                transactions.add(Transaction.builder()
+                out.accept(Transaction.builder()
                     .account(account)
                     .statement(statement)
                     .transactionDate(date)
@@ -297,18 +301,12 @@ public class CitiParser extends GenericPdfParser {
                     .build());
 
                 log.debug("Citi parsed: {} | {} | {}", date, merchant, amount);
+            } catch (StatementSinkException e) {
+                throw e;
             } catch (Exception e) {
                 log.debug("Citi: could not parse line: {} — {}", line, e.getMessage());
             }
         }
-
-        log.info("Citi parser extracted {} transactions", transactions.size());
-
-        if (transactions.isEmpty()) {
-            log.warn("Citi parser found 0 transactions — falling back to generic");
-            return super.parse(pdfText, statement, account);
-        }
-        return transactions;
     }
 
     // ── Helpers ───────────────────────────────────────────────────────────────
@@ -386,33 +384,8 @@ public class CitiParser extends GenericPdfParser {
         return new LocalDate[]{now.minusDays(30), now};
     }
 
-    private LocalDate resolveDate(String mmdd, LocalDate start, LocalDate end) {
-        int year = end != null ? end.getYear() : LocalDate.now().getYear();
-        LocalDate candidate = parseMmDd(mmdd, year);
-        if (candidate == null) return null;
-        if (start != null && end != null && candidate.isAfter(end)) {
-            LocalDate prev = parseMmDd(mmdd, year - 1);
-            if (prev != null && !prev.isBefore(start)) return prev;
-        }
-        return candidate;
-    }
-
-    private LocalDate parseMmDd(String mmdd, int year) {
-        try {
-            return LocalDate.parse(mmdd + "/" + year, DateTimeFormatter.ofPattern("MM/dd/yyyy"));
-        } catch (DateTimeParseException e) { return null; }
-    }
-
     private LocalDate parseShortDate(String dateStr) {
         if (dateStr == null) return null;
-        String[] patterns = {"MM/dd/yy", "MM/dd/yyyy", "M/d/yy", "M/d/yyyy"};
-        for (String p : patterns) {
-            try {
-                LocalDate d = LocalDate.parse(dateStr.trim(), DateTimeFormatter.ofPattern(p));
-                if (d.getYear() < 100) d = d.withYear(d.getYear() + 2000);
-                return d;
-            } catch (DateTimeParseException ignored) {}
-        }
-        return null;
+        return StatementLexer.toLocalDate(StatementLexer.slashDate(dateStr));
     }
 }
@@ -8,10 +8,9 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -194,68 +193,71 @@ public class DiscoverParser extends GenericPdfParser {
     }
 
     @Override
-    public List<Transaction> parse(String pdfText, Statement statement, Account account) {
-        log.info("Using Discover parser");
-
+    protected LocalDate[] prepareStatement(String pdfText, Statement statement) {
         extractPaymentSummary(pdfText, statement);
         extractYtdTotals(pdfText, statement);
 
         LocalDate[] period = detectPeriod(pdfText, statement);
         log.info("Discover statement period: {} to {}", period[0], period[1]);
+        return period;
+    }
 
+    @Override
+    public List<Transaction> parse(String pdfText, Statement statement, Account account) {
+        log.info("Using Discover parser");
+
+        LocalDate[] period = prepareStatement(pdfText, statement);
         List<Transaction> transactions = new ArrayList<>();
-        boolean inTransactionSection = false;
-        String[] lines = pdfText.split("\n");
+        parseLines(new LineScanner(pdfText), period, statement, account, transactions::add);
 
-        for (String line : lines) {
-            line = line.trim();
-            if (line.isBlank()) continue;
+        log.info("Discover parser extracted {} transactions", transactions.size());
+
+        if (transactions.isEmpty()) {
+            log.warn("Discover parser found 0 transactions — falling back to generic");
+            return super.parse(pdfText, statement, account);
+        }
+        return transactions;
+    }
 
-            String lower = line.toLowerCase();
+    @Override
+    protected void parseLines(LineScanner line, LocalDate[] period, Statement statement, Account account,
+                              Consumer<Transaction> out) {
+        boolean inTransactionSection = false;
+        Matcher twoDate = DISC_TXN_2DATE.matcher("");
+        Matcher oneDate = DISC_TXN_1DATE.matcher("");
+        Matcher loose   = DISC_TXN_LOOSE.matcher("");
 
+        while (line.next()) {
             // Section markers
-            if (lower.contains("transaction description") || lower.contains("account activity") ||
-                lower.contains("purchases and cash advances") || lower.contains("new transactions") ||
-                lower.contains("payments and credits")) {
+            if (line.containsAnyIgnoreCase("transaction description", "account activity",
+                    "purchases and cash advances", "new transactions", "payments and credits")) {
                 inTransactionSection = true;
                 continue;
             }
-            if (lower.startsWith("fees") || lower.startsWith("interest charged") ||
-                lower.startsWith("total purchases") || lower.startsWith("total payments") ||
-                lower.startsWith("cashback bonus") || lower.startsWith("interest charge")) {
+            if (line.startsWithAnyIgnoreCase("fees", "interest charged", "total purchases",
+                    "total payments", "cashback bonus", "interest charge")) {
                 inTransactionSection = false;
             }
 
+            if (!line.startsWithMmDd() || !line.endsWithAmount()) continue;
+
             // Try two-date pattern first (Discover uses trans + post date)
-            Matcher m = DISC_TXN_2DATE.matcher(line);
-            String dateStr, desc, amtStr;
-            if (m.matches()) {
-                dateStr = m.group(1);  // transaction date
-                desc    = m.group(3).trim();
-                amtStr  = m.group(4);
-            } else {
-                m = DISC_TXN_1DATE.matcher(line);
-                if (m.matches()) {
-                    dateStr = m.group(1);
-                    desc    = m.group(2).trim();
-                    amtStr  = m.group(3);
-                } else {
-                    m = DISC_TXN_LOOSE.matcher(line);
-                    if (!m.matches()) continue;
-                    dateStr = m.group(1);
-                    desc    = m.group(2).trim();
-                    amtStr  = m.group(3);
-                }
-            }
+            Matcher m = line.firstMatch(twoDate, oneDate, loose);
+            if (m == null) continue;
+            // Group 1 is always the transaction date; two-date lines shift description and amount
+            int descGroup = m == twoDate ? 3 : 2;
+            int amtGroup  = descGroup + 1;
+            String desc   = m.group(descGroup).trim();
 
             try {
                 if (desc.equalsIgnoreCase("description") || desc.equalsIgnoreCase("amount")) continue;
                 if (desc.toLowerCase().startsWith("total ") || desc.toLowerCase().startsWith("new balance")) continue;
 
-                LocalDate date = parseShortDate(dateStr);
-                if (date == null) continue;
-
-                BigDecimal amount = parseAmount(amtStr.replace("$", ""));
+                int day = StatementLexer.slashDate(line, m.start(1), m.end(1));
+                long cents = StatementLexer.cents(line, m.start(amtGroup), m.end(amtGroup));
+                if (day == StatementLexer.NO_DATE || cents == StatementLexer.NO_AMOUNT) continue;
+                LocalDate date = LocalDate.ofEpochDay(day);
+                BigDecimal amount = StatementLexer.toAmount(cents);
 
                 Transaction.TransactionType type;
                 String descUpper = desc.toUpperCase();
@@ -263,9 +265,9 @@ public class DiscoverParser extends GenericPdfParser {
                     descUpper.contains("CREDIT ADJUSTMENT") || descUpper.contains("CASHBACK BONUS") ||
                     amount.compareTo(BigDecimal.ZERO) < 0) {
                     type = Transaction.TransactionType.CREDIT;
-                } else if (lower.contains("interest charge")) {
+                } else if (line.containsIgnoreCase("interest charge")) {
                     type = Transaction.TransactionType.INTEREST;
-                } else if (lower.contains(" fee") || lower.contains("annual fee") || lower.contains("late fee")) {
+                } else if (line.containsAnyIgnoreCase(" fee", "annual fee", "late fee")) {
                     type = Transaction.TransactionType.FEE;
                 } else {
                     type = Transaction.TransactionType.DEBIT;
@@ -274,7 +276,7 @@ public class DiscoverParser extends GenericPdfParser {
                 String merchant = normalizeMerchant(desc);
                 String category = categorize(merchant, type);
 
-                transactions.add(Transaction.builder()
+                out.accept(Transaction.builder()
                     .account(account)
                     .statement(statement)
                     .transactionDate(date)
@@ -286,33 +288,19 @@ public class DiscoverParser extends GenericPdfParser {
                     .build());
 
                 log.debug("Discover parsed: {} | {} | {}", date, merchant, amount);
+            } catch (StatementSinkException e) {
+                throw e;
             } catch (Exception e) {
                 log.debug("Discover: could not parse line: {} — {}", line, e.getMessage());
             }
         }
-
-        log.info("Discover parser extracted {} transactions", transactions.size());
-
-        if (transactions.isEmpty()) {
-            log.warn("Discover parser found 0 transactions — falling back to generic");
-            return super.parse(pdfText, statement, account);
-        }
-        return transactions;
     }
 
     // ── Helpers ───────────────────────────────────────────────────────────────
 
     private LocalDate parseShortDate(String dateStr) {
         if (dateStr == null) return null;
-        String[] patterns = {"MM/dd/yy", "MM/dd/yyyy", "M/d/yy", "M/d/yyyy"};
-        for (String p : patterns) {
-            try {
-                LocalDate d = LocalDate.parse(dateStr.trim(), DateTimeFormatter.ofPattern(p));
-                if (d.getYear() < 100) d = d.withYear(d.getYear() + 2000);
-                return d;
-            } catch (DateTimeParseException ignored) {}
-        }
-        return null;
+        return StatementLexer.toLocalDate(StatementLexer.slashDate(dateStr));
     }
 
     private LocalDate[] detectPeriod(String text, Statement statement) {
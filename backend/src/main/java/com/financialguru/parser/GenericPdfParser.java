@@ -8,10 +8,10 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -23,16 +23,6 @@ import java.util.regex.Pattern;
 @Slf4j
 public class GenericPdfParser implements BankStatementParser {
 
-    // Common date formats in bank statements
-    private static final List<DateTimeFormatter> DATE_FORMATTERS = List.of(
-        DateTimeFormatter.ofPattern("MM/dd/yyyy"),
-        DateTimeFormatter.ofPattern("MM/dd/yy"),
-        DateTimeFormatter.ofPattern("MMM dd, yyyy"),
-        DateTimeFormatter.ofPattern("MMM d, yyyy"),
-        DateTimeFormatter.ofPattern("dd MMM yyyy"),
-        DateTimeFormatter.ofPattern("yyyy-MM-dd")
-    );
-
     // Pattern: date, description, amount (handles negative/positive)
     private static final Pattern TRANSACTION_PATTERN = Pattern.compile(
         "(\\d{1,2}/\\d{1,2}(?:/\\d{2,4})?|\\w{3}\\s+\\d{1,2},?\\s*\\d{4}?)\\s+" +
@@ -41,6 +31,9 @@ public class GenericPdfParser implements BankStatementParser {
         Pattern.MULTILINE
     );
 
+    // Shared by every parser subclass so the merchant memo is warm across institutions
+    private static final MerchantCategorizer CATEGORIZER = new MerchantCategorizer(50_000);
+
     @Override
     public boolean supports(String institution) {
         return "GENERIC".equals(institution);
@@ -49,23 +42,62 @@ public class GenericPdfParser implements BankStatementParser {
     @Override
     public List<Transaction> parse(String pdfText, Statement statement, Account account) {
         List<Transaction> transactions = new ArrayList<>();
-        String[] lines = pdfText.split("\n");
+        parseGenericLines(new LineScanner(pdfText), statement, account, transactions::add);
+        log.info("Generic parser extracted {} transactions", transactions.size());
+        return transactions;
+    }
+
+    /**
+     * Pages arrive in order from {@code pages} and are parsed through one {@link LineScanner},
+     * so section state carries across page boundaries exactly as in {@link #parse}. Header fields
+     * come from {@code headerText} (the first pages); summaries printed only at the end of a
+     * statement are not seen. Unlike {@code parse} there is no fallback to the generic layout.
+     */
+    @Override
+    public int parseStream(String headerText, Iterator<? extends CharSequence> pages,
+                           Statement statement, Account account, Consumer<Transaction> sink) {
+        LocalDate[] period = prepareStatement(headerText, statement);
+        int[] count = {0};
+        parseLines(new LineScanner(pages), period, statement, account, t -> {
+            count[0]++;
+            try {
+                sink.accept(t);
+            } catch (RuntimeException e) {
+                throw new StatementSinkException(e);
+            }
+        });
+        log.info("{} streamed {} transactions", getClass().getSimpleName(), count[0]);
+        return count[0];
+    }
+
+    /**
+     * The transaction-line loop behind {@link #parse} and {@link #parseStream}. Institution parsers
+     * override this with their own layout; {@code period} is what {@link #prepareStatement} returned.
+     */
+    protected void parseLines(LineScanner line, LocalDate[] period, Statement statement, Account account,
+                              Consumer<Transaction> out) {
+        parseGenericLines(line, statement, account, out);
+    }
 
-        for (String line : lines) {
-            line = line.trim();
-            if (line.isBlank()) continue;
+    // Kept separate from parseLines so subclasses can still fall back to the generic layout
+    private void parseGenericLines(LineScanner line, Statement statement, Account account,
+                                   Consumer<Transaction> out) {
+        Matcher m = TRANSACTION_PATTERN.matcher("");
+        int currentYear = LocalDate.now().getYear();
 
-            Matcher m = TRANSACTION_PATTERN.matcher(line);
-            if (m.find()) {
-                try {
-                    String dateStr = m.group(1).trim();
-                    String description = m.group(2).trim();
-                    String amountStr = m.group(3).trim();
+        while (line.next()) {
+            // The pattern is unanchored, but every match needs an amount with cents
+            if (!line.contains('.')) continue;
 
-                    LocalDate date = parseDate(dateStr);
-                    if (date == null) continue;
+            if (m.reset(line).find()) {
+                try {
+                    int day = StatementLexer.date(line, m.start(1), m.end(1), currentYear);
+                    long cents = StatementLexer.cents(line, m.start(3), m.end(3));
+                    if (day == StatementLexer.NO_DATE || cents == StatementLexer.NO_AMOUNT) continue;
 
-                    BigDecimal amount = parseAmount(amountStr);
+                    LocalDate date = LocalDate.ofEpochDay(day);
+                    String description = m.group(2).trim();
+                    BigDecimal amount = StatementLexer.toAmount(cents);
                     String merchant = normalizeMerchant(description);
                     Transaction.TransactionType txType = amount.compareTo(BigDecimal.ZERO) < 0
                         ? Transaction.TransactionType.CREDIT
@@ -82,41 +114,231 @@ public class GenericPdfParser implements BankStatementParser {
                         .category(categorize(merchant, txType))
                         .build();
 
-                    transactions.add(t);
+                    out.accept(t);
+                } catch (StatementSinkException e) {
+                    throw e;
                 } catch (Exception e) {
                     log.debug("Could not parse line: {}", line);
                 }
             }
         }
+    }
 
-        log.info("Generic parser extracted {} transactions", transactions.size());
+    /**
+     * Header work shared by the text and table paths: institution parsers override this to pull
+     * the payment summary and YTD totals and to detect the statement period, which is returned
+     * as {start, end} for putting a year on MM/dd dates.
+     */
+    protected LocalDate[] prepareStatement(String pdfText, Statement statement) {
+        if (statement != null && statement.getStartDate() != null && statement.getEndDate() != null) {
+            return new LocalDate[]{statement.getStartDate(), statement.getEndDate()};
+        }
+        LocalDate now = LocalDate.now();
+        return new LocalDate[]{now.minusDays(30), now};
+    }
+
+    /**
+     * Column-aware parse of extracted tables. Columns are mapped from a header row when the
+     * table has one ("Date", "Description", "Amount", "Debit"/"Credit", ...); otherwise the
+     * first date-shaped cell is the date, the last amount-shaped cell the amount and the cells
+     * between them the description. Rows with neither a date nor an amount that follow a
+     * transaction are treated as wrapped description text.
+     */
+    @Override
+    public List<Transaction> parseTables(String pdfText, List<StatementTable> tables,
+                                         Statement statement, Account account) {
+        LocalDate[] period = prepareStatement(pdfText, statement);
+        List<Transaction> transactions = new ArrayList<>();
+        for (StatementTable table : tables) {
+            TableColumns columns = null;
+            Transaction previous = null;
+            for (List<String> row : table.rows()) {
+                TableColumns header = TableColumns.fromHeader(row);
+                if (header != null) {
+                    columns = header;
+                    previous = null;
+                    continue;
+                }
+                Transaction t = tableRowTransaction(row, columns, period, statement, account);
+                if (t != null) {
+                    transactions.add(t);
+                    previous = t;
+                } else if (previous != null && isContinuationRow(row, columns)) {
+                    String description = previous.getDescription() + " " + String.join(" ", nonBlank(row));
+                    previous.setDescription(description);
+                    previous.setMerchantName(normalizeMerchant(description));
+                } else {
+                    previous = null;
+                }
+            }
+        }
+        log.info("{} extracted {} transactions from {} tables",
+            getClass().getSimpleName(), transactions.size(), tables.size());
         return transactions;
     }
 
-    protected LocalDate parseDate(String dateStr) {
-        for (DateTimeFormatter fmt : DATE_FORMATTERS) {
-            try {
-                return LocalDate.parse(dateStr, fmt);
-            } catch (DateTimeParseException ignored) {}
+    private Transaction tableRowTransaction(List<String> row, TableColumns columns, LocalDate[] period,
+                                            Statement statement, Account account) {
+        LocalDate date = null;
+        long cents = StatementLexer.NO_AMOUNT;
+        String description = null;
+
+        if (columns != null) {
+            date = tableDate(cell(row, columns.date), period);
+            if (columns.amount >= 0) {
+                cents = StatementLexer.cents(cell(row, columns.amount));
+            } else {
+                long debit = StatementLexer.cents(cell(row, columns.debit));
+                long credit = StatementLexer.cents(cell(row, columns.credit));
+                if (debit != StatementLexer.NO_AMOUNT && debit != 0) cents = Math.abs(debit);
+                else if (credit != StatementLexer.NO_AMOUNT) cents = -Math.abs(credit);
+            }
+            description = cell(row, columns.description);
+        } else {
+            int dateCol = -1;
+            int amountCol = -1;
+            for (int i = 0; i < row.size() && dateCol < 0; i++) {
+                date = tableDate(row.get(i), period);
+                if (date != null) dateCol = i;
+            }
+            for (int i = row.size() - 1; i > dateCol && amountCol < 0; i--) {
+                cents = StatementLexer.cents(row.get(i));
+                if (cents != StatementLexer.NO_AMOUNT) amountCol = i;
+            }
+            if (dateCol >= 0 && amountCol > dateCol) {
+                StringBuilder sb = new StringBuilder();
+                for (int i = dateCol + 1; i < amountCol; i++) {
+                    String c = row.get(i);
+                    // Skip a post-date column between the transaction date and the description
+                    if (c.isBlank() || (sb.isEmpty() && tableDate(c, period) != null)) continue;
+                    if (!sb.isEmpty()) sb.append(' ');
+                    sb.append(c);
+                }
+                description = sb.toString();
+            }
+        }
+
+        if (date == null || cents == StatementLexer.NO_AMOUNT || description == null || description.isBlank()) {
+            return null;
+        }
+        String lower = description.toLowerCase();
+        if (lower.startsWith("total ") || lower.startsWith("new balance") || lower.equals("description")) {
+            return null;
+        }
+
+        BigDecimal amount = StatementLexer.toAmount(cents);
+        Transaction.TransactionType type = tableRowType(description, amount);
+        String merchant = normalizeMerchant(description);
+        return Transaction.builder()
+            .account(account)
+            .statement(statement)
+            .transactionDate(date)
+            .description(description)
+            .merchantName(merchant)
+            .amount(amount.abs())
+            .type(type)
+            .category(categorize(merchant, type))
+            .build();
+    }
+
+    /** Tables carry no section context, so the type comes from the sign and description alone. */
+    protected Transaction.TransactionType tableRowType(String description, BigDecimal amount) {
+        String upper = description.toUpperCase();
+        if (amount.signum() < 0 || upper.contains("PAYMENT") || upper.contains("AUTOPAY") || upper.contains("REFUND")) {
+            return Transaction.TransactionType.CREDIT;
+        }
+        if (upper.contains("INTEREST CHARGE")) return Transaction.TransactionType.INTEREST;
+        if (upper.startsWith("FEE") || upper.contains(" FEE")) return Transaction.TransactionType.FEE;
+        return Transaction.TransactionType.DEBIT;
+    }
+
+    private LocalDate tableDate(String cell, LocalDate[] period) {
+        if (cell == null || cell.isBlank()) return null;
+        LocalDate date = resolveMonthDay(cell, 0, cell.length(), period[0], period[1]);
+        if (date != null) return date;
+        return StatementLexer.toLocalDate(StatementLexer.date(cell, period[1].getYear()));
+    }
+
+    private boolean isContinuationRow(List<String> row, TableColumns columns) {
+        if (columns != null) {
+            return cell(row, columns.date).isBlank() && !cell(row, columns.description).isBlank()
+                && (columns.amount < 0 || cell(row, columns.amount).isBlank());
         }
-        // Try adding current year for MM/dd format
-        try {
-            return LocalDate.parse(dateStr + "/" + LocalDate.now().getYear(),
-                DateTimeFormatter.ofPattern("MM/dd/yyyy"));
-        } catch (DateTimeParseException ignored) {}
-        return null;
+        List<String> cells = nonBlank(row);
+        return cells.size() == 1 && StatementLexer.cents(cells.get(0)) == StatementLexer.NO_AMOUNT;
+    }
+
+    private static String cell(List<String> row, int index) {
+        return index >= 0 && index < row.size() ? row.get(index) : "";
     }
 
+    private static List<String> nonBlank(List<String> row) {
+        return row.stream().filter(c -> !c.isBlank()).toList();
+    }
+
+    /** Column indices recovered from a table header row; -1 when the table has no such column. */
+    private record TableColumns(int date, int description, int amount, int debit, int credit) {
+
+        static TableColumns fromHeader(List<String> row) {
+            int date = -1, postDate = -1, description = -1, amount = -1, debit = -1, credit = -1;
+            for (int i = 0; i < row.size(); i++) {
+                String h = row.get(i).toLowerCase();
+                if (h.isBlank() || h.length() > 40) continue;
+                if (h.contains("date")) {
+                    // Prefer the transaction date over the posting date
+                    if (h.contains("post")) postDate = i;
+                    else if (date < 0) date = i;
+                } else if (h.contains("description") || h.contains("merchant") || h.contains("details")
+                        || h.contains("payee") || h.equals("transaction")) {
+                    description = i;
+                } else if (h.contains("amount")) {
+                    amount = i;
+                } else if (h.contains("debit") || h.contains("withdrawal") || h.equals("charges")) {
+                    debit = i;
+                } else if (h.contains("credit") || h.contains("deposit")) {
+                    credit = i;
+                }
+            }
+            if (date < 0) date = postDate;
+            boolean hasAmount = amount >= 0 || (debit >= 0 && credit >= 0);
+            return date >= 0 && description >= 0 && hasAmount
+                ? new TableColumns(date, description, amount, debit, credit)
+                : null;
+        }
+    }
+
+    /** Any date {@link StatementLexer#date} understands; a bare MM/dd takes the current year. */
+    protected LocalDate parseDate(String dateStr) {
+        return StatementLexer.toLocalDate(StatementLexer.date(dateStr, LocalDate.now().getYear()));
+    }
+
+    /**
+     * Header-field amounts ("$1,234.56", "48,25", "5,000").
+     * Throws {@link NumberFormatException} on garbage so existing try/catch call sites keep working.
+     */
     protected BigDecimal parseAmount(String amountStr) {
-        String cleaned = amountStr.replace("$", "").trim();
-        // Detect comma-as-decimal: e.g., "48,25" (comma followed by exactly 2 digits at end)
-        if (cleaned.matches("-?\\d{1,3},\\d{2}")) {
-            cleaned = cleaned.replace(",", ".");
-        } else {
-            // Otherwise commas are thousands separators — strip them
-            cleaned = cleaned.replace(",", "");
+        long cents = StatementLexer.cents(amountStr);
+        if (cents == StatementLexer.NO_AMOUNT) {
+            throw new NumberFormatException("Not an amount: " + amountStr);
         }
-        return new BigDecimal(cleaned);
+        return StatementLexer.toAmount(cents);
+    }
+
+    /**
+     * Resolves a year-less MM/dd (or "Feb 14") range of {@code s} against the statement period:
+     * the period-end year is assumed, stepping back a year when that lands after the period
+     * (December charges on a January statement).
+     */
+    protected LocalDate resolveMonthDay(CharSequence s, int from, int to, LocalDate periodStart, LocalDate periodEnd) {
+        int md = StatementLexer.monthDay(s, from, to);
+        if (md == StatementLexer.NO_DATE) return null;
+        int year = periodEnd != null ? periodEnd.getYear() : LocalDate.now().getYear();
+        int day = StatementLexer.epochDay(year, md / 100, md % 100);
+        if (periodStart != null && periodEnd != null && day > periodEnd.toEpochDay()) {
+            int prev = StatementLexer.epochDay(year - 1, md / 100, md % 100);
+            if (prev >= periodStart.toEpochDay()) return LocalDate.ofEpochDay(prev);
+        }
+        return LocalDate.ofEpochDay(day);
     }
 
     protected String normalizeMerchant(String description) {
@@ -139,100 +361,6 @@ public class GenericPdfParser implements BankStatementParser {
         if (type == Transaction.TransactionType.INTEREST) return "Fees";
         if (type == Transaction.TransactionType.CREDIT) return null;
 
-        String lower = merchantName.toLowerCase();
-
-        if (matchesAny(lower, "wholefds", "whole foods", "kroger", "trader joe", "safeway",
-                "publix", "aldi", "patel brothers", "patel brother", "harris teeter",
-                "fresh market", "food lion", "wegman", "sprouts", "h-e-b", "market basket",
-                "giant", "stop shop", "meijer", "albertsons", "vons", "ralph", "piggly",
-                "grocery", "supermarket", "food mart", "fresh fare", "compare foods"))
-            return "Groceries";
-
-        if (matchesAny(lower, "restaurant", "kitchen", "grill", "pizza", "sushi", "ramen",
-                "taco", "burger", "mcdonald", "chipotle", "panera", "subway",
-                "chick-fil", "domino", "doordash", "grubhub", "ubereats", "door dash",
-                "uber eats", "postmates", "seamless", "starbucks", "dunkin", "coffee",
-                "cafe", "diner", "bistro", "eatery", "barbeque", "bbq", "thai", "chinese",
-                "indian restaurant", "desi district", "pho", "wingstop", "five guys",
-                "shake shack", "in-n-out", "popeyes", "kfc", "sonic drive", "dairy queen",
-                "applebee", "chilis", "olive garden", "red lobster", "ihop", "denny",
-                "tst*", "toast", "benihana", "buffalo wild", "outback", "cracker barrel",
-                "cheesecake factory", "texas roadhouse", "hooters", "legal sea"))
-            return "Dining";
-
-        if (matchesAny(lower, "netflix", "spotify", "hulu", "disney+", "apple.com/bill",
-                "google play", "google one", "google *google", "youtube premium", "youtube music",
-                "paramount", "peacock", "hbo", "max.com", "showtime", "audible", "amazon prime",
-                "apple music", "pandora", "tidal", "crunchyroll", "fubo",
-                "microsoft 365", "dropbox", "icloud", "adobe", "1password", "lastpass"))
-            return "Subscriptions";
-
-        if (matchesAny(lower, "amazon", "walmart", "target", "costco", "best buy", "ebay",
-                "etsy", "apple store", "apple retail", "ikea", "home depot", "lowe",
-                "tj maxx", "marshalls", "ross", "nordstrom", "macy", "gap", "old navy",
-                "h&m", "zara", "forever 21", "bath body", "victoria secret", "sephora",
-                "ulta", "chewy", "petco", "pet smart", "staples", "office depot",
-                "dollar tree", "dollar general", "five below",
-                "nautica", "gap factory", "banana republic", "j.crew", "ann taylor",
-                "dsw", "rack room", "shoe carnival", "famous footwear", "foot locker",
-                "burlington coat", "tuesday morning"))
-            return "Shopping";
-
-        if (matchesAny(lower, "airline", "airways", "united air", "delta air", "american air",
-                "southwest", "jetblue", "alaska air", "spirit air", "frontier air",
-                "hotel", "hilton", "marriott", "hyatt", "westin", "sheraton", "ihg",
-                "hampton inn", "holiday inn", "airbnb", "vrbo", "expedia", "priceline",
-                "booking.com", "hotels.com", "kayak", "travelocity", "hertz", "enterprise rent",
-                "avis", "national car", "budget car", "amtrak", "greyhound"))
-            return "Travel";
-
-        if (matchesAny(lower, "uber", "lyft", "taxi", "transit", "metro", "mta", "bart",
-                "parking", "parkmobile", "spothero", "divvy", "citi bike", "lime",
-                "bird scooter"))
-            return "Transportation";
-
-        if (matchesAny(lower, "bp oil", "bp #", "shell oil", "exxon", "mobil", "chevron",
-                "sunoco", "marathon", "citgo", "getty", "speedway", "wawa", "sheetz",
-                "kwik trip", "casey", "circle k", "racetrac", "gas station", "fuel",
-                "quiktrip", "7-eleven", "pilot flying"))
-            return "Gas";
-
-        if (matchesAny(lower, "pharmacy", "cvs", "walgreen", "rite aid", "hospital", "medical",
-                "doctor", "dental", "dentist", "vision", "optometric", "health",
-                "urgent care", "clinic", "laboratory", "quest diagnostics", "labcorp",
-                "kaiser", "blue cross", "aetna", "cigna", "humana", "insurance"))
-            return "Healthcare";
-
-        if (matchesAny(lower, "electric", "gas utility", "water utility", "sewage", "waste",
-                "comcast", "xfinity", "spectrum", "cox comm", "at&t", "att.com",
-                "verizon", "t-mobile", "sprint", "dish network", "directv",
-                "internet service", "phone bill"))
-            return "Utilities";
-
-        if (matchesAny(lower, "amc theatre", "regal cinema", "cinemark", "movie", "concert",
-                "ticketmaster", "eventbrite", "live nation", "stub hub", "sports ticket",
-                "golf", "bowling", "escape room", "dave buster", "arcade", "museum",
-                "zoo", "aquarium", "sea life", "theme park", "six flags", "disney world",
-                "legoland", "universal studios", "seaworld"))
-            return "Entertainment";
-
-        if (matchesAny(lower, "planet fitness", "la fitness", "equinox", "gold gym", "ymca",
-                "anytime fitness", "crossfit", "peloton", "beachbody", "gym", "fitness",
-                "yoga", "pilates", "sport", "athletic"))
-            return "Health & Fitness";
-
-        if (matchesAny(lower, "tuition", "university", "college", "school", "coursera",
-                "udemy", "linkedin learning", "skillshare", "pluralsight", "books",
-                "textbook", "education", "tutoring", "chegg"))
-            return "Education";
-
-        return null;
-    }
-
-    private boolean matchesAny(String lower, String... keywords) {
-        for (String kw : keywords) {
-            if (lower.contains(kw)) return true;
-        }
-        return false;
+        return CATEGORIZER.categorize(merchantName);
     }
 }
@@ -8,11 +8,9 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -45,16 +43,6 @@ public class GoldmanSachsParser extends GenericPdfParser {
         "^([A-Z][a-z]{2}\\s+\\d{1,2},\\s+\\d{4})\\s+(.+?)\\s+(\\(\\$?[\\d,]+\\.\\d{2}\\)|[-\\$]?[\\d,]+\\.\\d{2})\\s*$"
     );
 
-    private static final List<DateTimeFormatter> GS_DATE_FMTS = List.of(
-        DateTimeFormatter.ofPattern("MMM d, yyyy",  Locale.US),
-        DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.US),
-        DateTimeFormatter.ofPattern("MMM dd, yyyy", Locale.US),
-        DateTimeFormatter.ofPattern("MM/dd/yyyy"),
-        DateTimeFormatter.ofPattern("MM/dd/yy"),
-        DateTimeFormatter.ofPattern("M/d/yyyy"),
-        DateTimeFormatter.ofPattern("M/d/yy")
-    );
-
     // ── Statement period ──────────────────────────────────────────────────────
     // "Billing Period  Jan 1, 2026 - Jan 31, 2026"
     private static final Pattern PERIOD_MONTH = Pattern.compile(
@@ -207,69 +195,72 @@ public class GoldmanSachsParser extends GenericPdfParser {
     }
 
     @Override
-    public List<Transaction> parse(String pdfText, Statement statement, Account account) {
-        log.info("Using Goldman Sachs (Apple Card) parser");
-
+    protected LocalDate[] prepareStatement(String pdfText, Statement statement) {
         extractPaymentSummary(pdfText, statement);
         extractYtdTotals(pdfText, statement);
 
         LocalDate[] period = detectPeriod(pdfText, statement);
         log.info("GoldmanSachs statement period: {} to {}", period[0], period[1]);
+        return period;
+    }
+
+    @Override
+    public List<Transaction> parse(String pdfText, Statement statement, Account account) {
+        log.info("Using Goldman Sachs (Apple Card) parser");
 
+        LocalDate[] period = prepareStatement(pdfText, statement);
         List<Transaction> transactions = new ArrayList<>();
-        String[] lines = pdfText.split("\n");
+        parseLines(new LineScanner(pdfText), period, statement, account, transactions::add);
+
+        log.info("Goldman Sachs parser extracted {} transactions", transactions.size());
 
-        for (String line : lines) {
-            line = line.trim();
-            if (line.isBlank()) continue;
+        if (transactions.isEmpty()) {
+            log.warn("Goldman Sachs parser found 0 transactions — falling back to generic");
+            return super.parse(pdfText, statement, account);
+        }
+        return transactions;
+    }
 
-            String lower = line.toLowerCase();
+    @Override
+    protected void parseLines(LineScanner line, LocalDate[] period, Statement statement, Account account,
+                              Consumer<Transaction> out) {
+        Matcher full  = GS_TXN_FULL.matcher("");
+        Matcher slash = GS_TXN_DATE.matcher("");
+        Matcher loose = GS_TXN_LOOSE.matcher("");
+
+        while (line.next()) {
             // Skip header/footer
-            if (lower.startsWith("date") || lower.startsWith("transaction") ||
-                lower.startsWith("description") || lower.startsWith("amount") ||
-                lower.contains("page ") || lower.contains("continued on")) continue;
+            if (line.startsWithAnyIgnoreCase("date", "transaction", "description", "amount") ||
+                line.containsAnyIgnoreCase("page ", "continued on")) continue;
+
+            if (!(line.startsWithCapitalizedWord() || line.startsWithDigit()) || !line.endsWithAmount()) continue;
 
             // Try "Jan 15, 2026   desc   $amount" first
-            Matcher m = GS_TXN_FULL.matcher(line);
-            String dateStr, desc, amtStr;
-            if (m.matches()) {
-                dateStr = m.group(1);
-                desc    = m.group(2).trim();
-                amtStr  = m.group(3);
-            } else {
-                m = GS_TXN_DATE.matcher(line);
-                if (m.matches()) {
-                    dateStr = m.group(1);
-                    desc    = m.group(2).trim();
-                    amtStr  = m.group(3);
-                } else {
-                    m = GS_TXN_LOOSE.matcher(line);
-                    if (!m.matches()) continue;
-                    dateStr = m.group(1);
-                    desc    = m.group(2).trim();
-                    amtStr  = m.group(3);
-                }
-            }
+            Matcher m = line.firstMatch(full, slash, loose);
+            if (m == null) continue;
+            String desc    = m.group(2).trim();
 
             try {
                 if (desc.equalsIgnoreCase("description") || desc.equalsIgnoreCase("amount")) continue;
                 if (desc.toLowerCase().startsWith("total ") || desc.toLowerCase().startsWith("new balance")) continue;
 
-                LocalDate date = parseGsDate(dateStr);
+                LocalDate date = StatementLexer.toLocalDate(gsDay(line, m.start(1), m.end(1)));
                 if (date == null) continue;
 
                 // Apple Card uses parentheses for credits: ($500.00)
-                BigDecimal amount = parseGsAmount(amtStr);
+                long cents = StatementLexer.cents(line, m.start(3), m.end(3));
+                if (cents == StatementLexer.NO_AMOUNT) continue;
+                BigDecimal amount = StatementLexer.toAmount(cents);
 
                 Transaction.TransactionType type;
                 String descUpper = desc.toUpperCase();
-                boolean isCredit = amtStr.startsWith("(") || amount.compareTo(BigDecimal.ZERO) < 0;
+                boolean isCredit = line.charAt(m.start(3)) == '(' || amount.compareTo(BigDecimal.ZERO) < 0;
                 if (isCredit || descUpper.contains("PAYMENT") || descUpper.contains("REFUND") ||
                     descUpper.contains("CREDIT") || descUpper.contains("RETURN")) {
                     type = Transaction.TransactionType.CREDIT;
-                } else if (lower.contains("interest")) {
+                } else if (line.containsIgnoreCase("interest")) {
                     type = Transaction.TransactionType.INTEREST;
-                } else if (lower.contains(" fee")) {
+                } else if (line.containsIgnoreCase(" fee")) {
                     type = Transaction.TransactionType.FEE;
                 } else {
                     type = Transaction.TransactionType.DEBIT;
@@ -278,7 +269,7 @@ public class GoldmanSachsParser extends GenericPdfParser {
                 String merchant = normalizeMerchant(desc);
                 String category = categorize(merchant, type);
 
-                transactions.add(Transaction.builder()
+                out.accept(Transaction.builder()
                     .account(account)
                     .statement(statement)
                     .transactionDate(date)
@@ -290,45 +281,25 @@ public class GoldmanSachsParser extends GenericPdfParser {
                     .build());
 
                 log.debug("GoldmanSachs parsed: {} | {} | {}", date, merchant, amount);
+            } catch (StatementSinkException e) {
+                throw e;
             } catch (Exception e) {
                 log.debug("GoldmanSachs: could not parse line: {} — {}", line, e.getMessage());
             }
         }
-
-        log.info("Goldman Sachs parser extracted {} transactions", transactions.size());
-
-        if (transactions.isEmpty()) {
-            log.warn("Goldman Sachs parser found 0 transactions — falling back to generic");
-            return super.parse(pdfText, statement, account);
-        }
-        return transactions;
     }
 
     // ── Helpers ───────────────────────────────────────────────────────────────
 
     private LocalDate parseGsDate(String dateStr) {
         if (dateStr == null) return null;
-        for (DateTimeFormatter fmt : GS_DATE_FMTS) {
-            try {
-                LocalDate d = LocalDate.parse(dateStr.trim(), fmt);
-                if (d.getYear() < 100) d = d.withYear(d.getYear() + 2000);
-                return d;
-            } catch (DateTimeParseException ignored) {}
-        }
-        return null;
+        return StatementLexer.toLocalDate(gsDay(dateStr, 0, dateStr.length()));
     }
 
-    /**
-     * Parse amount handling Apple Card's parenthesis format: ($500.00) means credit/payment.
-     */
-    private BigDecimal parseGsAmount(String amtStr) {
-        if (amtStr == null) return BigDecimal.ZERO;
-        String cleaned = amtStr.trim();
-        boolean negative = cleaned.startsWith("(") && cleaned.endsWith(")");
-        // Remove parentheses and $
-        cleaned = cleaned.replaceAll("[()$]", "").replace(",", "").trim();
-        BigDecimal result = new BigDecimal(cleaned);
-        return negative ? result.negate() : result;
+    /** "Jan 15, 2026", "January 15, 2026", "01/15/2026" or "1/15/26" as an epoch day. */
+    private static int gsDay(CharSequence s, int from, int to) {
+        int day = StatementLexer.monthNameDate(s, from, to);
+        return day != StatementLexer.NO_DATE ? day : StatementLexer.slashDate(s, from, to);
     }
 
     private LocalDate[] detectPeriod(String text, Statement statement) {
@@ -0,0 +1,108 @@
+package com.financialguru.parser;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Detects the issuing institution from statement text.
+ *
+ * All signature keywords are compiled into one {@link AhoCorasick} automaton at startup.
+ * The header (first {@value #HEADER_CHARS} chars) is scanned first because the issuer
+ * is always named there — e.g. an Amex statement mentions "Bank of America, NA" as the
+ * AutoPay bank further down. Only if the header has no hit does the scan continue
+ * through the rest of the document. Either way the text is read once, without copying.
+ */
+@Component
+public class InstitutionDetector {
+
+    public static final String GENERIC = "GENERIC";
+
+    private static final int HEADER_CHARS = 1500;
+
+    /**
+     * One row per institution, highest priority first (most-specific / most likely to appear in
+     * others' statements). {@code headerOnly} keywords are too loose to trust in the body.
+     */
+    private record Signature(String institution, List<String> keywords, List<String> headerOnly) {
+        Signature(String institution, List<String> keywords) {
+            this(institution, keywords, List.of());
+        }
+    }
+
+    private record Keyword(int priority, boolean headerOnly) {}
+
+    private static final List<Signature> SIGNATURES = List.of(
+        new Signature("AMEX",            List.of("american express", "americanexpress.com")),
+        new Signature("BANK_OF_AMERICA", List.of("bank of america", "bankofamerica")),
+        new Signature("WELLS_FARGO",     List.of("wells fargo")),
+        new Signature("CITI",            List.of("citibank", "citi card"), List.of("citicards")),
+        new Signature("CAPITAL_ONE",     List.of("capital one", "capitalone.com")),
+        new Signature("CHASE",           List.of("chase", "jpmorgan")),
+        new Signature("DISCOVER",        List.of("discover", "dfs services")),
+        new Signature("GOLDMAN_SACHS",   List.of("goldman sachs", "apple card", "applecard.apple.com"))
+    );
+
+    public record Detection(String institution, double confidence) {}
+
+    private final AhoCorasick<Keyword> automaton;
+
+    public InstitutionDetector() {
+        AhoCorasick.Builder<Keyword> builder = AhoCorasick.builder();
+        for (int priority = 0; priority < SIGNATURES.size(); priority++) {
+            for (String keyword : SIGNATURES.get(priority).keywords()) {
+                builder.add(keyword, new Keyword(priority, false));
+            }
+            for (String keyword : SIGNATURES.get(priority).headerOnly()) {
+                builder.add(keyword, new Keyword(priority, true));
+            }
+        }
+        automaton = builder.build();
+    }
+
+    /**
+     * Returns the highest-priority institution found. Confidence is 1.0 for a unique
+     * header hit, lower when the match came from the body or several issuers matched.
+     */
+    public Detection detect(CharSequence text) {
+        int headerEnd = Math.min(HEADER_CHARS, text.length());
+        Hits header = new Hits(SIGNATURES.size(), true);
+        automaton.scan(text, 0, headerEnd, header);
+        if (header.best >= 0) {
+            return new Detection(SIGNATURES.get(header.best).institution(), header.distinct == 1 ? 1.0 : 0.8);
+        }
+
+        // Back up by one pattern length so keywords straddling the header boundary are still found
+        int bodyStart = Math.max(0, headerEnd - automaton.maxPatternLength() + 1);
+        Hits body = new Hits(SIGNATURES.size(), false);
+        automaton.scan(text, bodyStart, text.length(), body);
+        if (body.best >= 0) {
+            return new Detection(SIGNATURES.get(body.best).institution(), body.distinct == 1 ? 0.6 : 0.4);
+        }
+        return new Detection(GENERIC, 0.0);
+    }
+
+    private static final class Hits implements AhoCorasick.MatchHandler<Keyword> {
+        private final boolean[] seen;
+        private final boolean inHeader;
+        int best = -1;
+        int distinct;
+
+        Hits(int signatures, boolean inHeader) {
+            seen = new boolean[signatures];
+            this.inHeader = inHeader;
+        }
+
+        @Override
+        public boolean onMatch(Keyword keyword, int start, int end) {
+            if (keyword.headerOnly() && !inHeader) return true;
+            int priority = keyword.priority();
+            if (!seen[priority]) {
+                seen[priority] = true;
+                distinct++;
+            }
+            if (best < 0 || priority < best) best = priority;
+            return true;
+        }
+    }
+}
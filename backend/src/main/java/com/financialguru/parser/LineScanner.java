@@ -0,0 +1,205 @@
+package com.financialguru.parser;
+
+import java.util.Iterator;
+import java.util.regex.Matcher;
+
+/**
+ * Zero-copy line iterator shared by the statement parsers.
+ *
+ * Replaces the {@code text.split("\n")} + {@code line.trim()} + {@code line.toLowerCase()}
+ * pattern: the scanner itself is a {@link CharSequence} view of the current trimmed line
+ * over the original text, repositioned by {@link #next()}, so walking a statement
+ * allocates nothing per line. Regex matchers can be {@link Matcher#reset(CharSequence) reset}
+ * onto it directly, and the cheap shape checks below let parsers skip lines that cannot
+ * possibly be transactions before any regex runs.
+ *
+ * A scanner is a single-use cursor and not thread-safe; its view changes on every
+ * {@code next()}, so call {@link #toString()} for anything that must outlive the iteration.
+ * It can also walk a sequence of text chunks (e.g. page windows of a streamed PDF) as if
+ * they were one text, provided every chunk ends on a line boundary.
+ */
+public final class LineScanner implements CharSequence {
+
+    private final Iterator<? extends CharSequence> chunks;
+    private CharSequence text;
+    private int start;
+    private int end;
+    private int nextLineStart;
+
+    public LineScanner(CharSequence text) {
+        this.text = text;
+        this.chunks = null;
+    }
+
+    /** Scans each chunk in turn; the next chunk is only pulled once the current one is exhausted. */
+    public LineScanner(Iterator<? extends CharSequence> chunks) {
+        this.text = "";
+        this.chunks = chunks;
+    }
+
+    /** Advances to the next non-blank line, trimmed like {@link String#trim()}. Returns false at end of text. */
+    public boolean next() {
+        int len = text.length();
+        while (nextLineStart < len || nextChunk()) {
+            len = text.length();
+            int lineStart = nextLineStart;
+            int lineEnd = lineStart;
+            while (lineEnd < len && text.charAt(lineEnd) != '\n') lineEnd++;
+            nextLineStart = lineEnd + 1;
+
+            while (lineStart < lineEnd && text.charAt(lineStart) <= ' ') lineStart++;
+            while (lineEnd > lineStart && text.charAt(lineEnd - 1) <= ' ') lineEnd--;
+            if (lineStart < lineEnd) {
+                start = lineStart;
+                end = lineEnd;
+                return true;
+            }
+        }
+        start = end = len;
+        return false;
+    }
+
+    private boolean nextChunk() {
+        if (chunks == null || !chunks.hasNext()) return false;
+        text = chunks.next();
+        nextLineStart = 0;
+        return true;
+    }
+
+    // ── Shape prefilters ─────────────────────────────────────────────────────
+
+    public boolean startsWithDigit() {
+        return end > start && isDigit(text.charAt(start));
+    }
+
+    /** True for "MM/dd..." — the leading date shape most card layouts use. */
+    public boolean startsWithMmDd() {
+        return end - start >= 5
+            && isDigit(text.charAt(start)) && isDigit(text.charAt(start + 1))
+            && text.charAt(start + 2) == '/'
+            && isDigit(text.charAt(start + 3)) && isDigit(text.charAt(start + 4));
+    }
+
+    /** True for a leading capitalised word like a month abbreviation ("Jan", "Feb."). */
+    public boolean startsWithCapitalizedWord() {
+        return end - start >= 3
+            && isUpper(text.charAt(start)) && isLower(text.charAt(start + 1)) && isLower(text.charAt(start + 2));
+    }
+
+    /**
+     * True when the line ends like a money amount: "...12.34", "...12,34" or "...(12.34)".
+     * Every transaction pattern in this package ends this way.
+     */
+    public boolean endsWithAmount() {
+        int last = end - 1;
+        if (last >= start && text.charAt(last) == ')') last--;
+        return last - 3 >= start
+            && isDigit(text.charAt(last)) && isDigit(text.charAt(last - 1))
+            && (text.charAt(last - 2) == '.' || text.charAt(last - 2) == ',');
+    }
+
+    public boolean contains(char c) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == c) return true;
+        }
+        return false;
+    }
+
+    // ── Case-insensitive tests (ASCII needles) without lowercasing the line ──
+
+    public boolean startsWithIgnoreCase(String prefix) {
+        return regionMatchesIgnoreCase(0, prefix);
+    }
+
+    public boolean containsIgnoreCase(String needle) {
+        if (needle.isEmpty()) return true;
+        // Cheap first-char filter; the full comparison only runs where the needle could start
+        char first = foldCase(needle.charAt(0));
+        int max = length() - needle.length();
+        for (int i = 0; i <= max; i++) {
+            if (foldCase(text.charAt(start + i)) == first && regionMatchesIgnoreCase(i, needle)) return true;
+        }
+        return false;
+    }
+
+    public boolean containsAnyIgnoreCase(String... needles) {
+        for (String needle : needles) {
+            if (containsIgnoreCase(needle)) return true;
+        }
+        return false;
+    }
+
+    public boolean startsWithAnyIgnoreCase(String... prefixes) {
+        for (String prefix : prefixes) {
+            if (startsWithIgnoreCase(prefix)) return true;
+        }
+        return false;
+    }
+
+    private boolean regionMatchesIgnoreCase(int offset, String needle) {
+        if (offset + needle.length() > length()) return false;
+        for (int i = 0; i < needle.length(); i++) {
+            char a = text.charAt(start + offset + i);
+            char b = needle.charAt(i);
+            if (a != b && foldCase(a) != foldCase(b)) return false;
+        }
+        return true;
+    }
+
+    // ── Pattern helpers ──────────────────────────────────────────────────────
+
+    /**
+     * Resets each matcher onto the current line and returns the first whose pattern
+     * matches the whole line, or null. Parsers create their matchers once per parse and
+     * reuse them for every line. Only called for lines that passed the shape prefilters.
+     */
+    public Matcher firstMatch(Matcher... matchers) {
+        // java.util.regex runs markedly faster over a String than over this view, enough to
+        // pay for the one copy of a line that is most likely a transaction anyway
+        String current = toString();
+        for (Matcher m : matchers) {
+            if (m.reset(current).matches()) return m;
+        }
+        return null;
+    }
+
+    // ── CharSequence ─────────────────────────────────────────────────────────
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return text.charAt(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        return text.subSequence(start + from, start + to);
+    }
+
+    @Override
+    public String toString() {
+        return text.subSequence(start, end).toString();
+    }
+
+    // ASCII letters fold with arithmetic; anything else goes through Character as before
+    private static char foldCase(char c) {
+        if (c < 128) return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        return Character.toLowerCase(c);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isLower(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+}
@@ -0,0 +1,122 @@
+package com.financialguru.parser;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keyword-based merchant categorization.
+ *
+ * The rule table below is compiled into a single {@link AhoCorasick} automaton, so a
+ * merchant string is categorized in one pass regardless of how many keywords exist.
+ * Rules are ordered: when keywords from several categories match, the earliest rule wins.
+ * Results are memoized per merchant string in a bounded concurrent map — statements
+ * repeat the same merchants constantly, so most lookups never reach the automaton.
+ */
+public final class MerchantCategorizer {
+
+    private record Rule(String category, List<String> keywords) {}
+
+    private static final List<Rule> RULES = List.of(
+        new Rule("Groceries", List.of(
+            "wholefds", "whole foods", "kroger", "trader joe", "safeway", "publix", "aldi",
+            "patel brothers", "patel brother", "harris teeter", "fresh market", "food lion",
+            "wegman", "sprouts", "h-e-b", "market basket", "giant", "stop shop", "meijer",
+            "albertsons", "vons", "ralph", "piggly", "grocery", "supermarket", "food mart",
+            "fresh fare", "compare foods")),
+        new Rule("Dining", List.of(
+            "restaurant", "kitchen", "grill", "pizza", "sushi", "ramen", "taco", "burger",
+            "mcdonald", "chipotle", "panera", "subway", "chick-fil", "domino", "doordash",
+            "grubhub", "ubereats", "door dash", "uber eats", "postmates", "seamless", "starbucks",
+            "dunkin", "coffee", "cafe", "diner", "bistro", "eatery", "barbeque", "bbq", "thai",
+            "chinese", "indian restaurant", "desi district", "pho", "wingstop", "five guys",
+            "shake shack", "in-n-out", "popeyes", "kfc", "sonic drive", "dairy queen", "applebee",
+            "chilis", "olive garden", "red lobster", "ihop", "denny", "tst*", "toast", "benihana",
+            "buffalo wild", "outback", "cracker barrel", "cheesecake factory", "texas roadhouse",
+            "hooters", "legal sea")),
+        new Rule("Subscriptions", List.of(
+            "netflix", "spotify", "hulu", "disney+", "apple.com/bill", "google play", "google one",
+            "google *google", "youtube premium", "youtube music", "paramount", "peacock", "hbo",
+            "max.com", "showtime", "audible", "amazon prime", "apple music", "pandora", "tidal",
+            "crunchyroll", "fubo", "microsoft 365", "dropbox", "icloud", "adobe", "1password",
+            "lastpass")),
+        new Rule("Shopping", List.of(
+            "amazon", "walmart", "target", "costco", "best buy", "ebay", "etsy", "apple store",
+            "apple retail", "ikea", "home depot", "lowe", "tj maxx", "marshalls", "ross",
+            "nordstrom", "macy", "gap", "old navy", "h&m", "zara", "forever 21", "bath body",
+            "victoria secret", "sephora", "ulta", "chewy", "petco", "pet smart", "staples",
+            "office depot", "dollar tree", "dollar general", "five below", "nautica",
+            "gap factory", "banana republic", "j.crew", "ann taylor", "dsw", "rack room",
+            "shoe carnival", "famous footwear", "foot locker", "burlington coat", "tuesday morning")),
+        new Rule("Travel", List.of(
+            "airline", "airways", "united air", "delta air", "american air", "southwest",
+            "jetblue", "alaska air", "spirit air", "frontier air", "hotel", "hilton", "marriott",
+            "hyatt", "westin", "sheraton", "ihg", "hampton inn", "holiday inn", "airbnb", "vrbo",
+            "expedia", "priceline", "booking.com", "hotels.com", "kayak", "travelocity", "hertz",
+            "enterprise rent", "avis", "national car", "budget car", "amtrak", "greyhound")),
+        new Rule("Transportation", List.of(
+            "uber", "lyft", "taxi", "transit", "metro", "mta", "bart", "parking", "parkmobile",
+            "spothero", "divvy", "citi bike", "lime", "bird scooter")),
+        new Rule("Gas", List.of(
+            "bp oil", "bp #", "shell oil", "exxon", "mobil", "chevron", "sunoco", "marathon",
+            "citgo", "getty", "speedway", "wawa", "sheetz", "kwik trip", "casey", "circle k",
+            "racetrac", "gas station", "fuel", "quiktrip", "7-eleven", "pilot flying")),
+        new Rule("Healthcare", List.of(
+            "pharmacy", "cvs", "walgreen", "rite aid", "hospital", "medical", "doctor", "dental",
+            "dentist", "vision", "optometric", "health", "urgent care", "clinic", "laboratory",
+            "quest diagnostics", "labcorp", "kaiser", "blue cross", "aetna", "cigna", "humana",
+            "insurance")),
+        new Rule("Utilities", List.of(
+            "electric", "gas utility", "water utility", "sewage", "waste", "comcast", "xfinity",
+            "spectrum", "cox comm", "at&t", "att.com", "verizon", "t-mobile", "sprint",
+            "dish network", "directv", "internet service", "phone bill")),
+        new Rule("Entertainment", List.of(
+            "amc theatre", "regal cinema", "cinemark", "movie", "concert", "ticketmaster",
+            "eventbrite", "live nation", "stub hub", "sports ticket", "golf", "bowling",
+            "escape room", "dave buster", "arcade", "museum", "zoo", "aquarium", "sea life",
+            "theme park", "six flags", "disney world", "legoland", "universal studios", "seaworld")),
+        new Rule("Health & Fitness", List.of(
+            "planet fitness", "la fitness", "equinox", "gold gym", "ymca", "anytime fitness",
+            "crossfit", "peloton", "beachbody", "gym", "fitness", "yoga", "pilates", "sport",
+            "athletic")),
+        new Rule("Education", List.of(
+            "tuition", "university", "college", "school", "coursera", "udemy", "linkedin learning",
+            "skillshare", "pluralsight", "books", "textbook", "education", "tutoring", "chegg"))
+    );
+
+    private final AhoCorasick<Integer> automaton;
+    private final ConcurrentHashMap<String, Optional<String>> memo = new ConcurrentHashMap<>();
+    private final int maxMemoEntries;
+
+    public MerchantCategorizer(int maxMemoEntries) {
+        this.maxMemoEntries = maxMemoEntries;
+        AhoCorasick.Builder<Integer> builder = AhoCorasick.builder();
+        for (int rank = 0; rank < RULES.size(); rank++) {
+            for (String keyword : RULES.get(rank).keywords()) {
+                builder.add(keyword, rank);
+            }
+        }
+        automaton = builder.build();
+    }
+
+    /** Returns the category for a merchant name, or null if no rule matches. */
+    public String categorize(String merchantName) {
+        Optional<String> cached = memo.get(merchantName);
+        if (cached == null) {
+            cached = Optional.ofNullable(match(merchantName));
+            // Crude bound: a full memo is simply dropped and rebuilt from live traffic
+            if (memo.size() >= maxMemoEntries) memo.clear();
+            memo.put(merchantName, cached);
+        }
+        return cached.orElse(null);
+    }
+
+    private String match(String merchantName) {
+        int[] best = {Integer.MAX_VALUE};
+        automaton.scan(merchantName, (rank, start, end) -> {
+            if (rank < best[0]) best[0] = rank;
+            return best[0] > 0; // rank 0 can't be beaten — stop early
+        });
+        return best[0] == Integer.MAX_VALUE ? null : RULES.get(best[0]).category();
+    }
+}
@@ -0,0 +1,345 @@
+package com.financialguru.parser;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Hand-rolled lexer for the dates and money amounts found in statement lines.
+ *
+ * Works directly on a {@link CharSequence} range (typically a regex group over a
+ * {@link LineScanner} line), so no substrings are cut, no {@code DateTimeFormatter}
+ * is tried and discarded, and malformed input is reported through the {@link #NO_DATE} /
+ * {@link #NO_AMOUNT} sentinels instead of exceptions. Dates come back as epoch days and
+ * amounts as signed cents; convert with {@link #toLocalDate(int)} / {@link #toAmount(long)}
+ * only once a transaction is actually being built.
+ *
+ * Leniency mirrors the formatters this replaced: two-digit years are 20yy, and a day past
+ * the end of its month (e.g. 02/30) is clamped to the last day like the SMART resolver does.
+ */
+public final class StatementLexer {
+
+    public static final int NO_DATE = Integer.MIN_VALUE;
+    public static final long NO_AMOUNT = Long.MIN_VALUE;
+
+    private static final String[] MONTHS = {
+        "january", "february", "march", "april", "may", "june",
+        "july", "august", "september", "october", "november", "december"
+    };
+    private static final int DAYS_0000_TO_1970 = 719_528;
+    // 10^16 units is 10^18 cents, safely inside a long; one more digit could wrap once scaled by 100
+    private static final int MAX_AMOUNT_DIGITS = 16;
+
+    private StatementLexer() {}
+
+    // ── Dates ────────────────────────────────────────────────────────────────
+
+    /**
+     * Parses any supported statement date: "MM/dd/yyyy", "M/d/yy", "Jan 5, 2025",
+     * "Jan. 5, 2025", "January 5, 2025", "05 Jan 2025", "2025-01-05", or a bare
+     * "MM/dd" / "Jan 5" which takes {@code defaultYear}.
+     */
+    public static int date(CharSequence s, int from, int to, int defaultYear) {
+        int d = slashDate(s, from, to);
+        if (d != NO_DATE) return d;
+        d = monthNameDate(s, from, to);
+        if (d != NO_DATE) return d;
+        d = dayMonthNameDate(s, from, to);
+        if (d != NO_DATE) return d;
+        d = isoDate(s, from, to);
+        if (d != NO_DATE) return d;
+        int md = monthDay(s, from, to);
+        return md == NO_DATE ? NO_DATE : epochDay(defaultYear, md / 100, md % 100);
+    }
+
+    public static int date(CharSequence s, int defaultYear) {
+        return date(s, 0, s.length(), defaultYear);
+    }
+
+    /** "MM/dd/yyyy", "M/d/yyyy", "MM/dd/yy" or "M/d/yy". */
+    public static int slashDate(CharSequence s, int from, int to) {
+        from = skipSpaces(s, from, to);
+        to = trimEnd(s, from, to);
+        int monthEnd = digitsEnd(s, from, to, 2);
+        if (monthEnd == from || monthEnd >= to || s.charAt(monthEnd) != '/') return NO_DATE;
+        int dayStart = monthEnd + 1;
+        int dayEnd = digitsEnd(s, dayStart, to, 2);
+        if (dayEnd == dayStart || dayEnd >= to || s.charAt(dayEnd) != '/') return NO_DATE;
+        int yearStart = dayEnd + 1;
+        int yearEnd = digitsEnd(s, yearStart, to, 4);
+        if (yearEnd != to) return NO_DATE;
+        int year = yearOf(s, yearStart, yearEnd);
+        if (year < 0) return NO_DATE;
+        return epochDay(year, number(s, from, monthEnd), number(s, dayStart, dayEnd));
+    }
+
+    public static int slashDate(CharSequence s) {
+        return slashDate(s, 0, s.length());
+    }
+
+    /** "Jan 5, 2025", "Jan. 5, 2025", "January 5 2025". */
+    public static int monthNameDate(CharSequence s, int from, int to) {
+        from = skipSpaces(s, from, to);
+        to = trimEnd(s, from, to);
+        int nameEnd = lettersEnd(s, from, to);
+        int month = monthOf(s, from, nameEnd);
+        if (month == 0) return NO_DATE;
+        int pos = nameEnd < to && s.charAt(nameEnd) == '.' ? nameEnd + 1 : nameEnd;
+        int dayStart = skipSpaces(s, pos, to);
+        if (dayStart == pos) return NO_DATE;
+        int dayEnd = digitsEnd(s, dayStart, to, 2);
+        if (dayEnd == dayStart) return NO_DATE;
+        pos = dayEnd < to && s.charAt(dayEnd) == ',' ? dayEnd + 1 : dayEnd;
+        int yearStart = skipSpaces(s, pos, to);
+        if (yearStart == dayEnd) return NO_DATE;
+        int yearEnd = digitsEnd(s, yearStart, to, 4);
+        if (yearEnd != to || yearEnd - yearStart != 4) return NO_DATE;
+        return epochDay(number(s, yearStart, yearEnd), month, number(s, dayStart, dayEnd));
+    }
+
+    /** "05 Jan 2025". */
+    public static int dayMonthNameDate(CharSequence s, int from, int to) {
+        from = skipSpaces(s, from, to);
+        to = trimEnd(s, from, to);
+        int dayEnd = digitsEnd(s, from, to, 2);
+        if (dayEnd == from) return NO_DATE;
+        int nameStart = skipSpaces(s, dayEnd, to);
+        if (nameStart == dayEnd) return NO_DATE;
+        int nameEnd = lettersEnd(s, nameStart, to);
+        int month = monthOf(s, nameStart, nameEnd);
+        if (month == 0) return NO_DATE;
+        int yearStart = skipSpaces(s, nameEnd, to);
+        if (yearStart == nameEnd) return NO_DATE;
+        int yearEnd = digitsEnd(s, yearStart, to, 4);
+        if (yearEnd != to || yearEnd - yearStart != 4) return NO_DATE;
+        return epochDay(number(s, yearStart, yearEnd), month, number(s, from, dayEnd));
+    }
+
+    /** "2025-01-05". */
+    public static int isoDate(CharSequence s, int from, int to) {
+        from = skipSpaces(s, from, to);
+        to = trimEnd(s, from, to);
+        if (to - from != 10 || s.charAt(from + 4) != '-' || s.charAt(from + 7) != '-') return NO_DATE;
+        int yearEnd = digitsEnd(s, from, to, 4);
+        int monthEnd = digitsEnd(s, from + 5, to, 2);
+        int dayEnd = digitsEnd(s, from + 8, to, 2);
+        if (yearEnd != from + 4 || monthEnd != from + 7 || dayEnd != to) return NO_DATE;
+        return epochDay(number(s, from, yearEnd), number(s, from + 5, monthEnd), number(s, from + 8, dayEnd));
+    }
+
+    /**
+     * A year-less "MM/dd", "M/d", "Jan 5" or "Feb. 14", packed as {@code month * 100 + day}
+     * so callers can pick the year themselves (see {@link #epochDay(int, int, int)}).
+     */
+    public static int monthDay(CharSequence s, int from, int to) {
+        from = skipSpaces(s, from, to);
+        to = trimEnd(s, from, to);
+        int month;
+        int dayStart;
+        int firstEnd = digitsEnd(s, from, to, 2);
+        if (firstEnd > from) {
+            if (firstEnd >= to || s.charAt(firstEnd) != '/') return NO_DATE;
+            month = number(s, from, firstEnd);
+            dayStart = firstEnd + 1;
+        } else {
+            int nameEnd = lettersEnd(s, from, to);
+            month = monthOf(s, from, nameEnd);
+            if (month == 0) return NO_DATE;
+            int pos = nameEnd < to && s.charAt(nameEnd) == '.' ? nameEnd + 1 : nameEnd;
+            dayStart = skipSpaces(s, pos, to);
+            if (dayStart == pos) return NO_DATE;
+        }
+        int dayEnd = digitsEnd(s, dayStart, to, 2);
+        if (dayEnd == dayStart || dayEnd != to) return NO_DATE;
+        int day = number(s, dayStart, dayEnd);
+        if (month < 1 || month > 12 || day < 1 || day > 31) return NO_DATE;
+        return month * 100 + day;
+    }
+
+    public static int monthDay(CharSequence s) {
+        return monthDay(s, 0, s.length());
+    }
+
+    /**
+     * Epoch day of the given date, or {@link #NO_DATE} when month/day are out of range.
+     * A day past the end of the month is clamped to its last day.
+     */
+    public static int epochDay(int year, int month, int day) {
+        if (month < 1 || month > 12 || day < 1 || day > 31) return NO_DATE;
+        day = Math.min(day, monthLength(year, month));
+        long y = year;
+        long total = 365 * y;
+        if (y >= 0) {
+            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        } else {
+            total -= y / -4 - y / -100 + y / -400;
+        }
+        total += (367L * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeap(year)) total--;
+        }
+        return (int) (total - DAYS_0000_TO_1970);
+    }
+
+    public static LocalDate toLocalDate(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    // ── Amounts ──────────────────────────────────────────────────────────────
+
+    /**
+     * Parses a money amount into signed cents: "$1,234.56", "-$12.00", "- $63.00",
+     * "($500.00)" (negative), "48,25" (comma as decimal separator) or "5,000".
+     * Returns {@link #NO_AMOUNT} for anything else, including more than two decimals.
+     */
+    public static long cents(CharSequence s, int from, int to) {
+        boolean negative = false;
+        boolean parens = false;
+        int pos = from;
+        // Sign, currency and parenthesis prefix in any order: "-$", "$-", "- $", "($"
+        for (; pos < to; pos++) {
+            char c = s.charAt(pos);
+            if (c == '-') negative = true;
+            else if (c == '(') parens = true;
+            else if (c != '$' && c != '+' && c > ' ') break;
+        }
+        to = trimEnd(s, pos, to);
+        if (parens) {
+            if (to == pos || s.charAt(to - 1) != ')') return NO_AMOUNT;
+            to = trimEnd(s, pos, to - 1);
+            negative = true;
+        }
+
+        long units = 0;
+        int digits = 0;
+        int commas = 0;
+        int lastComma = -1;
+        int intStart = pos;
+        for (; pos < to; pos++) {
+            char c = s.charAt(pos);
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_AMOUNT_DIGITS) return NO_AMOUNT;
+                units = units * 10 + (c - '0');
+            } else if (c == ',') {
+                commas++;
+                lastComma = pos;
+            } else {
+                break;
+            }
+        }
+        int intEnd = pos;
+
+        long fraction = 0;
+        int fractionDigits = 0;
+        if (pos < to && s.charAt(pos) == '.') {
+            for (pos++; pos < to; pos++) {
+                char c = s.charAt(pos);
+                if (c < '0' || c > '9' || ++fractionDigits > 2) return NO_AMOUNT;
+                fraction = fraction * 10 + (c - '0');
+            }
+        } else if (commas == 1 && intEnd - lastComma == 3 && lastComma - intStart >= 1
+                && lastComma - intStart <= 3 && s.charAt(intStart) != ',') {
+            // "48,25": a lone comma followed by exactly two digits is a decimal separator
+            fraction = units % 100;
+            fractionDigits = 2;
+            units /= 100;
+        }
+        if (pos != to || digits + fractionDigits == 0) {
+            return NO_AMOUNT;
+        }
+        if (fractionDigits == 1) fraction *= 10;
+
+        long cents = units * 100 + fraction;
+        return negative ? -cents : cents;
+    }
+
+    public static long cents(CharSequence s) {
+        return cents(s, 0, s.length());
+    }
+
+    public static BigDecimal toAmount(long cents) {
+        return cents == NO_AMOUNT ? null : BigDecimal.valueOf(cents, 2);
+    }
+
+    // ── Scanning helpers ─────────────────────────────────────────────────────
+
+    private static int skipSpaces(CharSequence s, int pos, int to) {
+        while (pos < to && s.charAt(pos) <= ' ') pos++;
+        return pos;
+    }
+
+    private static int trimEnd(CharSequence s, int from, int to) {
+        while (to > from && s.charAt(to - 1) <= ' ') to--;
+        return to;
+    }
+
+    /** End of the run of at most {@code max} ASCII digits starting at {@code pos}; a longer run fails. */
+    private static int digitsEnd(CharSequence s, int pos, int to, int max) {
+        int end = pos;
+        while (end < to && isDigit(s.charAt(end))) {
+            if (++end - pos > max) return pos;
+        }
+        return end;
+    }
+
+    private static int lettersEnd(CharSequence s, int pos, int to) {
+        while (pos < to && isAsciiLetter(s.charAt(pos))) pos++;
+        return pos;
+    }
+
+    private static int number(CharSequence s, int from, int to) {
+        int n = 0;
+        for (int i = from; i < to; i++) n = n * 10 + (s.charAt(i) - '0');
+        return n;
+    }
+
+    /** Two-digit years are 20yy, four-digit years are taken as-is, anything else is invalid. */
+    private static int yearOf(CharSequence s, int from, int to) {
+        int len = to - from;
+        if (len == 2) return 2000 + number(s, from, to);
+        if (len == 4) return number(s, from, to);
+        return -1;
+    }
+
+    /** 1-12 for a three-letter abbreviation, "Sept" or a full month name (any case), else 0. */
+    private static int monthOf(CharSequence s, int from, int to) {
+        int len = to - from;
+        if (len < 3) return 0;
+        for (int m = 0; m < 12; m++) {
+            String name = MONTHS[m];
+            boolean candidate = len == 3 || len == name.length() || (m == 8 && len == 4);
+            if (candidate && len <= name.length() && regionMatchesIgnoreCase(s, from, name, len)) {
+                return m + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean regionMatchesIgnoreCase(CharSequence s, int from, String lower, int len) {
+        for (int i = 0; i < len; i++) {
+            if ((s.charAt(from + i) | 0x20) != lower.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static int monthLength(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeap(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean isLeap(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
@@ -0,0 +1,20 @@
+package com.financialguru.parser;
+
+/**
+ * A failure of the consumer transactions are streamed to (see
+ * {@link BankStatementParser#parseStream}), typically a chunk commit. Parsers rethrow it from
+ * their per-line error handling, which otherwise treats any exception as an unparseable line.
+ */
+public class StatementSinkException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public StatementSinkException(RuntimeException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized RuntimeException getCause() {
+        return (RuntimeException) super.getCause();
+    }
+}
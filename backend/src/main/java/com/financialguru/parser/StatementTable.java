@@ -0,0 +1,10 @@
+package com.financialguru.parser;
+
+import java.util.List;
+
+/**
+ * A table recovered from one page of a statement by column-aware extraction: each row is
+ * the trimmed text of its cells, left to right, with empty strings for blank cells so
+ * column positions line up across rows.
+ */
+public record StatementTable(int page, List<List<String>> rows) {}
@@ -1,8 +1,11 @@
 package com.financialguru.repository;
 
+import com.financialguru.model.Account;
 import com.financialguru.model.Alert;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -25,4 +28,19 @@ public interface AlertRepository extends JpaRepository<Alert, UUID> {
     List<Alert> findRecentUnresolved();
 
     List<Alert> findByTypeAndIsResolvedFalseOrderByCreatedAtDesc(Alert.AlertType type);
+
+    // Alerts raised for a statement's transactions go with them — a reprocess raises them afresh
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        DELETE FROM Alert a
+        WHERE a.transaction.id IN (SELECT t.id FROM Transaction t WHERE t.statement.id = :statementId)
+        """)
+    int deleteByStatementId(@Param("statementId") UUID statementId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        UPDATE Alert a SET a.account = :account
+        WHERE a.transaction.id IN (SELECT t.id FROM Transaction t WHERE t.statement.id = :statementId)
+        """)
+    int assignAccountByStatementId(@Param("statementId") UUID statementId, @Param("account") Account account);
 }
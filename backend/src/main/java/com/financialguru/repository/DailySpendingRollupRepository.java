@@ -0,0 +1,115 @@
+package com.financialguru.repository;
+
+import com.financialguru.model.DailySpendingRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Rollup-backed twins of the global aggregates in {@link TransactionRepository} — same
+ * parameters, same row shapes, but their cost grows with days × buckets, not transactions.
+ */
+@Repository
+public interface DailySpendingRollupRepository extends JpaRepository<DailySpendingRollup, UUID> {
+
+    @Query("""
+        SELECT SUM(r.totalAmount) FROM DailySpendingRollup r
+        WHERE r.type = 'DEBIT'
+          AND r.spendDate >= :start
+          AND r.spendDate <= :end
+        """)
+    BigDecimal sumAllSpending(
+        @Param("start") LocalDate start,
+        @Param("end") LocalDate end
+    );
+
+    @Query("""
+        SELECT r.category, SUM(r.totalAmount) as total
+        FROM DailySpendingRollup r
+        WHERE r.type = 'DEBIT'
+          AND r.category IS NOT NULL
+          AND r.spendDate >= :start
+          AND r.spendDate <= :end
+        GROUP BY r.category
+        ORDER BY total DESC
+        """)
+    List<Object[]> findAllCategoryTotals(
+        @Param("start") LocalDate start,
+        @Param("end") LocalDate end
+    );
+
+    @Query("""
+        SELECT r.merchantName, SUM(r.totalAmount), SUM(r.txnCount)
+        FROM DailySpendingRollup r
+        WHERE r.type = 'DEBIT'
+          AND r.merchantName IS NOT NULL
+          AND r.spendDate >= :start
+          AND r.spendDate <= :end
+        GROUP BY r.merchantName
+        ORDER BY SUM(r.totalAmount) DESC
+        """)
+    List<Object[]> findAllTopMerchants(
+        @Param("start") LocalDate start,
+        @Param("end") LocalDate end
+    );
+
+    @Query("""
+        SELECT r.merchantName, SUM(r.totalAmount)
+        FROM DailySpendingRollup r
+        WHERE r.type = 'DEBIT'
+          AND r.merchantName IN :merchants
+          AND r.spendDate >= :start
+          AND r.spendDate <= :end
+        GROUP BY r.merchantName
+        """)
+    List<Object[]> findMerchantSpend(
+        @Param("merchants") Collection<String> merchants,
+        @Param("start") LocalDate start,
+        @Param("end") LocalDate end
+    );
+
+    // Daily spending for heatmap
+    @Query("""
+        SELECT r.spendDate, SUM(r.totalAmount), SUM(r.txnCount)
+        FROM DailySpendingRollup r
+        WHERE r.type = 'DEBIT'
+          AND r.spendDate >= :start
+          AND r.spendDate <= :end
+        GROUP BY r.spendDate
+        ORDER BY r.spendDate
+        """)
+    List<Object[]> findDailySpendingTotals(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Query("""
+        SELECT COALESCE(SUM(r.totalAmount), 0) FROM DailySpendingRollup r
+        WHERE r.category = :category
+          AND r.type = 'DEBIT'
+          AND r.spendDate >= :start
+          AND r.spendDate <= :end
+        """)
+    BigDecimal sumCategorySpending(
+        @Param("category") String category,
+        @Param("start") LocalDate start,
+        @Param("end") LocalDate end
+    );
+
+    @Query("""
+        SELECT COALESCE(SUM(r.totalAmount), 0) FROM DailySpendingRollup r
+        WHERE r.merchantName = :merchant
+          AND r.type = 'DEBIT'
+          AND r.spendDate >= :start
+          AND r.spendDate <= :end
+        """)
+    BigDecimal sumMerchantSpending(
+        @Param("merchant") String merchant,
+        @Param("start") LocalDate start,
+        @Param("end") LocalDate end
+    );
+}
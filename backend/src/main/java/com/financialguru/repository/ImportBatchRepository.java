@@ -0,0 +1,11 @@
+package com.financialguru.repository;
+
+import com.financialguru.model.ImportBatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ImportBatchRepository extends JpaRepository<ImportBatch, UUID> {
+}
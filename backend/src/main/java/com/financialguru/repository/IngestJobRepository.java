@@ -0,0 +1,52 @@
+package com.financialguru.repository;
+
+import com.financialguru.model.IngestJob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface IngestJobRepository extends JpaRepository<IngestJob, UUID> {
+
+    Optional<IngestJob> findByStatementId(UUID statementId);
+
+    // Row locks serialize state changes with claims, which lock the same rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM IngestJob j WHERE j.id = :id")
+    Optional<IngestJob> lockById(@Param("id") UUID id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM IngestJob j WHERE j.statementId = :statementId")
+    Optional<IngestJob> lockByStatementId(@Param("statementId") UUID statementId);
+
+    /** Extends the lease of a job {@code workerId} is still running; 0 means the lease was lost. */
+    @Modifying
+    @Query("""
+        UPDATE IngestJob j SET j.leaseExpiresAt = :until
+        WHERE j.id = :id AND j.lockedBy = :workerId AND j.status = 'RUNNING'
+        """)
+    int renewLease(@Param("id") UUID id, @Param("workerId") String workerId, @Param("until") OffsetDateTime until);
+
+    /**
+     * Row-locks the oldest claimable job. SKIP LOCKED lets any number of workers —
+     * across threads and backend replicas — poll concurrently without blocking on
+     * or double-claiming each other's rows. Must be called inside a read-write transaction.
+     */
+    @Query(value = """
+        SELECT * FROM ingest_jobs
+        WHERE (status = 'QUEUED' AND available_at <= NOW())
+           OR (status = 'RUNNING' AND lease_expires_at < NOW())
+        ORDER BY available_at
+        LIMIT 1
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    Optional<IngestJob> lockNextClaimable();
+}
@@ -0,0 +1,192 @@
+package com.financialguru.repository;
+
+import com.financialguru.model.Transaction;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Keeps {@code daily_spending_rollup} in step with {@code transactions}.
+ *
+ * Every change is an additive upsert of per-bucket deltas, so concurrent ingests touching the
+ * same day never overwrite each other's totals. Deltas are applied in key order to keep row
+ * locks ordered across transactions. Changes that don't load entities (statement delete,
+ * account reassignment) are rolled up in SQL straight from {@code transactions}. Buckets
+ * emptied by a change are removed. Everything joins the caller's transaction. Taking a
+ * statement out is announced with a {@link StatementRemoved} event.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SpendingRollupWriter {
+
+    private static final String KEY = "spend_date, account_id, type, category, merchant_name";
+
+    private static final String UPSERT_CONFLICT =
+        "ON CONFLICT (" + KEY + ") DO UPDATE SET " +
+        "total_amount = daily_spending_rollup.total_amount + EXCLUDED.total_amount, " +
+        "txn_count = daily_spending_rollup.txn_count + EXCLUDED.txn_count";
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO daily_spending_rollup (" + KEY + ", total_amount, txn_count) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?) " + UPSERT_CONFLICT;
+
+    // ? = +1 to add the statement's transactions, -1 to take them out
+    private static final String STATEMENT_SQL =
+        "INSERT INTO daily_spending_rollup (" + KEY + ", total_amount, txn_count) " +
+        "SELECT transaction_date, account_id, type, category, merchant_name, ? * SUM(amount), ? * COUNT(*) " +
+        "FROM transactions WHERE statement_id = ? " +
+        "GROUP BY transaction_date, account_id, type, category, merchant_name " +
+        "ORDER BY transaction_date, account_id, type, category, merchant_name " + UPSERT_CONFLICT;
+
+    private static final String PURGE_SQL =
+        "DELETE FROM daily_spending_rollup WHERE txn_count <= 0 AND spend_date BETWEEN ? AND ?";
+
+    private static final String PURGE_STATEMENT_SQL =
+        "DELETE FROM daily_spending_rollup WHERE txn_count <= 0 " +
+        "AND spend_date IN (SELECT transaction_date FROM transactions WHERE statement_id = ?)";
+
+    private static final String STATEMENT_MERCHANTS_SQL =
+        "SELECT DISTINCT merchant_name FROM transactions " +
+        "WHERE statement_id = ? AND type = 'DEBIT' AND merchant_name IS NOT NULL";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final Comparator<Bucket> BUCKET_ORDER = Comparator
+        .comparing(Bucket::day)
+        .thenComparing(Bucket::accountId, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(Bucket::type, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(Bucket::category, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(Bucket::merchantName, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private record Bucket(LocalDate day, UUID accountId, String type, String category, String merchantName) {
+        static Bucket of(Transaction t) {
+            return new Bucket(t.getTransactionDate(),
+                t.getAccount() != null ? t.getAccount().getId() : null,
+                t.getType() != null ? t.getType().name() : null,
+                t.getCategory(), t.getMerchantName());
+        }
+    }
+
+    private record Row(Bucket bucket, BigDecimal amount) {}
+
+    private static final class Delta {
+        BigDecimal amount = BigDecimal.ZERO;
+        long count;
+    }
+
+    /**
+     * The rollup-relevant state of some transactions before an in-place edit. Pass it back to
+     * {@link #applyEdits} once the edits are made to move the amounts between buckets.
+     */
+    public static final class Snapshot {
+        private final Map<Transaction, Row> before;
+
+        private Snapshot(Map<Transaction, Row> before) {
+            this.before = before;
+        }
+    }
+
+    /** Adds newly inserted transactions. */
+    @Transactional
+    public void added(Collection<Transaction> transactions) {
+        Map<Bucket, Delta> deltas = new TreeMap<>(BUCKET_ORDER);
+        for (Transaction t : transactions) accumulate(deltas, Bucket.of(t), t.getAmount(), 1);
+        apply(deltas);
+    }
+
+    public Snapshot snapshot(Collection<Transaction> transactions) {
+        Map<Transaction, Row> before = new IdentityHashMap<>();
+        for (Transaction t : transactions) before.put(t, new Row(Bucket.of(t), t.getAmount()));
+        return new Snapshot(before);
+    }
+
+    /** Moves the edited transactions of {@code snapshot} from their old buckets to their current ones. */
+    @Transactional
+    public void applyEdits(Snapshot snapshot) {
+        Map<Bucket, Delta> deltas = new TreeMap<>(BUCKET_ORDER);
+        snapshot.before.forEach((t, was) -> {
+            Row now = new Row(Bucket.of(t), t.getAmount());
+            if (now.equals(was)) return;
+            accumulate(deltas, was.bucket(), negate(was.amount()), -1);
+            accumulate(deltas, now.bucket(), now.amount(), 1);
+        });
+        apply(deltas);
+    }
+
+    /** Adds the statement's transactions as they currently are in the table. */
+    @Transactional
+    public void addStatement(UUID statementId) {
+        applyStatement(statementId, 1);
+    }
+
+    /** Merchants whose debit totals {@link #removeStatement} lowered, published inside its transaction. */
+    public record StatementRemoved(UUID statementId, List<String> merchants) {}
+
+    /** Takes the statement's transactions out; call before deleting or rewriting them. */
+    @Transactional
+    public void removeStatement(UUID statementId) {
+        applyStatement(statementId, -1);
+        List<String> merchants = jdbcTemplate.queryForList(STATEMENT_MERCHANTS_SQL, String.class, statementId);
+        jdbcTemplate.update(PURGE_STATEMENT_SQL, statementId);
+        if (!merchants.isEmpty()) eventPublisher.publishEvent(new StatementRemoved(statementId, merchants));
+    }
+
+    private void applyStatement(UUID statementId, int sign) {
+        // Pending JPA writes to the statement's rows must be visible to the aggregate
+        entityManager.flush();
+        jdbcTemplate.update(STATEMENT_SQL, sign, sign, statementId);
+    }
+
+    private void apply(Map<Bucket, Delta> deltas) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        boolean anyRemoved = false;
+        for (Map.Entry<Bucket, Delta> e : deltas.entrySet()) {
+            Bucket b = e.getKey();
+            Delta d = e.getValue();
+            if (d.count == 0 && d.amount.signum() == 0) continue;
+            anyRemoved |= d.count < 0;
+            rows.add(new Object[]{Date.valueOf(b.day()), b.accountId(), b.type(), b.category(), b.merchantName(), d.amount, d.count});
+        }
+        if (rows.isEmpty()) return;
+
+        int[] types = {Types.DATE, Types.OTHER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.NUMERIC, Types.BIGINT};
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)), types);
+        }
+        if (anyRemoved) {
+            jdbcTemplate.update(PURGE_SQL, rows.get(0)[0], rows.get(rows.size() - 1)[0]);
+        }
+    }
+
+    private static void accumulate(Map<Bucket, Delta> deltas, Bucket bucket, BigDecimal amount, int count) {
+        if (bucket.day() == null) return;
+        Delta d = deltas.computeIfAbsent(bucket, k -> new Delta());
+        d.amount = d.amount.add(Objects.requireNonNullElse(amount, BigDecimal.ZERO));
+        d.count += count;
+    }
+
+    private static BigDecimal negate(BigDecimal amount) {
+        return amount != null ? amount.negate() : null;
+    }
+}
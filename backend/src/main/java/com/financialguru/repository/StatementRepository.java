@@ -2,11 +2,14 @@ package com.financialguru.repository;
 
 import com.financialguru.model.Statement;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -19,6 +22,29 @@ public interface StatementRepository extends JpaRepository<Statement, UUID> {
     @Query("SELECT s FROM Statement s ORDER BY s.createdAt DESC")
     List<Statement> findAllOrderByCreatedAtDesc();
 
+    Optional<Statement> findFirstByContentHashAndStatusInOrderByCreatedAtAsc(
+        String contentHash, Collection<Statement.StatementStatus> statuses);
+
+    /**
+     * Serializes uploads of the same bytes until the caller's transaction ends, so the
+     * duplicate lookup and the insert that follows it can't interleave with another upload's.
+     */
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtext('statement:' || :contentHash))) l",
+        nativeQuery = true)
+    Integer lockContentHash(@Param("contentHash") String contentHash);
+
+    // [id, filePath] of statements ingested before content hashes were recorded
+    @Query("SELECT s.id, s.filePath FROM Statement s WHERE s.contentHash IS NULL ORDER BY s.createdAt")
+    List<Object[]> findUnhashedFiles();
+
+    @Modifying
+    @Query("UPDATE Statement s SET s.contentHash = :contentHash WHERE s.id = :id AND s.contentHash IS NULL")
+    int setContentHashIfMissing(@Param("id") UUID id, @Param("contentHash") String contentHash);
+
+    // Per-status counts for an import batch: [status, count, latest processedAt]
+    @Query("SELECT s.status, COUNT(s), MAX(s.processedAt) FROM Statement s WHERE s.batchId = :batchId GROUP BY s.status")
+    List<Object[]> countByStatusForBatch(@Param("batchId") UUID batchId);
+
     @Query("SELECT s FROM Statement s WHERE s.account.id = :accountId AND s.status = 'COMPLETED' ORDER BY s.statementMonth DESC")
     List<Statement> findCompletedByAccountId(@Param("accountId") UUID accountId);
 }
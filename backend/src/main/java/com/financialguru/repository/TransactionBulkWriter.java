@@ -0,0 +1,326 @@
+package com.financialguru.repository;
+
+import com.financialguru.model.Transaction;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bulk insert path for parsed statement transactions.
+ *
+ * Rows are streamed to PostgreSQL with {@code COPY ... FROM STDIN} into a session-local staging
+ * table on the connection of the current transaction. One {@code INSERT ... SELECT ... ON
+ * CONFLICT (fingerprint, transaction_date) DO NOTHING} then moves them into {@code transactions},
+ * after {@link TransactionPartitions} has made sure every month they fall in has a partition. Rows that were
+ * already imported from an overlapping statement (see {@link TransactionFingerprinter}) are
+ * dropped by the database and never reach the caller; the statement is still recorded in
+ * {@code transaction_claims}, so the row can be handed to it if the owning statement is deleted.
+ * Everything commits or rolls back with the rest of the ingest. Ids and creation timestamps are
+ * assigned here. The entities are not attached to the persistence context, so later changes to
+ * them must be written explicitly (see {@link #updateFlags}). On any other database the rows go through batched INSERTs
+ * without deduplication. Single edits keep using {@link TransactionRepository}. The inserted rows
+ * are added to the daily spending rollup in the same transaction and announced with a
+ * {@link TransactionsInserted} event.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionBulkWriter {
+
+    private static final String COLUMNS =
+        "id, account_id, statement_id, transaction_date, post_date, description, merchant_name, " +
+        "category, subcategory, amount, type, reference_number, is_recurring, is_flagged, " +
+        "flag_reason, notes, created_at, fingerprint";
+
+    // Session-scoped, so each pooled connection creates it once
+    private static final String STAGING_DDL =
+        "CREATE TEMP TABLE IF NOT EXISTS transactions_staging (LIKE transactions INCLUDING DEFAULTS)";
+
+    private static final String COPY_SQL = "COPY transactions_staging (" + COLUMNS + ") FROM STDIN";
+
+    private static final String MERGE_SQL = "INSERT INTO transactions (" + COLUMNS + ") " +
+        "SELECT " + COLUMNS + " FROM transactions_staging " +
+        "ON CONFLICT (fingerprint, transaction_date) DO NOTHING RETURNING id";
+
+    // Every statement that listed the row, including those whose copy the merge drops
+    private static final String CLAIM_SQL =
+        "INSERT INTO transaction_claims (fingerprint, transaction_date, statement_id) " +
+        "SELECT fingerprint, transaction_date, statement_id FROM transactions_staging " +
+        "WHERE fingerprint IS NOT NULL AND statement_id IS NOT NULL ON CONFLICT DO NOTHING";
+
+    private static final String INSERT_SQL = "INSERT INTO transactions (" + COLUMNS + ") " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_FLAGS_SQL =
+        "UPDATE transactions SET is_flagged = ?, flag_reason = ? WHERE id = ? AND transaction_date = ?";
+
+    private static final String UPDATE_CATEGORIES_SQL =
+        "UPDATE transactions SET category = ?, subcategory = ?, merchant_name = ? WHERE id = ? AND transaction_date = ?";
+
+    // check_violation; also "no partition of relation ... found for row", whatever lc_messages says
+    private static final String CHECK_VIOLATION = "23514";
+
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final SpendingRollupWriter spendingRollupWriter;
+    private final TransactionPartitions transactionPartitions;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** Rows written by one {@link #insertAll} call, published inside its transaction. */
+    public record TransactionsInserted(List<Transaction> transactions) {}
+
+    /**
+     * Inserts the transactions and returns the ones actually written, in input order —
+     * fingerprint duplicates of rows already in the table are left out.
+     */
+    @Transactional
+    public List<Transaction> insertAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) return List.of();
+
+        transactionPartitions.ensureFor(transactions);
+
+        // Queued JPA writes (stale-row delete, auto-created account) must reach the table first
+        entityManager.flush();
+
+        OffsetDateTime now = OffsetDateTime.now();
+        for (Transaction t : transactions) {
+            if (t.getId() == null) t.setId(UUID.randomUUID());
+            if (t.getCreatedAt() == null) t.setCreatedAt(now);
+        }
+
+        long start = System.nanoTime();
+        List<Transaction> inserted;
+        try {
+            inserted = write(transactions);
+        } catch (CheckViolation e) {
+            // Also what a CHECK constraint raises, so retry only if a month really lost its partition
+            transactionPartitions.forget(transactions);
+            if (transactionPartitions.ensureFor(transactions) == 0) {
+                throw jdbcTemplate.getExceptionTranslator().translate("insertAll", null, e.getCause());
+            }
+            log.warn("Transactions partition was missing for a remembered month, re-created it and retrying");
+            inserted = write(transactions);
+        }
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Bulk-inserted {} of {} transactions in {} ms ({} rows/s)", inserted.size(), transactions.size(),
+            elapsedMs, transactions.size() * 1000L / elapsedMs);
+        spendingRollupWriter.added(inserted);
+        if (!inserted.isEmpty()) eventPublisher.publishEvent(new TransactionsInserted(inserted));
+        return inserted;
+    }
+
+    /**
+     * Writes the rows under a savepoint. A check violation, which is what an insert into a month
+     * without a partition raises, is rolled back to it and thrown as {@link CheckViolation}.
+     */
+    private List<Transaction> write(List<Transaction> transactions) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Transaction>>) con -> {
+            if (!con.isWrapperFor(PGConnection.class)) return batchInsert(con, transactions);
+            // The failed merge would abort the whole ingest transaction; roll back to here instead
+            Savepoint savepoint = con.setSavepoint();
+            try {
+                List<Transaction> inserted = copyAndMerge(con, transactions);
+                con.releaseSavepoint(savepoint);
+                return inserted;
+            } catch (SQLException e) {
+                if (!CHECK_VIOLATION.equals(e.getSQLState())) throw e;
+                con.rollback(savepoint);
+                throw new CheckViolation(e);
+            }
+        });
+    }
+
+    private static final class CheckViolation extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        CheckViolation(SQLException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
+    }
+
+    /** Writes back the flag fields anomaly detection sets on already-inserted rows. */
+    @Transactional
+    public void updateFlags(Collection<Transaction> transactions) {
+        if (transactions.isEmpty()) return;
+        jdbcTemplate.batchUpdate(UPDATE_FLAGS_SQL, transactions, BATCH_SIZE, (ps, t) -> {
+            ps.setBoolean(1, Boolean.TRUE.equals(t.getIsFlagged()));
+            ps.setString(2, t.getFlagReason());
+            ps.setObject(3, t.getId());
+            // Lets each update prune to the row's month partition
+            ps.setObject(4, t.getTransactionDate());
+        });
+    }
+
+    /**
+     * Writes back the category fields AI categorization sets. Managed entities are detached
+     * first, so Hibernate does not flush its own update for them, which looks rows up by id alone
+     * and probes every month partition.
+     */
+    @Transactional
+    public void updateCategories(Collection<Transaction> transactions) {
+        if (transactions.isEmpty()) return;
+        transactions.forEach(entityManager::detach);
+        jdbcTemplate.batchUpdate(UPDATE_CATEGORIES_SQL, transactions, BATCH_SIZE, (ps, t) -> {
+            ps.setString(1, t.getCategory());
+            ps.setString(2, t.getSubcategory());
+            ps.setString(3, t.getMerchantName());
+            ps.setObject(4, t.getId());
+            ps.setObject(5, t.getTransactionDate());
+        });
+    }
+
+    private static List<Transaction> copyAndMerge(Connection con, List<Transaction> transactions) throws SQLException {
+        try (Statement st = con.createStatement()) {
+            st.execute(STAGING_DDL);
+        }
+        copy(con.unwrap(PGConnection.class), transactions);
+
+        Set<UUID> insertedIds = new HashSet<>();
+        try (PreparedStatement ps = con.prepareStatement(MERGE_SQL); ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) insertedIds.add(rs.getObject(1, UUID.class));
+        }
+        try (Statement st = con.createStatement()) {
+            st.execute(CLAIM_SQL);
+            st.execute("TRUNCATE transactions_staging");
+        }
+
+        if (insertedIds.size() == transactions.size()) return transactions;
+        List<Transaction> inserted = new ArrayList<>(insertedIds.size());
+        for (Transaction t : transactions) {
+            if (insertedIds.contains(t.getId())) inserted.add(t);
+        }
+        return inserted;
+    }
+
+    private static long copy(PGConnection pg, List<Transaction> transactions) throws SQLException {
+        PGCopyOutputStream copy = new PGCopyOutputStream(pg, COPY_SQL, COPY_BUFFER_BYTES);
+        // Not closed: closing flushes again, into a copy endCopy() has already finished
+        Writer out = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), COPY_BUFFER_BYTES);
+        try {
+            StringBuilder row = new StringBuilder(256);
+            for (Transaction t : transactions) {
+                row.setLength(0);
+                appendRow(row, t);
+                out.append(row);
+            }
+            out.flush();
+            return copy.endCopy();
+        } catch (IOException e) {
+            throw new SQLException("COPY into transactions_staging failed", e);
+        } finally {
+            // Leaves the connection usable when the rows could not all be sent
+            if (copy.isActive()) copy.cancelCopy();
+        }
+    }
+
+    private static List<Transaction> batchInsert(Connection con, List<Transaction> transactions) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(INSERT_SQL)) {
+            int pending = 0;
+            for (Transaction t : transactions) {
+                ps.setObject(1, t.getId());
+                ps.setObject(2, t.getAccount() != null ? t.getAccount().getId() : null, Types.OTHER);
+                ps.setObject(3, t.getStatement() != null ? t.getStatement().getId() : null, Types.OTHER);
+                ps.setObject(4, t.getTransactionDate());
+                ps.setObject(5, t.getPostDate());
+                ps.setString(6, t.getDescription());
+                ps.setString(7, t.getMerchantName());
+                ps.setString(8, t.getCategory());
+                ps.setString(9, t.getSubcategory());
+                ps.setBigDecimal(10, t.getAmount());
+                ps.setString(11, t.getType() != null ? t.getType().name() : null);
+                ps.setString(12, t.getReferenceNumber());
+                ps.setBoolean(13, Boolean.TRUE.equals(t.getIsRecurring()));
+                ps.setBoolean(14, Boolean.TRUE.equals(t.getIsFlagged()));
+                ps.setString(15, t.getFlagReason());
+                ps.setString(16, t.getNotes());
+                ps.setObject(17, t.getCreatedAt());
+                ps.setString(18, t.getFingerprint());
+                ps.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    ps.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) ps.executeBatch();
+        }
+        return transactions;
+    }
+
+    // ── COPY text format: tab-separated, \N for null, backslash escapes ──────
+
+    static void appendRow(StringBuilder row, Transaction t) {
+        field(row, t.getId()).append('\t');
+        field(row, t.getAccount() != null ? t.getAccount().getId() : null).append('\t');
+        field(row, t.getStatement() != null ? t.getStatement().getId() : null).append('\t');
+        field(row, t.getTransactionDate()).append('\t');
+        field(row, t.getPostDate()).append('\t');
+        text(row, t.getDescription()).append('\t');
+        text(row, t.getMerchantName()).append('\t');
+        text(row, t.getCategory()).append('\t');
+        text(row, t.getSubcategory()).append('\t');
+        (t.getAmount() != null ? row.append(t.getAmount().toPlainString()) : row.append("\\N")).append('\t');
+        field(row, t.getType()).append('\t');
+        text(row, t.getReferenceNumber()).append('\t');
+        row.append(Boolean.TRUE.equals(t.getIsRecurring()) ? 't' : 'f').append('\t');
+        row.append(Boolean.TRUE.equals(t.getIsFlagged()) ? 't' : 'f').append('\t');
+        text(row, t.getFlagReason()).append('\t');
+        text(row, t.getNotes()).append('\t');
+        field(row, t.getCreatedAt()).append('\t');
+        field(row, t.getFingerprint()).append('\n');
+    }
+
+    // Values whose toString() never contains a character COPY would need escaped
+    private static StringBuilder field(StringBuilder row, Object value) {
+        return value == null ? row.append("\\N") : row.append(value);
+    }
+
+    private static StringBuilder text(StringBuilder row, String value) {
+        if (value == null) return row.append("\\N");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> row.append("\\\\");
+                case '\t' -> row.append("\\t");
+                case '\n' -> row.append("\\n");
+                case '\r' -> row.append("\\r");
+                default -> row.append(c);
+            }
+        }
+        return row;
+    }
+}
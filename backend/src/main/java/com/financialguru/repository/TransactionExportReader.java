@@ -0,0 +1,61 @@
+package com.financialguru.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Forward-only read of transactions for exports.
+ *
+ * Filters run in SQL and rows are handed to the callback as they arrive. Inside a transaction
+ * the PostgreSQL driver honours the fetch size with a server-side cursor, so only one fetch
+ * of rows is held in memory however large the export is. Rows come newest first, in the order
+ * of {@code idx_transactions_date_id}.
+ */
+@Repository
+public class TransactionExportReader {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String SELECT =
+        "SELECT t.transaction_date, t.merchant_name, t.category, t.amount, t.type, " +
+        "a.name AS account_name, t.description " +
+        "FROM transactions t LEFT JOIN accounts a ON a.id = t.account_id " +
+        "WHERE t.transaction_date BETWEEN ? AND ?";
+
+    private static final String ORDER = " ORDER BY t.transaction_date DESC, t.id DESC";
+
+    private final JdbcTemplate cursorTemplate;
+
+    public TransactionExportReader(JdbcTemplate jdbcTemplate) {
+        this.cursorTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.cursorTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * Passes each transaction dated {@code from}..{@code to} to {@code handler}. {@code accountId}
+     * and {@code category} (case-insensitive) narrow the rows when given.
+     */
+    @Transactional(readOnly = true)
+    public void forEach(LocalDate from, LocalDate to, UUID accountId, String category, RowCallbackHandler handler) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        List<Object> args = new ArrayList<>(List.of(Date.valueOf(from), Date.valueOf(to)));
+        if (accountId != null) {
+            sql.append(" AND t.account_id = ?");
+            args.add(accountId);
+        }
+        if (category != null && !category.isBlank()) {
+            sql.append(" AND LOWER(t.category) = LOWER(?)");
+            args.add(category);
+        }
+        sql.append(ORDER);
+        cursorTemplate.query(sql.toString(), handler, args.toArray());
+    }
+}
@@ -0,0 +1,74 @@
+package com.financialguru.repository;
+
+import com.financialguru.model.Transaction;
+
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns {@link Transaction#getFingerprint() fingerprints} to the transactions of one statement.
+ *
+ * The natural key is account, date, signed amount in cents, description reduced to lower-case
+ * letters and digits, and reference number. The fingerprint hashes that key together with its
+ * occurrence number within the statement. Two identical coffees on one statement stay
+ * distinct (#1 and #2), while the same pair re-imported from an overlapping statement
+ * collides with them and is dropped by the unique index. Transactions without an
+ * account get no fingerprint and are never deduplicated.
+ *
+ * Keep in step with the backfill in V22__add_transaction_fingerprints.sql. One instance per
+ * statement: occurrence counts carry across chunks of a streamed statement.
+ */
+public final class TransactionFingerprinter {
+
+    private final Map<String, Integer> occurrences = new HashMap<>();
+    private final MessageDigest md5;
+    private final StringBuilder key = new StringBuilder(128);
+
+    public TransactionFingerprinter() {
+        try {
+            md5 = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+
+    public void assign(List<Transaction> transactions) {
+        transactions.forEach(this::assign);
+    }
+
+    public void assign(Transaction t) {
+        if (t.getAccount() == null || t.getAccount().getId() == null
+                || t.getTransactionDate() == null || t.getAmount() == null) {
+            return;
+        }
+        long cents = t.getAmount().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+        boolean credit = t.getType() == Transaction.TransactionType.CREDIT
+            || t.getType() == Transaction.TransactionType.PAYMENT;
+
+        key.setLength(0);
+        key.append(t.getAccount().getId())
+           .append('|').append(t.getTransactionDate().toEpochDay())
+           .append('|').append(credit ? -cents : cents)
+           .append('|');
+        String description = t.getDescription();
+        if (description != null) {
+            for (int i = 0; i < description.length(); i++) {
+                char c = description.charAt(i);
+                if (c >= 'A' && c <= 'Z') key.append((char) (c + ('a' - 'A')));
+                else if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) key.append(c);
+            }
+        }
+        key.append('|');
+        if (t.getReferenceNumber() != null) key.append(t.getReferenceNumber());
+
+        int occurrence = occurrences.merge(key.toString(), 1, Integer::sum);
+        key.append('|').append(occurrence);
+        t.setFingerprint(HexFormat.of().formatHex(md5.digest(key.toString().getBytes(StandardCharsets.UTF_8))));
+    }
+}
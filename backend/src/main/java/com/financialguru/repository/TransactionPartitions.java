@@ -0,0 +1,94 @@
+package com.financialguru.repository;
+
+import com.financialguru.model.Transaction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Makes sure the monthly partitions of {@code transactions} exist before rows are inserted.
+ *
+ * Months already ensured by this process are remembered, so a steady-state ingest costs no
+ * round trip. Missing months are created through {@code ensure_transactions_partition} in a
+ * short transaction of their own, so the locks attaching takes are not held for the rest of
+ * the ingest. A remembered month whose partition has since been detached or dropped is found
+ * when the insert fails; {@link TransactionBulkWriter} then {@link #forget forgets} it, ensures
+ * it again and retries once if a partition was actually missing.
+ *
+ * The primary key is {@code (id, transaction_date)}. Lookups and JPA updates by id alone, as
+ * {@link TransactionRepository#findById} and single edits do, still work but probe every
+ * partition; write paths that have the date pass it (see {@link TransactionBulkWriter#updateFlags}).
+ */
+@Repository
+@Slf4j
+public class TransactionPartitions {
+
+    private static final String LOCK_TIMEOUT = "5s";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+    private final Set<YearMonth> ensured = ConcurrentHashMap.newKeySet();
+
+    public TransactionPartitions(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** Returns how many partitions had to be created. */
+    public int ensureFor(Collection<Transaction> transactions) {
+        Set<YearMonth> missing = new TreeSet<>();
+        for (Transaction t : transactions) {
+            if (t.getTransactionDate() == null) continue;
+            YearMonth month = YearMonth.from(t.getTransactionDate());
+            if (!ensured.contains(month)) missing.add(month);
+        }
+        if (missing.isEmpty()) return 0;
+
+        int created;
+        try {
+            created = requiresNew.execute(status -> {
+                jdbcTemplate.execute("SET LOCAL lock_timeout = '" + LOCK_TIMEOUT + "'");
+                return create(missing);
+            });
+        } catch (PessimisticLockingFailureException e) {
+            // Attaching locks the tables transactions references; if the caller's own transaction
+            // already wrote to them, the side transaction can never get that lock — attach here instead
+            log.info("Creating transactions partitions {} in the ingest transaction: {}", missing, e.getMessage());
+            created = create(missing);
+        }
+        ensured.addAll(missing);
+        return created;
+    }
+
+    /** Makes the next {@link #ensureFor} check the months of these transactions against the database again. */
+    public void forget(Collection<Transaction> transactions) {
+        for (Transaction t : transactions) {
+            if (t.getTransactionDate() != null) ensured.remove(YearMonth.from(t.getTransactionDate()));
+        }
+    }
+
+    private int create(Set<YearMonth> months) {
+        int count = 0;
+        for (YearMonth month : months) {
+            Boolean created = jdbcTemplate.queryForObject(
+                "SELECT ensure_transactions_partition(?)", Boolean.class, Date.valueOf(month.atDay(1)));
+            if (Boolean.TRUE.equals(created)) {
+                log.info("Created transactions partition for {}", month);
+                count++;
+            }
+        }
+        return count;
+    }
+}
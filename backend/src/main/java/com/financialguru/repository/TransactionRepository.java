@@ -1,10 +1,12 @@
 package com.financialguru.repository;
 
+import com.financialguru.model.Account;
 import com.financialguru.model.Transaction;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,7 +18,8 @@ import java.util.UUID;
 import org.springframework.data.domain.Pageable;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, UUID>, JpaSpecificationExecutor<Transaction> {
+public interface TransactionRepository extends JpaRepository<Transaction, UUID>, JpaSpecificationExecutor<Transaction>,
+        TransactionResponseQueries {
 
     Page<Transaction> findByAccountIdOrderByTransactionDateDesc(UUID accountId, Pageable pageable);
 
@@ -127,6 +130,43 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>,
 
     List<Transaction> findByStatementId(UUID statementId);
 
+    // Set-based — no entities are loaded, so nothing is left behind in the persistence context
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Transaction t WHERE t.statement.id = :statementId")
+    int bulkDeleteByStatementId(@Param("statementId") UUID statementId);
+
+    // Rows this statement owns that another statement also listed (see V28 transaction_claims) move
+    // to the oldest such statement; the account is part of the fingerprint, so it stays the same
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        UPDATE transactions t SET statement_id = c.statement_id
+        FROM (SELECT DISTINCT ON (o.fingerprint, o.transaction_date)
+                     o.fingerprint, o.transaction_date, o.statement_id
+              FROM transaction_claims o
+              JOIN transaction_claims mine
+                ON mine.fingerprint = o.fingerprint
+               AND mine.transaction_date = o.transaction_date
+               AND mine.statement_id = :statementId
+              JOIN statements s ON s.id = o.statement_id
+              WHERE o.statement_id <> :statementId
+              ORDER BY o.fingerprint, o.transaction_date, s.created_at, s.id) c
+        WHERE t.statement_id = :statementId
+          AND t.fingerprint = c.fingerprint
+          AND t.transaction_date = c.transaction_date
+        """, nativeQuery = true)
+    int bulkReassignShared(@Param("statementId") UUID statementId);
+
+    @Modifying
+    @Query(value = "DELETE FROM transaction_claims WHERE statement_id = :statementId", nativeQuery = true)
+    int deleteClaimsByStatementId(@Param("statementId") UUID statementId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Transaction t SET t.account = :account WHERE t.statement.id = :statementId")
+    int bulkAssignAccount(@Param("statementId") UUID statementId, @Param("account") Account account);
+
+    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.statement.batchId = :batchId")
+    long countByBatchId(@Param("batchId") UUID batchId);
+
     @Query("""
         SELECT t FROM Transaction t
         WHERE t.type = 'CREDIT'
@@ -215,6 +255,7 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>,
     // Potential duplicates: same amount+merchant on different accounts within N days
     @Query("""
         SELECT t FROM Transaction t
+        LEFT JOIN FETCH t.account
         WHERE t.type = 'DEBIT'
           AND t.transactionDate >= :since
           AND t.isFlagged = false
@@ -226,16 +267,29 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>,
     @Query("SELECT t FROM Transaction t WHERE t.id IN :ids")
     List<Transaction> findAllByIds(@Param("ids") List<UUID> ids);
 
-    // Search transactions
-    @Query("""
-        SELECT t FROM Transaction t
-        WHERE (LOWER(t.merchantName) LIKE LOWER(CONCAT('%', :query, '%'))
-            OR LOWER(t.description) LIKE LOWER(CONCAT('%', :query, '%'))
-            OR LOWER(t.category) LIKE LOWER(CONCAT('%', :query, '%')))
-          AND t.type = 'DEBIT'
-        ORDER BY t.transactionDate DESC
-        """)
-    List<Transaction> searchTransactions(@Param("query") String query, Pageable pageable);
+    // Search transactions — substring or fuzzy (pg_trgm word similarity) on lower-cased merchant,
+    // description and category, best match first. Served by the V25 trigram indexes.
+    // :query is the lower-cased term, :pattern the same term LIKE-escaped. Returns ids in rank
+    // order; load the rows with findResponses.
+    @Query(value = """
+        SELECT t.id FROM transactions t
+        WHERE t.type = 'DEBIT'
+          AND (LOWER(t.merchant_name) LIKE '%' || :pattern || '%'
+            OR LOWER(t.description) LIKE '%' || :pattern || '%'
+            OR LOWER(t.category) LIKE '%' || :pattern || '%'
+            OR :query <% LOWER(t.merchant_name)
+            OR :query <% LOWER(t.description))
+        ORDER BY GREATEST(
+                   word_similarity(:query, COALESCE(LOWER(t.merchant_name), '')),
+                   word_similarity(:query, COALESCE(LOWER(t.description), '')),
+                   word_similarity(:query, COALESCE(LOWER(t.category), ''))) DESC,
+                 t.transaction_date DESC
+        """, nativeQuery = true)
+    List<UUID> searchTransactionIds(
+        @Param("query") String query,
+        @Param("pattern") String pattern,
+        Pageable pageable
+    );
 
     @Query("""
         SELECT COALESCE(SUM(t.amount), 0)
@@ -0,0 +1,23 @@
+package com.financialguru.repository;
+
+import com.financialguru.dto.response.TransactionResponse;
+import com.financialguru.model.Transaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Transaction listings projected straight into {@link TransactionResponse}: one query selects
+ * exactly the response columns, with the account name from a left join, instead of loading
+ * entities whose lazy account is then initialized row by row.
+ */
+public interface TransactionResponseQueries {
+
+    Page<TransactionResponse> findResponses(Specification<Transaction> spec, Pageable pageable);
+
+    /** At most {@code limit} rows in {@code sort} order; {@code limit <= 0} means all. */
+    List<TransactionResponse> findResponses(Specification<Transaction> spec, Sort sort, int limit);
+}
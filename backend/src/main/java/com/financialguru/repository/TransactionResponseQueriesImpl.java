@@ -0,0 +1,76 @@
+package com.financialguru.repository;
+
+import com.financialguru.dto.response.TransactionResponse;
+import com.financialguru.model.Account;
+import com.financialguru.model.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class TransactionResponseQueriesImpl implements TransactionResponseQueries {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<TransactionResponse> findResponses(Specification<Transaction> spec, Pageable pageable) {
+        TypedQuery<TransactionResponse> query = select(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<TransactionResponse> findResponses(Specification<Transaction> spec, Sort sort, int limit) {
+        TypedQuery<TransactionResponse> query = select(spec, sort);
+        if (limit > 0) query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    private TypedQuery<TransactionResponse> select(Specification<Transaction> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionResponse> cq = cb.createQuery(TransactionResponse.class);
+        Root<Transaction> t = cq.from(Transaction.class);
+        Join<Transaction, Account> a = t.join("account", JoinType.LEFT);
+
+        // Argument order must match the TransactionResponse all-args constructor; statement.id
+        // is read from the foreign key column, without a join
+        cq.select(cb.construct(TransactionResponse.class,
+            t.get("id"), a.get("id"), a.get("name"), t.get("statement").get("id"),
+            t.get("transactionDate"), t.get("postDate"), t.get("description"), t.get("merchantName"),
+            t.get("category"), t.get("subcategory"), t.get("amount"), t.get("type"),
+            t.get("referenceNumber"), t.get("isRecurring"), t.get("isFlagged"), t.get("flagReason"),
+            t.get("notes"), t.get("createdAt")));
+
+        Predicate where = spec != null ? spec.toPredicate(t, cq, cb) : null;
+        if (where != null) cq.where(where);
+        if (sort.isSorted()) cq.orderBy(QueryUtils.toOrders(sort, t, cb));
+        return entityManager.createQuery(cq);
+    }
+
+    private long count(Specification<Transaction> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<Transaction> t = cq.from(Transaction.class);
+        cq.select(cb.count(t));
+        Predicate where = spec != null ? spec.toPredicate(t, cq, cb) : null;
+        if (where != null) cq.where(where);
+        return entityManager.createQuery(cq).getSingleResult();
+    }
+}
@@ -6,6 +6,7 @@ import com.financialguru.model.Account;
 import com.financialguru.repository.AccountRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +20,10 @@ import java.util.stream.Collectors;
 public class AccountService {
 
     private final AccountRepository accountRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** Published when an account is created, renamed or deactivated; the search index reloads on commit. */
+    public record AccountChanged(UUID accountId) {}
 
     public List<AccountResponse> getAllAccounts() {
         return accountRepository.findByIsActiveTrueOrderByCreatedAtDesc()
@@ -51,7 +56,9 @@ public class AccountService {
             .rewardsProgram(request.getRewardsProgram())
             .color(request.getColor())
             .build();
-        return AccountResponse.from(accountRepository.save(account));
+        account = accountRepository.save(account);
+        eventPublisher.publishEvent(new AccountChanged(account.getId()));
+        return AccountResponse.from(account);
     }
 
     @Transactional
@@ -75,6 +82,9 @@ public class AccountService {
         if (request.getRewardsProgram() != null) account.setRewardsProgram(request.getRewardsProgram());
         if (request.getColor() != null)          account.setColor(request.getColor());
 
+        if (request.getName() != null || request.getInstitution() != null) {
+            eventPublisher.publishEvent(new AccountChanged(id));
+        }
         return AccountResponse.from(accountRepository.save(account));
     }
 
@@ -84,6 +94,7 @@ public class AccountService {
             .orElseThrow(() -> new RuntimeException("Account not found: " + id));
         account.setIsActive(false);
         accountRepository.save(account);
+        eventPublisher.publishEvent(new AccountChanged(id));
     }
 
     public List<Account> getAccountsWithPromoAprExpiring() {
@@ -7,6 +7,7 @@ import com.financialguru.model.AlertRule;
 import com.financialguru.model.Transaction;
 import com.financialguru.repository.AccountRepository;
 import com.financialguru.repository.AlertRuleRepository;
+import com.financialguru.repository.DailySpendingRollupRepository;
 import com.financialguru.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +29,7 @@ public class AlertRuleService {
 
     private final AlertRuleRepository alertRuleRepository;
     private final TransactionRepository transactionRepository;
+    private final DailySpendingRollupRepository dailySpendingRollupRepository;
     private final AccountRepository accountRepository;
     private final AlertService alertService;
 
@@ -93,7 +95,7 @@ public class AlertRuleService {
                 }
                 case MONTHLY_CATEGORY_SPEND -> {
                     if (rule.getCategory() != null) {
-                        BigDecimal spent = transactionRepository.sumCategorySpending(
+                        BigDecimal spent = dailySpendingRollupRepository.sumCategorySpending(
                                 rule.getCategory(), monthStart, today);
                         if (spent != null && spent.compareTo(rule.getThresholdAmount()) > 0) {
                             triggered = true;
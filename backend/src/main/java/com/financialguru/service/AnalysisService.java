@@ -5,7 +5,9 @@ import com.financialguru.model.AnalysisResult;
 import com.financialguru.model.Statement;
 import com.financialguru.model.Transaction;
 import com.financialguru.repository.AnalysisResultRepository;
+import com.financialguru.repository.SpendingRollupWriter;
 import com.financialguru.repository.StatementRepository;
+import com.financialguru.repository.TransactionBulkWriter;
 import com.financialguru.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +28,8 @@ public class AnalysisService {
     private final AnalysisResultRepository analysisResultRepository;
     private final StatementRepository statementRepository;
     private final TransactionRepository transactionRepository;
+    private final TransactionBulkWriter transactionBulkWriter;
+    private final SpendingRollupWriter spendingRollupWriter;
     private final OllamaService ollamaService;
 
     @Value("${app.ollama.model:llama3.1:13b}")
@@ -99,6 +103,8 @@ public class AnalysisService {
                 Map<String, Map<String, Object>> catById = cats.stream()
                     .collect(Collectors.toMap(c -> (String) c.get("id"), c -> c));
 
+                SpendingRollupWriter.Snapshot before = spendingRollupWriter.snapshot(transactions);
+                List<Transaction> categorized = new ArrayList<>();
                 transactions.forEach(t -> {
                     Map<String, Object> cat = catById.get(t.getId().toString());
                     if (cat != null) {
@@ -107,9 +113,12 @@ public class AnalysisService {
                         if (t.getMerchantName() == null && cat.containsKey("normalizedMerchant")) {
                             t.setMerchantName((String) cat.get("normalizedMerchant"));
                         }
+                        categorized.add(t);
                     }
                 });
-                transactionRepository.saveAll(transactions);
+                // Written with each row's date, so the updates prune to its month partition
+                transactionBulkWriter.updateCategories(categorized);
+                spendingRollupWriter.applyEdits(before);
             }
 
             saveAnalysisResult(statement, AnalysisResult.AnalysisType.CATEGORIZATION, result, processingMs);
@@ -7,6 +7,7 @@ import com.financialguru.model.Subscription;
 import com.financialguru.model.Transaction;
 import com.financialguru.repository.NetWorthSnapshotRepository;
 import com.financialguru.repository.SubscriptionRepository;
+import com.financialguru.repository.DailySpendingRollupRepository;
 import com.financialguru.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +29,7 @@ import java.util.stream.Collectors;
 public class AnnualReviewService {
 
     private final TransactionRepository transactionRepository;
+    private final DailySpendingRollupRepository dailySpendingRollupRepository;
     private final SubscriptionRepository subscriptionRepository;
     private final NetWorthSnapshotRepository netWorthSnapshotRepository;
     private final FinancialProfileService financialProfileService;
@@ -37,7 +39,7 @@ public class AnnualReviewService {
         LocalDate start = LocalDate.of(year, 1, 1);
         LocalDate end = LocalDate.of(year, 12, 31);
 
-        BigDecimal totalSpending = transactionRepository.sumAllSpending(start, end);
+        BigDecimal totalSpending = dailySpendingRollupRepository.sumAllSpending(start, end);
         if (totalSpending == null) totalSpending = BigDecimal.ZERO;
 
         BigDecimal interestPaid = BigDecimal.ZERO;
@@ -70,7 +72,7 @@ public class AnnualReviewService {
                 .subtract(history.get(0).getNetWorth());
         }
 
-        List<Object[]> cats = transactionRepository.findAllCategoryTotals(start, end);
+        List<Object[]> cats = dailySpendingRollupRepository.findAllCategoryTotals(start, end);
         List<Map<String, Object>> catBreakdown = new ArrayList<>();
         for (Object[] row : cats) {
             Map<String, Object> m = new LinkedHashMap<>();
@@ -4,7 +4,7 @@ import com.financialguru.dto.response.BudgetStatusResponse;
 import com.financialguru.model.Alert;
 import com.financialguru.model.Budget;
 import com.financialguru.repository.BudgetRepository;
-import com.financialguru.repository.TransactionRepository;
+import com.financialguru.repository.DailySpendingRollupRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -26,7 +26,7 @@ import java.util.UUID;
 public class BudgetService {
 
     private final BudgetRepository budgetRepository;
-    private final TransactionRepository transactionRepository;
+    private final DailySpendingRollupRepository dailySpendingRollupRepository;
     private final AlertService alertService;
 
     public List<BudgetStatusResponse> getAllBudgetsWithStatus() {
@@ -39,7 +39,7 @@ public class BudgetService {
         List<BudgetStatusResponse> result = new ArrayList<>();
 
         for (Budget b : budgets) {
-            BigDecimal actual = transactionRepository.sumCategorySpending(b.getCategory(), startOfMonth, today);
+            BigDecimal actual = dailySpendingRollupRepository.sumCategorySpending(b.getCategory(), startOfMonth, today);
             if (actual == null) actual = BigDecimal.ZERO;
             BigDecimal pct = b.getMonthlyLimit().compareTo(BigDecimal.ZERO) > 0
                 ? actual.divide(b.getMonthlyLimit(), 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
@@ -95,7 +95,7 @@ public class BudgetService {
         LocalDate startOfMonth = today.withDayOfMonth(1);
 
         for (Budget b : budgetRepository.findByIsActiveTrueOrderByCategoryAsc()) {
-            BigDecimal actual = transactionRepository.sumCategorySpending(b.getCategory(), startOfMonth, today);
+            BigDecimal actual = dailySpendingRollupRepository.sumCategorySpending(b.getCategory(), startOfMonth, today);
             if (actual == null) actual = BigDecimal.ZERO;
             BigDecimal pct = b.getMonthlyLimit().compareTo(BigDecimal.ZERO) > 0
                 ? actual.divide(b.getMonthlyLimit(), 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
@@ -0,0 +1,252 @@
+package com.financialguru.service;
+
+import com.financialguru.dto.response.ImportProgressResponse;
+import com.financialguru.model.ImportBatch;
+import com.financialguru.model.Statement;
+import com.financialguru.repository.ImportBatchRepository;
+import com.financialguru.repository.StatementRepository;
+import com.financialguru.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Imports many statements in one request — any mix of PDFs and ZIP archives of PDFs.
+ * ZIPs are read entry by entry straight off the spooled multipart stream, so an archive
+ * is never held in memory. Each PDF is committed and enqueued on its own, letting the
+ * ingest workers start parsing while the rest of the request is still being unpacked;
+ * parse parallelism is bounded by the worker pool, not by the size of the import.
+ * Decompressed bytes are capped per PDF ({@code app.import.max-entry-size}) and per import
+ * ({@code app.import.max-total-size}); a PDF over either cap is rejected and removed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkImportService {
+
+    private final StatementService statementService;
+    private final ImportBatchRepository importBatchRepository;
+    private final StatementRepository statementRepository;
+    private final TransactionRepository transactionRepository;
+
+    // Guards against ZIP bombs made of thousands of tiny entries
+    @Value("${app.import.max-files:2000}")
+    private int maxFiles;
+
+    // Guard against ZIP bombs that decompress a few entries to huge sizes
+    @Value("${app.import.max-entry-size:64MB}")
+    private DataSize maxEntrySize;
+
+    @Value("${app.import.max-total-size:4GB}")
+    private DataSize maxTotalSize;
+
+    private static class Counts {
+        int files, duplicates, skipped;
+        long bytes;
+        boolean limitReached;
+        // Content hashes ingested by this batch, so a PDF included twice counts as a duplicate
+        final Set<String> hashes = new HashSet<>();
+    }
+
+    /** Thrown by {@link CappedInputStream} when a PDF outgrows its share of the import caps. */
+    private static class TooLargeException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        final boolean total;
+
+        TooLargeException(String message, boolean total) {
+            super(message);
+            this.total = total;
+        }
+    }
+
+    public ImportProgressResponse importFiles(List<MultipartFile> files, UUID accountId) throws IOException {
+        ImportBatch batch = importBatchRepository.save(ImportBatch.builder().build());
+        Counts counts = new Counts();
+
+        for (MultipartFile file : files) {
+            String name = file.getOriginalFilename() == null ? "" : file.getOriginalFilename();
+            try (InputStream in = file.getInputStream()) {
+                importOne(in, name, file.getContentType(), accountId, batch.getId(), counts);
+            }
+        }
+        return finish(batch, counts);
+    }
+
+    /**
+     * Imports a single PDF or ZIP sent as the raw request body. Unlike multipart uploads this
+     * is not bound by {@code spring.servlet.multipart.*}; only the {@code app.import.*} caps apply.
+     */
+    public ImportProgressResponse importBody(InputStream body, String name, String contentType,
+                                             UUID accountId) throws IOException {
+        ImportBatch batch = importBatchRepository.save(ImportBatch.builder().build());
+        Counts counts = new Counts();
+        importOne(body, name == null ? "" : name, contentType, accountId, batch.getId(), counts);
+        return finish(batch, counts);
+    }
+
+    private void importOne(InputStream in, String name, String contentType, UUID accountId, UUID batchId,
+                           Counts counts) throws IOException {
+        if (isZip(name, contentType)) {
+            try (ZipInputStream zip = new ZipInputStream(in)) {
+                ZipEntry entry;
+                // Once a cap is hit, stop instead of inflating the rest of the archive
+                while (!counts.limitReached && (entry = zip.getNextEntry()) != null) {
+                    // Skip folders and macOS resource-fork shadows like __MACOSX/._foo.pdf
+                    if (entry.isDirectory() || !isPdf(entry.getName())
+                            || entry.getName().contains("__MACOSX/")) {
+                        counts.skipped++;
+                        continue;
+                    }
+                    ingest(zip, entry.getName(), accountId, batchId, counts);
+                }
+            }
+        } else if (isPdf(name) || "application/pdf".equals(contentType)) {
+            ingest(in, name, accountId, batchId, counts);
+        } else {
+            counts.skipped++;
+        }
+    }
+
+    private ImportProgressResponse finish(ImportBatch batch, Counts counts) {
+        batch.setFileCount(counts.files);
+        batch.setDuplicateCount(counts.duplicates);
+        batch.setSkippedCount(counts.skipped);
+        importBatchRepository.save(batch);
+        log.info("Bulk import {}: {} PDFs enqueued, {} duplicates, {} skipped",
+            batch.getId(), counts.files - counts.duplicates, counts.duplicates, counts.skipped);
+        return getProgress(batch.getId());
+    }
+
+    public ImportProgressResponse getProgress(UUID batchId) {
+        ImportBatch batch = importBatchRepository.findById(batchId)
+            .orElseThrow(() -> new RuntimeException("Import batch not found: " + batchId));
+
+        int pending = 0, processing = 0, completed = 0, failed = 0;
+        OffsetDateTime lastProcessed = null;
+        for (Object[] row : statementRepository.countByStatusForBatch(batchId)) {
+            int count = ((Number) row[1]).intValue();
+            switch ((Statement.StatementStatus) row[0]) {
+                case PENDING    -> pending = count;
+                case PROCESSING -> processing = count;
+                case COMPLETED  -> completed = count;
+                case FAILED     -> failed = count;
+            }
+            OffsetDateTime processedAt = (OffsetDateTime) row[2];
+            if (processedAt != null && (lastProcessed == null || processedAt.isAfter(lastProcessed))) {
+                lastProcessed = processedAt;
+            }
+        }
+
+        boolean finished = pending == 0 && processing == 0;
+        long transactions = transactionRepository.countByBatchId(batchId);
+        OffsetDateTime end = finished && lastProcessed != null ? lastProcessed : OffsetDateTime.now();
+        double seconds = Duration.between(batch.getCreatedAt(), end).toMillis() / 1000.0;
+
+        return ImportProgressResponse.builder()
+            .batchId(batchId)
+            .totalFiles(batch.getFileCount())
+            .pending(pending)
+            .processing(processing)
+            .completed(completed)
+            .failed(failed)
+            .duplicates(batch.getDuplicateCount())
+            .skipped(batch.getSkippedCount())
+            .transactions(transactions)
+            .transactionsPerSecond(seconds > 0 ? transactions / seconds : 0)
+            .finished(finished)
+            .startedAt(batch.getCreatedAt())
+            .finishedAt(finished ? lastProcessed : null)
+            .build();
+    }
+
+    private void ingest(InputStream in, String name, UUID accountId, UUID batchId, Counts counts) throws IOException {
+        if (counts.files >= maxFiles || counts.bytes >= maxTotalSize.toBytes()) {
+            if (!counts.limitReached) {
+                log.warn("Bulk import {} hit its limit of {} files / {} bytes; skipping the rest",
+                    batchId, maxFiles, maxTotalSize.toBytes());
+            }
+            counts.limitReached = true;
+            counts.skipped++;
+            return;
+        }
+        Statement statement;
+        try {
+            // Each file commits separately (through the service proxy) so workers can start on it immediately
+            statement = statementService.ingestFile(new CappedInputStream(in, counts), name, accountId, batchId);
+        } catch (TooLargeException e) {
+            log.warn("Bulk import {}: rejected {} — {}", batchId, name, e.getMessage());
+            counts.skipped++;
+            counts.limitReached |= e.total;
+            return;
+        }
+        counts.files++;
+        boolean seenInBatch = !counts.hashes.add(statement.getContentHash());
+        if (!batchId.equals(statement.getBatchId()) || seenInBatch) counts.duplicates++;
+    }
+
+    /** Counts the bytes of one PDF and fails once it passes the per-file cap or the batch total. */
+    private class CappedInputStream extends FilterInputStream {
+        private final Counts counts;
+        private long read;
+
+        CappedInputStream(InputStream in, Counts counts) {
+            super(in);
+            this.counts = counts;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            int n = super.read(buf, off, len);
+            if (n > 0) count(n);
+            return n;
+        }
+
+        // The underlying stream stays open: it may be the ZIP with entries still to come
+        @Override
+        public void close() {}
+
+        private void count(int n) throws TooLargeException {
+            read += n;
+            counts.bytes += n;
+            if (read > maxEntrySize.toBytes()) {
+                throw new TooLargeException("larger than " + maxEntrySize.toBytes() + " bytes", false);
+            }
+            if (counts.bytes > maxTotalSize.toBytes()) {
+                throw new TooLargeException("import exceeded " + maxTotalSize.toBytes() + " bytes in total", true);
+            }
+        }
+    }
+
+    private static boolean isZip(String name, String contentType) {
+        return name.toLowerCase().endsWith(".zip")
+            || "application/zip".equals(contentType)
+            || "application/x-zip-compressed".equals(contentType);
+    }
+
+    private static boolean isPdf(String name) {
+        return name.toLowerCase().endsWith(".pdf");
+    }
+}
@@ -0,0 +1,61 @@
+package com.financialguru.service;
+
+import com.financialguru.repository.StatementRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records the content hash of statements ingested before hashes existed, by hashing their
+ * stored upload files in the background after startup. Without it, re-importing a PDF that
+ * was loaded before V20 would not be recognised as a duplicate by
+ * {@link StatementService#ingestFile}. Statements whose file is gone keep a NULL hash.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContentHashBackfill {
+
+    private final StatementRepository statementRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Object[]> unhashed = statementRepository.findUnhashedFiles();
+        if (unhashed.isEmpty()) return;
+
+        long start = System.nanoTime();
+        int hashed = 0;
+        int missing = 0;
+        for (Object[] row : unhashed) {
+            UUID id = (UUID) row[0];
+            File file = row[1] == null ? null : new File((String) row[1]);
+            if (file == null || !file.isFile()) {
+                missing++;
+                continue;
+            }
+            try {
+                String contentHash = PdfExtractionService.sha256(file);
+                // Same lock as ingestFile, so a concurrent upload of these bytes sees the hash
+                Integer updated = transactionTemplate.execute(status -> {
+                    statementRepository.lockContentHash(contentHash);
+                    return statementRepository.setContentHashIfMissing(id, contentHash);
+                });
+                if (updated != null && updated > 0) hashed++;
+            } catch (Exception e) {
+                log.warn("Could not backfill the content hash of statement {}: {}", id, e.getMessage());
+            }
+        }
+        log.info("Backfilled content hashes for {} statement(s) in {} ms ({} without a stored file)",
+            hashed, (System.nanoTime() - start) / 1_000_000, missing);
+    }
+}
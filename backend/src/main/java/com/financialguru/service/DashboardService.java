@@ -9,6 +9,7 @@ import com.financialguru.model.Statement;
 import com.financialguru.repository.AccountRepository;
 import com.financialguru.repository.StatementRepository;
 import com.financialguru.repository.SubscriptionRepository;
+import com.financialguru.repository.DailySpendingRollupRepository;
 import com.financialguru.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +29,7 @@ public class DashboardService {
     private final AccountRepository accountRepository;
     private final StatementRepository statementRepository;
     private final TransactionRepository transactionRepository;
+    private final DailySpendingRollupRepository dailySpendingRollupRepository;
     private final SubscriptionRepository subscriptionRepository;
     private final AlertService alertService;
     private final FinancialProfileService financialProfileService;
@@ -210,7 +212,7 @@ public class DashboardService {
     }
 
     private BigDecimal getGlobalSpending(LocalDate start, LocalDate end) {
-        BigDecimal result = transactionRepository.sumAllSpending(start, end);
+        BigDecimal result = dailySpendingRollupRepository.sumAllSpending(start, end);
         return result != null ? result : BigDecimal.ZERO;
     }
 
@@ -296,7 +298,7 @@ public class DashboardService {
     }
 
     private List<Map<String, Object>> buildCategoryBreakdown(LocalDate start, LocalDate end) {
-        List<Object[]> rows = transactionRepository.findAllCategoryTotals(start, end);
+        List<Object[]> rows = dailySpendingRollupRepository.findAllCategoryTotals(start, end);
         BigDecimal total = rows.stream()
             .map(r -> (BigDecimal) r[1])
             .reduce(BigDecimal.ZERO, BigDecimal::add);
@@ -316,7 +318,7 @@ public class DashboardService {
     }
 
     private List<Map<String, Object>> buildTopMerchants(LocalDate start, LocalDate end) {
-        return transactionRepository.findAllTopMerchants(start, end)
+        return dailySpendingRollupRepository.findAllTopMerchants(start, end)
             .stream()
             .limit(5)
             .map(r -> {
@@ -1,7 +1,7 @@
 package com.financialguru.service;
 
-import com.financialguru.model.Transaction;
-import com.financialguru.repository.TransactionRepository;
+import com.financialguru.repository.DailySpendingRollupRepository;
+import com.financialguru.repository.TransactionExportReader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.pdmodel.PDDocument;
@@ -12,66 +12,78 @@ import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.TextStyle;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ExportService {
 
-    private final TransactionRepository transactionRepository;
+    private static final int CSV_BUFFER = 64 * 1024;
 
-    public byte[] exportTransactionsCSV(LocalDate from, LocalDate to, String accountId, String category) {
-        List<Transaction> transactions;
-        if (accountId != null) {
-            transactions = transactionRepository.findByAccountId(UUID.fromString(accountId));
-            transactions = transactions.stream()
-                    .filter(t -> !t.getTransactionDate().isBefore(from)
-                            && !t.getTransactionDate().isAfter(to))
-                    .collect(Collectors.toList());
-        } else {
-            transactions = transactionRepository.findAll().stream()
-                    .filter(t -> !t.getTransactionDate().isBefore(from)
-                            && !t.getTransactionDate().isAfter(to))
-                    .collect(Collectors.toList());
-        }
-
-        if (category != null && !category.isBlank()) {
-            transactions = transactions.stream()
-                    .filter(t -> category.equalsIgnoreCase(t.getCategory()))
-                    .collect(Collectors.toList());
-        }
+    private final TransactionExportReader transactionExportReader;
+    private final DailySpendingRollupRepository dailySpendingRollupRepository;
 
-        transactions.sort(Comparator.comparing(Transaction::getTransactionDate).reversed());
-
-        StringBuilder sb = new StringBuilder();
-        sb.append("Date,Merchant,Category,Amount,Type,Account,Description\n");
-        for (Transaction t : transactions) {
-            sb.append(escape(t.getTransactionDate().toString())).append(",")
-                    .append(escape(t.getMerchantName())).append(",")
-                    .append(escape(t.getCategory())).append(",")
-                    .append(t.getAmount()).append(",")
-                    .append(t.getType()).append(",")
-                    .append(escape(t.getAccount() != null ? t.getAccount().getName() : "")).append(",")
-                    .append(escape(t.getDescription())).append("\n");
+    /**
+     * Writes the matching transactions to {@code out} as CSV, newest first, gzipped if asked.
+     * Rows are streamed from the database and written as they are read, so memory use does
+     * not depend on the size of the export. {@code out} is not closed.
+     */
+    public void writeTransactionsCSV(LocalDate from, LocalDate to, UUID accountId, String category,
+                                     boolean gzip, OutputStream out) throws IOException {
+        GZIPOutputStream gz = gzip ? new GZIPOutputStream(out, CSV_BUFFER) : null;
+        Writer w = new BufferedWriter(new OutputStreamWriter(gz != null ? gz : out, StandardCharsets.UTF_8), CSV_BUFFER);
+        w.write("Date,Merchant,Category,Amount,Type,Account,Description\n");
+        long[] rows = {0};
+        try {
+            transactionExportReader.forEach(from, to, accountId, category, rs -> {
+                try {
+                    w.write(rs.getDate("transaction_date").toLocalDate().toString());
+                    w.write(',');
+                    w.write(escape(rs.getString("merchant_name")));
+                    w.write(',');
+                    w.write(escape(rs.getString("category")));
+                    w.write(',');
+                    w.write(String.valueOf(rs.getBigDecimal("amount")));
+                    w.write(',');
+                    w.write(String.valueOf(rs.getString("type")));
+                    w.write(',');
+                    w.write(escape(rs.getString("account_name")));
+                    w.write(',');
+                    w.write(escape(rs.getString("description")));
+                    w.write('\n');
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Client went away mid-download; the cursor is closed with the read transaction
+            throw e.getCause();
         }
-        return sb.toString().getBytes(StandardCharsets.UTF_8);
+        w.flush();
+        if (gz != null) gz.finish();
+        log.info("Exported {} transactions ({} to {}){}", rows[0], from, to, gzip ? " gzipped" : "");
     }
 
     private String escape(String val) {
         if (val == null) return "";
-        if (val.contains(",") || val.contains("\"") || val.contains("\n")) {
+        if (val.contains(",") || val.contains("\"") || val.contains("\n") || val.contains("\r")) {
             return "\"" + val.replace("\"", "\"\"") + "\"";
         }
         return val;
@@ -86,9 +98,9 @@ public class ExportService {
             LocalDate end = start.withDayOfMonth(start.lengthOfMonth());
             String monthName = start.getMonth().getDisplayName(TextStyle.FULL, Locale.US);
 
-            BigDecimal totalSpend = transactionRepository.sumAllSpending(start, end);
+            BigDecimal totalSpend = dailySpendingRollupRepository.sumAllSpending(start, end);
             if (totalSpend == null) totalSpend = BigDecimal.ZERO;
-            List<Object[]> cats = transactionRepository.findAllCategoryTotals(start, end);
+            List<Object[]> cats = dailySpendingRollupRepository.findAllCategoryTotals(start, end);
 
             PDType1Font boldFont = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
             PDType1Font regularFont = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
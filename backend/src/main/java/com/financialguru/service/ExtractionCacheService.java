@@ -0,0 +1,168 @@
+package com.financialguru.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content-addressed cache of extracted PDF text, keyed by the file's SHA-256.
+ * Entries are gzipped files on disk; a hit refreshes the file's mtime, and when the
+ * cache grows past its size budget the least-recently-used entries are deleted.
+ * Reprocessing a statement after a parser fix therefore never re-strips or re-OCRs it.
+ */
+@Service
+@Slf4j
+public class ExtractionCacheService {
+
+    // Bump when extraction output changes shape so stale entries are ignored (v1 could hold failed OCR)
+    private static final String FORMAT = "v2";
+    private static final String SUFFIX = ".txt.gz";
+
+    @Value("${app.extraction-cache.enabled:true}")
+    private boolean enabled;
+
+    // Blank = an "extraction-cache" directory next to the upload dir
+    @Value("${app.extraction-cache.dir:}")
+    private String cacheDir;
+
+    @Value("${app.upload.dir:./uploads/statements}")
+    private String uploadDir;
+
+    @Value("${app.extraction-cache.max-size-mb:512}")
+    private long maxSizeMb;
+
+    private Path root;
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    /** Extraction output that is independent of institution detection, which is re-run on every hit. */
+    public record CachedText(String text, int pageCount, boolean ocr) {}
+
+    @PostConstruct
+    void init() throws IOException {
+        if (!enabled) return;
+        root = cacheDir.isBlank()
+            ? Paths.get(uploadDir).toAbsolutePath().normalize().resolveSibling("extraction-cache")
+            : Paths.get(cacheDir);
+        Files.createDirectories(root);
+        try (Stream<Path> files = Files.list(root)) {
+            totalBytes.set(files.filter(p -> p.toString().endsWith(SUFFIX)).mapToLong(this::sizeOf).sum());
+        }
+        log.info("Extraction cache at {} holds {} KB (budget {} MB)", root, totalBytes.get() / 1024, maxSizeMb);
+    }
+
+    public Optional<CachedText> get(String sha256) {
+        if (!enabled) return Optional.empty();
+        Path entry = entryPath(sha256);
+        if (!Files.exists(entry)) return Optional.empty();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(entry)), StandardCharsets.UTF_8))) {
+            // Header line: "<pageCount> <ocr>"
+            String[] header = in.readLine().split(" ");
+            StringBuilder text = new StringBuilder();
+            char[] buf = new char[8192];
+            int n;
+            while ((n = in.read(buf)) > 0) text.append(buf, 0, n);
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            return Optional.of(new CachedText(text.toString(), Integer.parseInt(header[0]), Boolean.parseBoolean(header[1])));
+        } catch (Exception e) {
+            log.warn("Discarding unreadable extraction cache entry {}: {}", entry.getFileName(), e.getMessage());
+            delete(entry);
+            return Optional.empty();
+        }
+    }
+
+    public void put(String sha256, CachedText value) {
+        if (!enabled) return;
+        Path entry = entryPath(sha256);
+        try {
+            Path tmp = Files.createTempFile(root, sha256, ".tmp");
+            try (Writer out = new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(tmp)), StandardCharsets.UTF_8)) {
+                out.write(value.pageCount() + " " + value.ocr() + "\n");
+                out.write(value.text());
+            }
+            long previous = Files.exists(entry) ? sizeOf(entry) : 0;
+            // Atomic rename so concurrent readers never see a half-written entry
+            Files.move(tmp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            totalBytes.addAndGet(sizeOf(entry) - previous);
+        } catch (IOException e) {
+            log.warn("Failed to write extraction cache entry for {}: {}", sha256, e.getMessage());
+            return;
+        }
+        if (totalBytes.get() > maxSizeMb * 1024 * 1024) evict();
+    }
+
+    /** Deletes least-recently-used entries until the cache is back under 90% of its budget. */
+    private synchronized void evict() {
+        long target = maxSizeMb * 1024 * 1024 * 9 / 10;
+        if (totalBytes.get() <= target) return;
+        List<Path> byAge;
+        try (Stream<Path> files = Files.list(root)) {
+            byAge = files.filter(p -> p.toString().endsWith(SUFFIX))
+                .sorted(Comparator.comparing(this::lastModified))
+                .toList();
+        } catch (IOException e) {
+            log.warn("Extraction cache eviction failed: {}", e.getMessage());
+            return;
+        }
+        int evicted = 0;
+        for (Path p : byAge) {
+            if (totalBytes.get() <= target) break;
+            if (delete(p)) evicted++;
+        }
+        log.info("Evicted {} extraction cache entries; cache now {} KB", evicted, totalBytes.get() / 1024);
+    }
+
+    private boolean delete(Path entry) {
+        long size = sizeOf(entry);
+        try {
+            if (Files.deleteIfExists(entry)) {
+                totalBytes.addAndGet(-size);
+                return true;
+            }
+        } catch (IOException e) {
+            log.debug("Could not delete cache entry {}: {}", entry.getFileName(), e.getMessage());
+        }
+        return false;
+    }
+
+    private Path entryPath(String sha256) {
+        return root.resolve(FORMAT + "-" + sha256 + SUFFIX);
+    }
+
+    private long sizeOf(Path p) {
+        try {
+            return Files.size(p);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private FileTime lastModified(Path p) {
+        try {
+            return Files.getLastModifiedTime(p);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
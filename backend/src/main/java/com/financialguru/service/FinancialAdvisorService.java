@@ -5,6 +5,7 @@ import com.financialguru.model.FinancialProfile;
 import com.financialguru.model.Subscription;
 import com.financialguru.repository.AccountRepository;
 import com.financialguru.repository.SubscriptionRepository;
+import com.financialguru.repository.DailySpendingRollupRepository;
 import com.financialguru.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +26,7 @@ public class FinancialAdvisorService {
     private final AccountRepository accountRepository;
     private final SubscriptionRepository subscriptionRepository;
     private final TransactionRepository transactionRepository;
+    private final DailySpendingRollupRepository dailySpendingRollupRepository;
     private final FinancialProfileService financialProfileService;
 
     public String chat(String userMessage) {
@@ -143,7 +145,7 @@ public class FinancialAdvisorService {
         }
 
         // Spending by category
-        List<Object[]> catTotals = transactionRepository.findAllCategoryTotals(threeMonthsAgo, today);
+        List<Object[]> catTotals = dailySpendingRollupRepository.findAllCategoryTotals(threeMonthsAgo, today);
         if (!catTotals.isEmpty()) {
             ctx.append("SPENDING (3-month monthly average):\n");
             BigDecimal totalSpend = BigDecimal.ZERO;
@@ -8,6 +8,7 @@ import com.financialguru.dto.response.BrainReportResponse.ScenarioResult;
 import com.financialguru.model.Account;
 import com.financialguru.model.FinancialProfile;
 import com.financialguru.repository.AccountRepository;
+import com.financialguru.repository.DailySpendingRollupRepository;
 import com.financialguru.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +27,7 @@ public class FinancialBrainService {
 
     private final FinancialProfileService financialProfileService;
     private final TransactionRepository transactionRepository;
+    private final DailySpendingRollupRepository dailySpendingRollupRepository;
     private final AccountRepository accountRepository;
     private final OllamaService ollamaService;
 
@@ -68,7 +70,7 @@ public class FinancialBrainService {
 
         // ─── 3-month average spend ────────────────────────────────
         LocalDate threeMonthsAgo = LocalDate.now().minusMonths(3);
-        BigDecimal totalSpend3M = transactionRepository.sumAllSpending(threeMonthsAgo, LocalDate.now());
+        BigDecimal totalSpend3M = dailySpendingRollupRepository.sumAllSpending(threeMonthsAgo, LocalDate.now());
         BigDecimal monthlySpend = totalSpend3M != null && totalSpend3M.compareTo(BigDecimal.ZERO) > 0
             ? totalSpend3M.divide(BigDecimal.valueOf(3), 2, RoundingMode.HALF_UP)
             : BigDecimal.valueOf(3000);
@@ -305,7 +307,7 @@ public class FinancialBrainService {
 
     private List<CategoryInsight> buildCategoryInsights(BigDecimal monthlyIncome) {
         LocalDate threeMonthsAgo = LocalDate.now().minusMonths(3);
-        List<Object[]> rows = transactionRepository.findAllCategoryTotals(threeMonthsAgo, LocalDate.now());
+        List<Object[]> rows = dailySpendingRollupRepository.findAllCategoryTotals(threeMonthsAgo, LocalDate.now());
         List<CategoryInsight> insights = new ArrayList<>();
         double income = monthlyIncome.doubleValue();
         for (Object[] row : rows) {
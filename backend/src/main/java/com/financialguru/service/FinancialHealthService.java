@@ -7,7 +7,7 @@ import com.financialguru.model.Alert;
 import com.financialguru.model.FinancialProfile;
 import com.financialguru.repository.AccountRepository;
 import com.financialguru.repository.AlertRepository;
-import com.financialguru.repository.TransactionRepository;
+import com.financialguru.repository.DailySpendingRollupRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -27,7 +27,7 @@ public class FinancialHealthService {
     private static final BigDecimal BD100 = BigDecimal.valueOf(100);
 
     private final AccountRepository accountRepository;
-    private final TransactionRepository transactionRepository;
+    private final DailySpendingRollupRepository dailySpendingRollupRepository;
     private final AlertRepository alertRepository;
     private final FinancialProfileService financialProfileService;
 
@@ -64,7 +64,7 @@ public class FinancialHealthService {
             .map(Account::getCurrentBalance)
             .reduce(ZERO, BigDecimal::add);
         LocalDate sixMonthsAgo = today.minusMonths(6);
-        BigDecimal totalSpend6M = transactionRepository.sumAllSpending(sixMonthsAgo, today);
+        BigDecimal totalSpend6M = dailySpendingRollupRepository.sumAllSpending(sixMonthsAgo, today);
         BigDecimal avgMonthlySpend = totalSpend6M != null && totalSpend6M.compareTo(ZERO) > 0
             ? totalSpend6M.divide(BigDecimal.valueOf(6), 2, RoundingMode.HALF_UP)
             : BigDecimal.valueOf(3000);
@@ -83,7 +83,7 @@ public class FinancialHealthService {
         BigDecimal savingsRate = ZERO;
         if (profile.getMonthlyIncome() != null && profile.getMonthlyIncome().compareTo(ZERO) > 0) {
             LocalDate startOfMonth = today.withDayOfMonth(1);
-            BigDecimal thisMonthSpend = transactionRepository.sumAllSpending(startOfMonth, today);
+            BigDecimal thisMonthSpend = dailySpendingRollupRepository.sumAllSpending(startOfMonth, today);
             if (thisMonthSpend == null) thisMonthSpend = ZERO;
             savingsRate = profile.getMonthlyIncome().subtract(thisMonthSpend)
                 .divide(profile.getMonthlyIncome(), 4, RoundingMode.HALF_UP)
@@ -103,11 +103,11 @@ public class FinancialHealthService {
         // Compare last month's spending to the 3-month average (months 2-4 ago)
         LocalDate startOld = today.minusMonths(4).withDayOfMonth(1);
         LocalDate endOld   = today.minusMonths(1).withDayOfMonth(1).minusDays(1);
-        BigDecimal spend3M = transactionRepository.sumAllSpending(startOld, endOld);
+        BigDecimal spend3M = dailySpendingRollupRepository.sumAllSpending(startOld, endOld);
         if (spend3M == null) spend3M = ZERO;
         BigDecimal avgMonthly3M = spend3M.compareTo(ZERO) > 0
             ? spend3M.divide(BigDecimal.valueOf(3), 2, RoundingMode.HALF_UP) : ZERO;
-        BigDecimal spendRecent = transactionRepository.sumAllSpending(
+        BigDecimal spendRecent = dailySpendingRollupRepository.sumAllSpending(
             today.minusMonths(1).withDayOfMonth(1), today);
         if (spendRecent == null) spendRecent = ZERO;
         int debtScore;
@@ -132,8 +132,8 @@ public class FinancialHealthService {
         LocalDate startOfThisMonth = today.withDayOfMonth(1);
         LocalDate startOfLastMonth = today.minusMonths(1).withDayOfMonth(1);
         LocalDate endOfLastMonth = startOfThisMonth.minusDays(1);
-        BigDecimal thisMonth = transactionRepository.sumAllSpending(startOfThisMonth, today);
-        BigDecimal lastMonth = transactionRepository.sumAllSpending(startOfLastMonth, endOfLastMonth);
+        BigDecimal thisMonth = dailySpendingRollupRepository.sumAllSpending(startOfThisMonth, today);
+        BigDecimal lastMonth = dailySpendingRollupRepository.sumAllSpending(startOfLastMonth, endOfLastMonth);
         if (thisMonth == null) thisMonth = ZERO;
         if (lastMonth == null) lastMonth = ZERO;
         int discScore = 10;
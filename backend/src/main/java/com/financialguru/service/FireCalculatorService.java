@@ -2,7 +2,7 @@ package com.financialguru.service;
 
 import com.financialguru.dto.response.FireCalculatorResponse;
 import com.financialguru.model.FinancialProfile;
-import com.financialguru.repository.TransactionRepository;
+import com.financialguru.repository.DailySpendingRollupRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -20,7 +20,7 @@ import java.util.Random;
 public class FireCalculatorService {
 
     private final FinancialProfileService financialProfileService;
-    private final TransactionRepository transactionRepository;
+    private final DailySpendingRollupRepository dailySpendingRollupRepository;
 
     public FireCalculatorResponse calculate(
             BigDecimal age,
@@ -35,7 +35,7 @@ public class FireCalculatorService {
         // Calculate actual monthly expenses from last 3 months if not provided
         if (monthlyExpenses == null || monthlyExpenses.compareTo(BigDecimal.ZERO) == 0) {
             LocalDate threeMonthsAgo = LocalDate.now().minusMonths(3);
-            BigDecimal spend3M = transactionRepository.sumAllSpending(threeMonthsAgo, LocalDate.now());
+            BigDecimal spend3M = dailySpendingRollupRepository.sumAllSpending(threeMonthsAgo, LocalDate.now());
             monthlyExpenses = spend3M != null
                     ? spend3M.divide(BigDecimal.valueOf(3), 2, RoundingMode.HALF_UP)
                     : BigDecimal.valueOf(3000);
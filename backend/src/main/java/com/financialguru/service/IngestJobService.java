@@ -0,0 +1,224 @@
+package com.financialguru.service;
+
+import com.financialguru.model.IngestJob;
+import com.financialguru.model.Statement;
+import com.financialguru.repository.IngestJobRepository;
+import com.financialguru.repository.StatementRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Durable statement ingestion queue backed by the ingest_jobs table.
+ * Jobs are enqueued inside the caller's transaction, so a job only becomes
+ * visible to workers once the statement row it points at has committed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IngestJobService {
+
+    private final IngestJobRepository ingestJobRepository;
+    private final StatementRepository statementRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.ingest.lease-seconds:900}")
+    private long leaseSeconds;
+
+    @Value("${app.ingest.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.ingest.retry-backoff-seconds:30}")
+    private long retryBackoffSeconds;
+
+    /** Published on enqueue; workers listen after commit so they wake without waiting for the next poll. */
+    public record IngestJobEnqueued(UUID statementId) {}
+
+    /** Thrown into a worker's write transaction when its lease has passed to another worker. */
+    public static class LeaseLostException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public LeaseLostException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Queues the statement for a fresh run. A job that is RUNNING is left with its worker and
+     * only flagged, so it goes back to the queue once that run finishes (see {@link #complete}).
+     */
+    @Transactional
+    public IngestJob enqueue(UUID statementId) {
+        IngestJob job = ingestJobRepository.lockByStatementId(statementId)
+            .orElseGet(() -> IngestJob.builder().statementId(statementId).build());
+        if (job.getStatus() == IngestJob.JobStatus.RUNNING) {
+            job.setRerunRequested(true);
+            log.info("Statement {} is being processed by {} — will re-run once it finishes",
+                statementId, job.getLockedBy());
+            return ingestJobRepository.save(job);
+        }
+        requeue(job);
+        IngestJob saved = ingestJobRepository.save(job);
+        eventPublisher.publishEvent(new IngestJobEnqueued(statementId));
+        log.debug("Enqueued ingest job for statement {}", statementId);
+        return saved;
+    }
+
+    private void requeue(IngestJob job) {
+        job.setStatus(IngestJob.JobStatus.QUEUED);
+        job.setAttempts(0);
+        job.setAvailableAt(OffsetDateTime.now());
+        job.setLeaseExpiresAt(null);
+        job.setLockedBy(null);
+        job.setLastError(null);
+        job.setRerunRequested(false);
+    }
+
+    /**
+     * Claims the next runnable job for {@code workerId}, taking a lease on it and
+     * moving its statement to PROCESSING. Jobs whose previous worker died on the
+     * final attempt are failed here rather than handed out again.
+     */
+    @Transactional
+    public Optional<IngestJob> claimNext(String workerId) {
+        while (true) {
+            Optional<IngestJob> next = ingestJobRepository.lockNextClaimable();
+            if (next.isEmpty()) return Optional.empty();
+
+            IngestJob job = next.get();
+            if (job.getAttempts() >= maxAttempts) {
+                markFailed(job, "Worker lease expired after " + job.getAttempts() + " attempt(s)");
+                continue;
+            }
+
+            job.setStatus(IngestJob.JobStatus.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setLeaseExpiresAt(OffsetDateTime.now().plusSeconds(leaseSeconds));
+            job.setLockedBy(workerId);
+            ingestJobRepository.save(job);
+
+            statementRepository.findById(job.getStatementId()).ifPresent(s -> {
+                s.setStatus(Statement.StatementStatus.PROCESSING);
+                s.setErrorMessage(null);
+                statementRepository.save(s);
+            });
+            log.info("Worker {} claimed statement {} (attempt {}/{})",
+                workerId, job.getStatementId(), job.getAttempts(), maxAttempts);
+            return Optional.of(job);
+        }
+    }
+
+    /**
+     * Extends the lease {@code workerId} holds on a running job. False when the lease has
+     * been lost (expired and re-claimed, or the statement was deleted).
+     */
+    @Transactional
+    public boolean renewLease(UUID jobId, String workerId) {
+        return ingestJobRepository.renewLease(jobId, workerId, OffsetDateTime.now().plusSeconds(leaseSeconds)) > 0;
+    }
+
+    /**
+     * Row-locks the statement's job and checks {@code workerId} still holds it, throwing
+     * {@link LeaseLostException} otherwise. Called at the start of every transaction that writes
+     * a run's results: the lock keeps the job from being re-claimed until that transaction ends,
+     * so a worker whose lease expired can never commit transactions, rollup deltas or alerts.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void verifyLease(UUID statementId, String workerId) {
+        boolean held = ingestJobRepository.lockByStatementId(statementId)
+            .filter(j -> j.getStatus() == IngestJob.JobStatus.RUNNING && workerId.equals(j.getLockedBy()))
+            .isPresent();
+        if (!held) {
+            throw new LeaseLostException("Worker " + workerId + " no longer holds the ingest job for statement " + statementId);
+        }
+    }
+
+    /** Records a successful run by {@code workerId}; ignored if the worker no longer holds the job. */
+    @Transactional
+    public void complete(UUID jobId, String workerId) {
+        ownedJob(jobId, workerId).ifPresent(job -> {
+            if (rerunIfRequested(job)) return;
+            job.setStatus(IngestJob.JobStatus.DONE);
+            job.setLeaseExpiresAt(null);
+            job.setLockedBy(null);
+            job.setLastError(null);
+            ingestJobRepository.save(job);
+        });
+    }
+
+    /**
+     * Records a failed attempt by {@code workerId}: re-queues with linear backoff, or fails the
+     * statement once attempts are exhausted. Ignored if the worker no longer holds the job.
+     */
+    @Transactional
+    public void fail(UUID jobId, String workerId, String error) {
+        ownedJob(jobId, workerId).ifPresent(job -> {
+            if (rerunIfRequested(job)) return;
+            if (job.getAttempts() >= maxAttempts) {
+                markFailed(job, error);
+                return;
+            }
+            job.setStatus(IngestJob.JobStatus.QUEUED);
+            job.setAvailableAt(OffsetDateTime.now().plusSeconds(retryBackoffSeconds * job.getAttempts()));
+            job.setLeaseExpiresAt(null);
+            job.setLockedBy(null);
+            job.setLastError(error);
+            ingestJobRepository.save(job);
+
+            statementRepository.findById(job.getStatementId()).ifPresent(s -> {
+                s.setStatus(Statement.StatementStatus.PENDING);
+                s.setErrorMessage("Attempt " + job.getAttempts() + " failed, retrying: " + error);
+                statementRepository.save(s);
+            });
+            log.warn("Statement {} attempt {}/{} failed — retrying: {}",
+                job.getStatementId(), job.getAttempts(), maxAttempts, error);
+        });
+    }
+
+    // The job, row-locked, if workerId still holds its lease; a stale worker's result is dropped
+    private Optional<IngestJob> ownedJob(UUID jobId, String workerId) {
+        Optional<IngestJob> job = ingestJobRepository.lockById(jobId)
+            .filter(j -> j.getStatus() == IngestJob.JobStatus.RUNNING && workerId.equals(j.getLockedBy()));
+        if (job.isEmpty()) {
+            log.warn("Worker {} no longer holds ingest job {} — discarding its result", workerId, jobId);
+        }
+        return job;
+    }
+
+    private boolean rerunIfRequested(IngestJob job) {
+        if (!Boolean.TRUE.equals(job.getRerunRequested())) return false;
+        requeue(job);
+        ingestJobRepository.save(job);
+        statementRepository.findById(job.getStatementId()).ifPresent(s -> {
+            s.setStatus(Statement.StatementStatus.PENDING);
+            statementRepository.save(s);
+        });
+        eventPublisher.publishEvent(new IngestJobEnqueued(job.getStatementId()));
+        log.info("Statement {} re-queued: reprocessing was requested during the previous run", job.getStatementId());
+        return true;
+    }
+
+    private void markFailed(IngestJob job, String error) {
+        job.setStatus(IngestJob.JobStatus.FAILED);
+        job.setLeaseExpiresAt(null);
+        job.setLockedBy(null);
+        job.setLastError(error);
+        ingestJobRepository.save(job);
+
+        statementRepository.findById(job.getStatementId()).ifPresent(s -> {
+            s.setStatus(Statement.StatementStatus.FAILED);
+            s.setErrorMessage(error);
+            s.setProcessedAt(OffsetDateTime.now());
+            statementRepository.save(s);
+        });
+        log.error("Statement {} failed after {} attempt(s): {}", job.getStatementId(), job.getAttempts(), error);
+    }
+}
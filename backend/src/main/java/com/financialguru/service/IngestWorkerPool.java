@@ -0,0 +1,156 @@
+package com.financialguru.service;
+
+import com.financialguru.model.IngestJob;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.net.InetAddress;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed pool of worker threads that drain the ingest_jobs queue. Each worker claims
+ * one job at a time via {@link IngestJobService#claimNext}, so throughput scales with
+ * {@code app.ingest.workers} on one node and with the number of backend replicas.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IngestWorkerPool {
+
+    private final IngestJobService ingestJobService;
+    private final StatementService statementService;
+
+    @Value("${app.ingest.workers:2}")
+    private int workerCount;
+
+    @Value("${app.ingest.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${app.ingest.lease-seconds:900}")
+    private long leaseSeconds;
+
+    // Released once per local enqueue so an idle worker picks the job up immediately
+    private final Semaphore wakeups = new Semaphore(0);
+    private volatile boolean running;
+    private ExecutorService executor;
+    // Renews the lease of every in-flight job well before it can expire
+    private ScheduledExecutorService heartbeat;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        String host = hostName();
+        AtomicInteger seq = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workerCount,
+            r -> new Thread(r, "ingest-worker-" + seq.incrementAndGet()));
+        heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ingest-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            executor.submit(() -> runWorker(host + "/" + Thread.currentThread().getName()));
+        }
+        log.info("Started {} ingest worker(s) on {}", workerCount, host);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnqueued(IngestJobService.IngestJobEnqueued event) {
+        wakeups.release();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (executor == null) return;
+        heartbeat.shutdownNow();
+        // In-flight jobs stop renewing their lease and are re-claimed by another worker once it expires
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void runWorker(String workerId) {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                Optional<IngestJob> claimed = ingestJobService.claimNext(workerId);
+                if (claimed.isEmpty()) {
+                    wakeups.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                    continue;
+                }
+                process(claimed.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Ingest worker {} poll failed: {}", workerId, e.getMessage());
+                sleepQuietly();
+            }
+        }
+    }
+
+    private void process(IngestJob job) {
+        String workerId = job.getLockedBy();
+        long period = Math.max(1, leaseSeconds / 3);
+        ScheduledFuture<?> renewal = heartbeat.scheduleAtFixedRate(
+            () -> renewLease(job, workerId), period, period, TimeUnit.SECONDS);
+        try {
+            statementService.processStatement(job.getStatementId(), workerId);
+            renewal.cancel(false);
+            ingestJobService.complete(job.getId(), workerId);
+        } catch (IngestJobService.LeaseLostException e) {
+            // Nothing from this run was written; the worker that re-claimed the job owns the statement now
+            renewal.cancel(false);
+            log.warn("Abandoning statement {}: {}", job.getStatementId(), e.getMessage());
+        } catch (Exception e) {
+            renewal.cancel(false);
+            log.error("Failed to process statement {}: {}", job.getStatementId(), e.getMessage(), e);
+            ingestJobService.fail(job.getId(), workerId, e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+    }
+
+    private void renewLease(IngestJob job, String workerId) {
+        boolean held;
+        try {
+            held = ingestJobService.renewLease(job.getId(), workerId);
+        } catch (Exception e) {
+            // Keep renewing: one failed heartbeat leaves two thirds of the lease to go
+            log.warn("Lease renewal for statement {} failed: {}", job.getStatementId(), e.getMessage());
+            return;
+        }
+        if (!held) {
+            log.warn("Worker {} lost its lease on statement {}; its result will be discarded",
+                workerId, job.getStatementId());
+            // Throwing ends the periodic renewal
+            throw new CancellationException("Lease lost");
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollIntervalMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown-host";
+        }
+    }
+}
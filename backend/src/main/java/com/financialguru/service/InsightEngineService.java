@@ -7,6 +7,7 @@ import com.financialguru.model.Transaction;
 import com.financialguru.repository.AccountRepository;
 import com.financialguru.repository.InsightRepository;
 import com.financialguru.repository.SubscriptionRepository;
+import com.financialguru.repository.DailySpendingRollupRepository;
 import com.financialguru.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +32,7 @@ public class InsightEngineService {
 
     private final InsightRepository insightRepository;
     private final TransactionRepository transactionRepository;
+    private final DailySpendingRollupRepository dailySpendingRollupRepository;
     private final SubscriptionRepository subscriptionRepository;
     private final AccountRepository accountRepository;
 
@@ -64,13 +66,13 @@ public class InsightEngineService {
         LocalDate startLastMonth = today.minusMonths(1).withDayOfMonth(1);
         LocalDate endLastMonth = startThisMonth.minusDays(1);
 
-        List<Object[]> thisMonthMerchants = transactionRepository.findAllTopMerchants(startThisMonth, today);
+        List<Object[]> thisMonthMerchants = dailySpendingRollupRepository.findAllTopMerchants(startThisMonth, today);
         List<Insight> insights = new ArrayList<>();
 
         for (Object[] row : thisMonthMerchants) {
             String merchant = (String) row[0];
             BigDecimal thisAmount = (BigDecimal) row[1];
-            BigDecimal lastAmount = transactionRepository.sumMerchantSpending(merchant, startLastMonth, endLastMonth);
+            BigDecimal lastAmount = dailySpendingRollupRepository.sumMerchantSpending(merchant, startLastMonth, endLastMonth);
             if (lastAmount == null || lastAmount.compareTo(BigDecimal.ZERO) == 0) continue;
             BigDecimal change = thisAmount.subtract(lastAmount)
                 .divide(lastAmount, 4, RoundingMode.HALF_UP)
@@ -97,7 +99,7 @@ public class InsightEngineService {
     private List<Insight> detectDuplicateCrossCard() {
         LocalDate today = LocalDate.now();
         LocalDate startOfMonth = today.withDayOfMonth(1);
-        List<Object[]> merchants = transactionRepository.findAllTopMerchants(startOfMonth, today);
+        List<Object[]> merchants = dailySpendingRollupRepository.findAllTopMerchants(startOfMonth, today);
         List<Insight> insights = new ArrayList<>();
 
         for (Object[] row : merchants) {
@@ -136,9 +138,9 @@ public class InsightEngineService {
         BigDecimal lastYearTotal = BigDecimal.ZERO;
 
         for (Subscription sub : subs) {
-            BigDecimal lastY = transactionRepository.sumMerchantSpending(
+            BigDecimal lastY = dailySpendingRollupRepository.sumMerchantSpending(
                 sub.getMerchantName(), lastYearStart, lastYearEnd);
-            BigDecimal thisY = transactionRepository.sumMerchantSpending(
+            BigDecimal thisY = dailySpendingRollupRepository.sumMerchantSpending(
                 sub.getMerchantName(), ytdStart, today);
             if (lastY != null) lastYearTotal = lastYearTotal.add(lastY);
             if (thisY != null) thisYearTotal = thisYearTotal.add(thisY);
@@ -194,13 +196,13 @@ public class InsightEngineService {
         LocalDate startLastYear = today.minusYears(1).withDayOfMonth(1);
         LocalDate endLastYear = startLastYear.withDayOfMonth(startLastYear.lengthOfMonth());
 
-        List<Object[]> categories = transactionRepository.findAllCategoryTotals(startThisMonth, today);
+        List<Object[]> categories = dailySpendingRollupRepository.findAllCategoryTotals(startThisMonth, today);
         List<Insight> insights = new ArrayList<>();
 
         for (Object[] row : categories) {
             String category = (String) row[0];
             BigDecimal thisMonthAmt = (BigDecimal) row[1];
-            BigDecimal lastYearAmt = transactionRepository.sumCategorySpending(
+            BigDecimal lastYearAmt = dailySpendingRollupRepository.sumCategorySpending(
                 category, startLastYear, endLastYear);
             if (lastYearAmt == null || lastYearAmt.compareTo(BigDecimal.ZERO) == 0) continue;
             BigDecimal change = thisMonthAmt.subtract(lastYearAmt)
@@ -233,8 +235,8 @@ public class InsightEngineService {
         List<Insight> insights = new ArrayList<>();
 
         for (String cat : utilityCategories) {
-            BigDecimal thisMonth = transactionRepository.sumCategorySpending(cat, startThisMonth, today);
-            BigDecimal last3M = transactionRepository.sumCategorySpending(
+            BigDecimal thisMonth = dailySpendingRollupRepository.sumCategorySpending(cat, startThisMonth, today);
+            BigDecimal last3M = dailySpendingRollupRepository.sumCategorySpending(
                 cat, threeMonthsAgo, startThisMonth.minusDays(1));
             if (thisMonth == null || thisMonth.compareTo(BigDecimal.ZERO) == 0) continue;
             if (last3M == null || last3M.compareTo(BigDecimal.ZERO) == 0) continue;
@@ -284,8 +286,8 @@ public class InsightEngineService {
         BigDecimal dailyIncomeThis = incomeThisYear.divide(BigDecimal.valueOf(daysThisYear), 4, java.math.RoundingMode.HALF_UP);
         BigDecimal dailyIncomeLast = incomeLastYear.divide(BigDecimal.valueOf(daysLastYear), 4, java.math.RoundingMode.HALF_UP);
 
-        BigDecimal spendThisYear = safe(transactionRepository.sumAllSpending(thisYearStart, today));
-        BigDecimal spendLastYear = safe(transactionRepository.sumAllSpending(lastYearStart, lastYearEnd));
+        BigDecimal spendThisYear = safe(dailySpendingRollupRepository.sumAllSpending(thisYearStart, today));
+        BigDecimal spendLastYear = safe(dailySpendingRollupRepository.sumAllSpending(lastYearStart, lastYearEnd));
         if (spendLastYear.compareTo(BigDecimal.ZERO) == 0) return List.of();
 
         BigDecimal dailySpendThis = spendThisYear.divide(BigDecimal.valueOf(daysThisYear), 4, java.math.RoundingMode.HALF_UP);
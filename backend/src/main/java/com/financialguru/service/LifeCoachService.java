@@ -6,7 +6,7 @@ import com.financialguru.model.LifeGuidance;
 import com.financialguru.model.LifeProfile;
 import com.financialguru.repository.AccountRepository;
 import com.financialguru.repository.LifeGuidanceRepository;
-import com.financialguru.repository.TransactionRepository;
+import com.financialguru.repository.DailySpendingRollupRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -32,7 +32,7 @@ public class LifeCoachService {
     private final GeminiService geminiService;
     private final OllamaService ollamaService;
     private final AccountRepository accountRepository;
-    private final TransactionRepository transactionRepository;
+    private final DailySpendingRollupRepository dailySpendingRollupRepository;
 
     public LifeGuidanceResponse getAllGuidance() {
         List<LifeGuidance> all = lifeGuidanceRepository.findByIsDismissedFalseOrderByGeneratedAtDesc();
@@ -224,7 +224,7 @@ public class LifeCoachService {
 
             // Rough savings rate from last 3 months (income vs spending, derived from transactions, as %)
             LocalDate since = LocalDate.now().minusMonths(3);
-            BigDecimal totalSpend = transactionRepository.sumAllSpending(since, LocalDate.now());
+            BigDecimal totalSpend = dailySpendingRollupRepository.sumAllSpending(since, LocalDate.now());
             if (totalSpend == null) totalSpend = BigDecimal.ZERO;
 
             // Checking balance as proxy for cash on hand
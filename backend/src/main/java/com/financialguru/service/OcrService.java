@@ -0,0 +1,272 @@
+package com.financialguru.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tesseract OCR for image-only statements.
+ *
+ * Pages are rendered to grayscale on the calling thread (PDFRenderer is not
+ * thread-safe) and piped straight into tesseract's stdin — no temp files. A
+ * bounded number of pages are in flight at once, which caps both concurrent
+ * tesseract processes and the number of rendered images held in memory.
+ * Every page is first tried at a low DPI; only pages whose mean word confidence
+ * falls below the threshold are re-rendered and re-run at the high DPI.
+ */
+@Service
+@Slf4j
+public class OcrService {
+
+    // Tesseract binary — checked in order
+    private static final String[] TESSERACT_PATHS = {
+        "/opt/homebrew/bin/tesseract",  // Apple Silicon Mac
+        "/usr/local/bin/tesseract",     // Intel Mac
+        "tesseract"                     // fallback: PATH
+    };
+
+    @Value("${app.ocr.low-dpi:150}")
+    private int lowDpi;
+
+    @Value("${app.ocr.high-dpi:300}")
+    private int highDpi;
+
+    // Mean word confidence (0-100) below which a page is retried at high DPI
+    @Value("${app.ocr.min-confidence:70}")
+    private double minConfidence;
+
+    @Value("${app.ocr.max-in-flight:0}")
+    private int maxInFlight;
+
+    // Discovery result is cached once found; a miss is re-probed so installing tesseract needs no restart
+    private volatile String tesseractPath;
+
+    private ExecutorService ocrPool;
+    private Semaphore inFlight;
+
+    private record PageResult(String text, double confidence, boolean failed) {
+        static PageResult failure() {
+            return new PageResult("", 0, true);
+        }
+    }
+
+    /**
+     * OCR text of a document. {@code failedPages} counts pages that could not be rendered or
+     * recognised and contributed no text; a result with failures is incomplete and may be
+     * different on a retry.
+     */
+    public record OcrResult(String text, int failedPages) {
+        public boolean complete() {
+            return failedPages == 0;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        int slots = maxInFlight > 0 ? maxInFlight : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        ocrPool = Executors.newFixedThreadPool(slots, r -> {
+            Thread t = new Thread(r, "ocr-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        inFlight = new Semaphore(slots);
+        maxInFlight = slots;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ocrPool.shutdownNow();
+    }
+
+    public OcrResult ocr(PDDocument doc) {
+        String tesseract = findTesseract();
+        if (tesseract == null) {
+            throw new RuntimeException(
+                "This PDF has no text layer and Tesseract OCR is not installed. " +
+                "Install it with: brew install tesseract");
+        }
+
+        PDFRenderer renderer = new PDFRenderer(doc);
+        int pages = doc.getNumberOfPages();
+        log.info("Running OCR on {} page(s) using {} ({} in flight, {} DPI first pass)",
+            pages, tesseract, maxInFlight, lowDpi);
+        long start = System.nanoTime();
+
+        List<Future<PageResult>> firstPass = new ArrayList<>(pages);
+        for (int pageNum = 0; pageNum < pages; pageNum++) {
+            firstPass.add(submitPage(renderer, tesseract, pageNum, lowDpi));
+        }
+
+        PageResult[] results = new PageResult[pages];
+        List<Integer> escalate = new ArrayList<>();
+        for (int pageNum = 0; pageNum < pages; pageNum++) {
+            results[pageNum] = await(firstPass.get(pageNum), pageNum, pages);
+            if (highDpi > lowDpi && results[pageNum].confidence() < minConfidence) escalate.add(pageNum);
+        }
+
+        if (!escalate.isEmpty()) {
+            log.info("Re-running {} low-confidence page(s) at {} DPI", escalate.size(), highDpi);
+            List<Future<PageResult>> secondPass = new ArrayList<>(escalate.size());
+            for (int pageNum : escalate) {
+                secondPass.add(submitPage(renderer, tesseract, pageNum, highDpi));
+            }
+            for (int i = 0; i < escalate.size(); i++) {
+                int pageNum = escalate.get(i);
+                PageResult retry = await(secondPass.get(i), pageNum, pages);
+                if (!retry.failed() && (results[pageNum].failed() || retry.confidence() >= results[pageNum].confidence())) {
+                    results[pageNum] = retry;
+                }
+            }
+        }
+
+        StringBuilder text = new StringBuilder();
+        int failed = 0;
+        for (PageResult r : results) {
+            if (r.failed()) failed++;
+            if (!r.text().isBlank()) text.append(r.text()).append("\n");
+        }
+        log.info("OCR complete: {} total chars across {} pages in {} ms ({} page(s) failed)",
+            text.length(), pages, (System.nanoTime() - start) / 1_000_000, failed);
+        return new OcrResult(text.toString(), failed);
+    }
+
+    /**
+     * Renders on the caller's thread, then hands the image to the pool. Blocks while
+     * all in-flight slots are taken so at most {@code maxInFlight} images are alive.
+     */
+    private Future<PageResult> submitPage(PDFRenderer renderer, String tesseract, int pageNum, int dpi) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for an OCR slot", e);
+        }
+        BufferedImage image;
+        try {
+            image = renderer.renderImageWithDPI(pageNum, dpi, ImageType.GRAY);
+        } catch (Exception e) {
+            inFlight.release();
+            log.error("OCR render failed on page {}: {}", pageNum + 1, e.getMessage());
+            return CompletableFuture.completedFuture(PageResult.failure());
+        }
+        return ocrPool.submit(() -> {
+            try {
+                return runTesseract(tesseract, image, pageNum);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private PageResult await(Future<PageResult> future, int pageNum, int pages) {
+        try {
+            PageResult r = future.get();
+            log.debug("OCR page {}/{}: {} chars, confidence {}",
+                pageNum + 1, pages, r.text().length(), String.format("%.1f", r.confidence()));
+            return r;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted during OCR", e);
+        } catch (ExecutionException e) {
+            log.error("OCR failed on page {}: {}", pageNum + 1, e.getCause().getMessage());
+            return PageResult.failure();
+        }
+    }
+
+    /**
+     * Runs: tesseract stdin stdout --psm 6 -l eng tsv
+     * psm 6 = assume a single uniform block of text (good for statements).
+     * TSV output carries per-word confidence; text is rebuilt line by line from it.
+     */
+    private PageResult runTesseract(String tesseract, BufferedImage image, int pageNum) throws Exception {
+        Process process = new ProcessBuilder(
+            tesseract, "stdin", "stdout",
+            "--psm", "6",
+            "-l", "eng",
+            "tsv"
+        ).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+
+        // Tesseract reads all of stdin before writing anything, so write-then-read cannot deadlock
+        try (OutputStream stdin = process.getOutputStream()) {
+            ImageIO.write(image, "PNG", stdin);
+        }
+
+        StringBuilder text = new StringBuilder();
+        double confSum = 0;
+        int words = 0;
+        String lineKey = null;
+        try (BufferedReader out = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            out.readLine(); // header
+            String row;
+            while ((row = out.readLine()) != null) {
+                // level page block par line word left top width height conf text
+                String[] cols = row.split("\t", 12);
+                if (cols.length < 12 || !"5".equals(cols[0]) || cols[11].isBlank()) continue;
+                String key = cols[2] + ":" + cols[3] + ":" + cols[4];
+                if (!key.equals(lineKey)) {
+                    if (lineKey != null) text.append('\n');
+                    lineKey = key;
+                } else {
+                    text.append(' ');
+                }
+                text.append(cols[11]);
+                double conf = Double.parseDouble(cols[10]);
+                if (conf >= 0) {
+                    confSum += conf;
+                    words++;
+                }
+            }
+        }
+
+        int exit = process.waitFor();
+        if (exit != 0) {
+            log.warn("OCR page {} returned exit code {}", pageNum + 1, exit);
+            return PageResult.failure();
+        }
+        return new PageResult(text.toString(), words == 0 ? 0 : confSum / words, false);
+    }
+
+    private String findTesseract() {
+        String cached = tesseractPath;
+        if (cached != null) return cached;
+        for (String path : TESSERACT_PATHS) {
+            File f = new File(path);
+            if (path.equals("tesseract") || f.exists()) {
+                try {
+                    new ProcessBuilder(path, "--version")
+                        .redirectErrorStream(true)
+                        .start()
+                        .waitFor();
+                    tesseractPath = path;
+                    return path;
+                } catch (Exception ignored) {}
+            }
+        }
+        return null;
+    }
+}
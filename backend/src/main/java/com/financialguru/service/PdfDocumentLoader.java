@@ -0,0 +1,170 @@
+package com.financialguru.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.io.RandomAccessReadMemoryMappedFile;
+import org.apache.pdfbox.io.RandomAccessStreamCache;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Opens statement PDFs with a bounded heap footprint.
+ *
+ * Input is memory-mapped, so the file's bytes sit in the OS page cache instead of on the
+ * heap, and any stream PDFBox has to buffer spills to a scratch file once a document goes
+ * past {@code app.pdf.load.max-main-memory-mb}. On top of that, each extraction has to be
+ * {@link #admit admitted} against a global budget before it opens anything. Its working set
+ * is estimated from the file size, and extractions wait while the budget is fully committed.
+ */
+@Service
+@Slf4j
+public class PdfDocumentLoader {
+
+    private static final long MB = 1024 * 1024;
+
+    // A MappedByteBuffer is int-indexed; bigger files are read through a buffer instead
+    private static final long MAX_MAPPED_BYTES = Integer.MAX_VALUE;
+
+    @Value("${app.pdf.load.memory-mapped:true}")
+    private boolean memoryMapped;
+
+    // Per document: buffered streams beyond this go to a scratch file
+    @Value("${app.pdf.load.max-main-memory-mb:16}")
+    private long maxMainMemoryMb;
+
+    @Value("${app.pdf.load.scratch-dir:${java.io.tmpdir}/financial-guru-pdf}")
+    private String scratchDir;
+
+    // Shared by all concurrent extractions; 0 = a quarter of the max heap
+    @Value("${app.pdf.memory.budget-mb:0}")
+    private int budgetMb;
+
+    // Estimated working set = base + factor × file size (parsed objects, decoded content, text)
+    @Value("${app.pdf.memory.base-mb:16}")
+    private int baseMb;
+
+    @Value("${app.pdf.memory.size-factor:4}")
+    private double sizeFactor;
+
+    // Past this the extraction fails and the ingest job retries later, instead of holding its lease
+    @Value("${app.pdf.memory.admission-timeout-seconds:300}")
+    private long admissionTimeoutSeconds;
+
+    private Semaphore budget;
+    private RandomAccessStreamCache.StreamCacheCreateFunction streamCache;
+
+    @PostConstruct
+    void init() throws IOException {
+        if (budgetMb <= 0) {
+            budgetMb = (int) Math.max(64, Runtime.getRuntime().maxMemory() / MB / 4);
+        }
+        budget = new Semaphore(budgetMb, true);
+
+        Path dir = Path.of(scratchDir);
+        Files.createDirectories(dir);
+        streamCache = MemoryUsageSetting.setupMixed(maxMainMemoryMb * MB).setTempDir(dir.toFile()).streamCache;
+        log.info("PDF loading: {} input, {} MB in memory per document then scratch files in {}, {} MB shared budget",
+            memoryMapped ? "memory-mapped" : "buffered", maxMainMemoryMb, dir, budgetMb);
+    }
+
+    /**
+     * A reservation against the shared budget for one or more handles on the same file,
+     * released on close. The first handle of an extraction is covered by {@link #admit}; the
+     * extra handles page-parallel work opens are covered by {@link #tryAdmitHandles}.
+     */
+    public final class Admission implements AutoCloseable {
+        private final int permits;
+        private final int handles;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Admission(int permits, int handles) {
+            this.permits = permits;
+            this.handles = handles;
+        }
+
+        public int megabytes() {
+            return permits;
+        }
+
+        /** How many open handles on the file this reservation covers. */
+        public int handles() {
+            return handles;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) budget.release(permits);
+        }
+    }
+
+    /**
+     * Blocks until the estimated working set of {@code pdfFile} fits in the shared budget. A file
+     * whose estimate exceeds the whole budget is admitted alone once everything else has drained.
+     */
+    public Admission admit(File pdfFile) throws IOException {
+        int permits = estimateWorkingSetMb(pdfFile.length());
+        long start = System.nanoTime();
+        try {
+            if (!budget.tryAcquire(permits, admissionTimeoutSeconds, TimeUnit.SECONDS)) {
+                throw new IOException("PDF memory budget busy for " + admissionTimeoutSeconds + "s — "
+                    + pdfFile.getName() + " needs " + permits + " of " + budgetMb + " MB");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for PDF memory budget");
+        }
+        long waitedMs = (System.nanoTime() - start) / 1_000_000;
+        if (waitedMs > 1000) {
+            log.info("Admitted {} ({} MB) after waiting {} ms for the PDF memory budget",
+                pdfFile.getName(), permits, waitedMs);
+        }
+        return new Admission(permits, 1);
+    }
+
+    /**
+     * Reserves budget for up to {@code handles} extra handles on a file whose first handle is
+     * already admitted, without waiting: as many as fit right now are covered, possibly none.
+     * Under memory pressure page-parallel work therefore runs on fewer handles rather than
+     * stalling or overcommitting the budget.
+     */
+    public Admission tryAdmitHandles(File pdfFile, int handles) {
+        int perHandle = estimateWorkingSetMb(pdfFile.length());
+        for (int n = handles; n > 0; n--) {
+            if (budget.tryAcquire(n * perHandle)) return new Admission(n * perHandle, n);
+        }
+        return new Admission(0, 0);
+    }
+
+    int estimateWorkingSetMb(long fileBytes) {
+        long estimate = baseMb + (long) Math.ceil(sizeFactor * fileBytes / MB);
+        return (int) Math.min(budgetMb, Math.max(1, estimate));
+    }
+
+    /** Opens {@code pdfFile} with the configured input mode and scratch-file spill. */
+    public PDDocument load(File pdfFile) throws IOException {
+        RandomAccessRead input = memoryMapped && pdfFile.length() <= MAX_MAPPED_BYTES
+            ? new RandomAccessReadMemoryMappedFile(pdfFile)
+            : new RandomAccessReadBufferedFile(pdfFile);
+        try {
+            // The document owns the input from here and closes it with itself
+            return Loader.loadPDF(input, streamCache);
+        } catch (IOException | RuntimeException e) {
+            input.close();
+            throw e;
+        }
+    }
+}
@@ -5,22 +5,51 @@ import com.financialguru.model.Statement;
 import com.financialguru.model.Transaction;
 import com.financialguru.parser.BankStatementParser;
 import com.financialguru.parser.GenericPdfParser;
+import com.financialguru.parser.InstitutionDetector;
+import com.financialguru.parser.StatementSinkException;
+import com.financialguru.parser.StatementTable;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
 import org.apache.pdfbox.pdmodel.interactive.form.PDField;
-import org.apache.pdfbox.rendering.PDFRenderer;
 import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import technology.tabula.ObjectExtractor;
+import technology.tabula.Page;
+import technology.tabula.PageIterator;
+import technology.tabula.RectangularTextContainer;
+import technology.tabula.Table;
+import technology.tabula.extractors.BasicExtractionAlgorithm;
+import technology.tabula.extractors.SpreadsheetExtractionAlgorithm;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -30,27 +59,350 @@ public class PdfExtractionService {
     // Minimum meaningful character count — anything below this means the PDF has no text layer
     private static final int MIN_TEXT_CHARS = 50;
 
-    // Tesseract binary — checked in order
-    private static final String[] TESSERACT_PATHS = {
-        "/opt/homebrew/bin/tesseract",  // Apple Silicon Mac
-        "/usr/local/bin/tesseract",     // Intel Mac
-        "tesseract"                     // fallback: PATH
-    };
-
     private final List<BankStatementParser> parsers;
     private final GenericPdfParser genericPdfParser;
+    private final OcrService ocrService;
+    private final ExtractionCacheService extractionCache;
+    private final InstitutionDetector institutionDetector;
+    private final PdfDocumentLoader pdfLoader;
+
+    @Value("${app.pdf.parallel.enabled:true}")
+    private boolean parallelEnabled;
+
+    // Documents shorter than this are stripped on the calling thread — re-opening isn't worth it
+    @Value("${app.pdf.parallel.min-pages:8}")
+    private int parallelMinPages;
+
+    // Shared across all concurrent extractions so total stripping CPU stays bounded
+    @Value("${app.pdf.parallel.threads:0}")
+    private int parallelThreads;
+
+    // Column-aware Tabula pass over text-layer PDFs; parsers consume its rows before falling back to text
+    @Value("${app.pdf.tables.enabled:false}")
+    private boolean tablesEnabled;
+
+    @Value("${app.pdf.streaming.enabled:true}")
+    private boolean streamingEnabled;
+
+    // Statements at least this long are parsed page window by page window instead of as one string
+    @Value("${app.pdf.streaming.min-pages:200}")
+    private int streamingMinPages;
+
+    @Value("${app.pdf.streaming.window-pages:10}")
+    private int streamingWindowPages;
+
+    // Stripped windows buffered ahead of the parser; the stripper blocks once this many are waiting
+    @Value("${app.pdf.streaming.queue-windows:4}")
+    private int streamingQueueWindows;
+
+    // Concurrent stream producers; a stream beyond this waits for a free producer before its first window
+    @Value("${app.pdf.streaming.max-streams:${app.ingest.workers:2}}")
+    private int streamingMaxStreams;
 
-    public List<Transaction> extractTransactions(File pdfFile, Statement statement, Account account) {
-        String text = extractText(pdfFile);
-        String institution = detectInstitution(text);
-        log.info("Detected institution: {} for file: {}", institution, pdfFile.getName());
+    private ExecutorService stripPool;
+    private ExecutorService streamPool;
 
-        BankStatementParser parser = parsers.stream()
+    @PostConstruct
+    void initPools() {
+        int threads = parallelThreads > 0 ? parallelThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        stripPool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "pdf-strip-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        parallelThreads = threads;
+
+        AtomicInteger streamSeq = new AtomicInteger();
+        streamPool = Executors.newFixedThreadPool(Math.max(1, streamingMaxStreams), r -> {
+            Thread t = new Thread(r, "pdf-stream-" + streamSeq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdownPools() {
+        stripPool.shutdownNow();
+        // Interrupted producers close their document, release its admission and fail their stream
+        for (Runnable queued : streamPool.shutdownNow()) {
+            if (queued instanceof Producer producer) producer.abandon();
+        }
+    }
+
+    /**
+     * Everything derived from a single pass over a PDF. Produced once per file by
+     * {@link #extract(File)} and threaded through account matching, parser selection
+     * and account-info extraction so the document is never loaded or stripped twice.
+     */
+    public record ExtractionResult(String text, String institution, double institutionConfidence,
+                                   int pageCount, boolean ocr, String sha256, List<StatementTable> tables) {}
+
+    /**
+     * Page text of one large PDF, handed to the parser window by window. The first window is
+     * stripped up front (it decides institution and header fields); the rest are stripped on a
+     * producer thread from the shared stream pool into a bounded queue, so the stripper never runs more than
+     * {@code app.pdf.streaming.queue-windows} windows ahead of the consumer. Single consumer;
+     * closing it stops the stripper after the window in progress.
+     */
+    public static final class PageStream implements Iterator<String>, AutoCloseable {
+
+        // Identity-compared end marker — never a real window
+        private static final String END = new String();
+
+        private final String head;
+        private final String institution;
+        private final double institutionConfidence;
+        private final int pageCount;
+        private final String sha256;
+        private final BlockingQueue<String> queue;
+        private volatile IOException failure;
+        private volatile boolean closed;
+        private String pending;
+        private String last;
+        private boolean headTaken;
+
+        private PageStream(String head, InstitutionDetector.Detection detection, int pageCount,
+                           String sha256, int capacity) {
+            this.head = head;
+            this.institution = detection.institution();
+            this.institutionConfidence = detection.confidence();
+            this.pageCount = pageCount;
+            this.sha256 = sha256;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        public String head() { return head; }
+        /** The most recently consumed window — statements print their closing summaries last. */
+        public String tail() { return last; }
+        public String institution() { return institution; }
+        public double institutionConfidence() { return institutionConfidence; }
+        public int pageCount() { return pageCount; }
+        public String sha256() { return sha256; }
+
+        @Override
+        public boolean hasNext() {
+            if (!headTaken) return true;
+            if (pending == null) {
+                try {
+                    pending = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new UncheckedIOException(new InterruptedIOException("Interrupted waiting for PDF pages"));
+                }
+            }
+            if (pending == END && failure != null) throw new UncheckedIOException(failure);
+            return pending != END;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            if (!headTaken) {
+                headTaken = true;
+                last = head;
+            } else {
+                last = pending;
+                pending = null;
+            }
+            return last;
+        }
+
+        // Producer side: false once the consumer has gone away
+        private boolean offer(String window) throws InterruptedException {
+            if (closed) return false;
+            queue.put(window);
+            return !closed;
+        }
+
+        // Producer side, last call: publishes END behind the queued windows, or, once the stripping
+        // has failed, in place of them, so a consumer blocked in hasNext() always wakes up
+        private void finish() {
+            if (failure == null) {
+                try {
+                    queue.put(END);
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failure = new InterruptedIOException("Interrupted handing over the last PDF pages");
+                }
+            }
+            // Single producer: nothing refills the queue between the clear and the offer
+            do {
+                queue.clear();
+            } while (!queue.offer(END));
+        }
+
+        // Frees a stripper blocked on a full queue; it stops at its next offer
+        @Override
+        public void close() {
+            closed = true;
+            queue.clear();
+        }
+    }
+
+    /**
+     * The result of {@link #open}: a {@link PageStream} for a document long enough to stream,
+     * otherwise the finished in-memory extraction. Exactly one of the two is set.
+     */
+    public record Opened(PageStream stream, ExtractionResult extraction) {}
+
+    /**
+     * Loads {@code pdfFile} once and decides how to read it. Documents of at least
+     * {@code app.pdf.streaming.min-pages} pages with a text layer come back as a stream (see
+     * {@code app.pdf.streaming.*}); everything else is extracted from the same loaded document
+     * and admission, as {@link #extract} would. A cached extraction is served without loading
+     * the file at all. Streamed text bypasses the extraction cache and the table pass, both of
+     * which need the whole document in memory.
+     */
+    public Opened open(File pdfFile) {
+        String sha256 = sha256(pdfFile);
+        Optional<ExtractionResult> cached = fromCache(pdfFile, sha256);
+        if (cached.isPresent()) return new Opened(null, cached.get());
+
+        PdfDocumentLoader.Admission admission = null;
+        PDDocument doc = null;
+        try {
+            admission = pdfLoader.admit(pdfFile);
+            doc = pdfLoader.load(pdfFile);
+            int pageCount = doc.getNumberOfPages();
+            if (!streamingEnabled || pageCount < streamingMinPages) {
+                return new Opened(null, extractLoaded(pdfFile, doc, sha256));
+            }
+
+            int headPages = Math.min(pageCount, streamingWindowPages);
+            String head = stripRange(doc, 1, headPages);
+            if (head.trim().length() < MIN_TEXT_CHARS) {
+                log.info("{} has no text layer on its first {} pages — not streaming", pdfFile.getName(), headPages);
+                return new Opened(null, extractLoaded(pdfFile, doc, sha256));
+            }
+
+            InstitutionDetector.Detection detection = institutionDetector.detect(head);
+            PageStream stream = new PageStream(head, detection, pageCount, sha256,
+                Math.max(1, streamingQueueWindows));
+            PDDocument owned = doc;
+            PdfDocumentLoader.Admission held = admission;
+            streamPool.execute(new Producer(pdfFile, owned, held, headPages + 1, stream));
+            // The producer task owns both from here on
+            doc = null;
+            admission = null;
+            log.info("Streaming {} ({} pages, {}-page windows, institution {})",
+                pdfFile.getName(), pageCount, streamingWindowPages, detection.institution());
+            return new Opened(stream, null);
+        } catch (IOException e) {
+            log.error("Failed to extract text from PDF: {}", e.getMessage());
+            throw new RuntimeException("PDF text extraction failed", e);
+        } finally {
+            closeQuietly(doc);
+            if (admission != null) admission.close();
+        }
+    }
+
+    // A stream's stripping task. Owns (and closes) the document and its admission; a task the pool
+    // drops on shutdown before it started is abandoned instead, which fails its stream
+    private final class Producer implements Runnable {
+        private final File pdfFile;
+        private final PDDocument doc;
+        private final PdfDocumentLoader.Admission admission;
+        private final int firstPage;
+        private final PageStream stream;
+
+        Producer(File pdfFile, PDDocument doc, PdfDocumentLoader.Admission admission, int firstPage, PageStream stream) {
+            this.pdfFile = pdfFile;
+            this.doc = doc;
+            this.admission = admission;
+            this.firstPage = firstPage;
+            this.stream = stream;
+        }
+
+        @Override
+        public void run() {
+            produceWindows(pdfFile, doc, admission, firstPage, stream);
+        }
+
+        void abandon() {
+            closeQuietly(doc);
+            admission.close();
+            stream.failure = new InterruptedIOException("Shut down before stripping " + pdfFile.getName());
+            stream.finish();
+        }
+    }
+
+    // Runs on the stream pool
+    private void produceWindows(File pdfFile, PDDocument doc, PdfDocumentLoader.Admission admission,
+                                int firstPage, PageStream stream) {
+        long start = System.nanoTime();
+        int pageCount = doc.getNumberOfPages();
+        try {
+            for (int from = firstPage; from <= pageCount; from += streamingWindowPages) {
+                int to = Math.min(pageCount, from + streamingWindowPages - 1);
+                String window = stripRange(doc, from, to);
+                // Form field values go after the last page, as in extract()
+                if (to == pageCount) window = appendAcroFormFields(doc, window);
+                if (!stream.offer(window)) return;
+            }
+            log.info("Stripped {} pages of {} in {} ms", pageCount, pdfFile.getName(),
+                (System.nanoTime() - start) / 1_000_000);
+        } catch (InterruptedException e) {
+            // The stream pool is shutting down; the consumer must not wait for windows that never come
+            Thread.currentThread().interrupt();
+            stream.failure = new InterruptedIOException("Interrupted stripping " + pdfFile.getName());
+        } catch (IOException | RuntimeException e) {
+            stream.failure = e instanceof IOException io ? io : new IOException(e);
+        } finally {
+            closeQuietly(doc);
+            admission.close();
+        }
+        stream.finish();
+    }
+
+    private static void closeQuietly(PDDocument doc) {
+        if (doc == null) return;
+        try {
+            doc.close();
+        } catch (IOException e) {
+            log.debug("Could not close PDF: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Parses a {@link PageStream} into {@code sink} as pages arrive. Account metadata is read
+     * from the first and last windows, where statements print it. Returns the transaction count.
+     */
+    public int streamTransactions(PageStream pages, Statement statement, Account account,
+                                  Consumer<Transaction> sink) {
+        BankStatementParser parser = parserFor(pages.institution());
+        int count;
+        try {
+            count = parser.parseStream(pages.head(), pages, statement, account, sink);
+        } catch (StatementSinkException e) {
+            throw e.getCause();
+        }
+        if (account != null) {
+            parser.extractAccountInfo(pages.head() + "\n" + pages.tail(), account);
+        }
+        return count;
+    }
+
+    private BankStatementParser parserFor(String institution) {
+        return parsers.stream()
             .filter(p -> p.supports(institution))
             .findFirst()
             .orElse(genericPdfParser);
+    }
+
+    public List<Transaction> extractTransactions(ExtractionResult extraction, Statement statement, Account account) {
+        String text = extraction.text();
+        BankStatementParser parser = parserFor(extraction.institution());
 
-        List<Transaction> transactions = parser.parse(text, statement, account);
+        // Table rows first when we have them — fall back to line parsing if the parser can't use them
+        List<Transaction> transactions = List.of();
+        if (!extraction.tables().isEmpty()) {
+            transactions = parser.parseTables(text, extraction.tables(), statement, account);
+        }
+        if (transactions.isEmpty()) {
+            transactions = parser.parse(text, statement, account);
+        }
 
         // Extract account-level metadata (APR, promo APR, etc.) if we have an account
         if (account != null) {
@@ -60,112 +412,232 @@ public class PdfExtractionService {
         return transactions;
     }
 
-    public String extractText(File pdfFile) {
-        try (PDDocument doc = Loader.loadPDF(pdfFile)) {
-            // ── 1. Try native text extraction (sorted by position for multi-column layout) ──
-            PDFTextStripper stripper = new PDFTextStripper();
-            stripper.setSortByPosition(true);
-            String text = stripper.getText(doc);
+    public ExtractionResult extract(File pdfFile) {
+        String sha256 = sha256(pdfFile);
+        Optional<ExtractionResult> cached = fromCache(pdfFile, sha256);
+        if (cached.isPresent()) return cached.get();
 
-            // ── 1b. Append AcroForm field values (some PDFs store values in form fields) ─
-            text = appendAcroFormFields(doc, text);
+        try {
+            PdfDocumentLoader.Admission admission = pdfLoader.admit(pdfFile);
+            try (PDDocument doc = pdfLoader.load(pdfFile)) {
+                return extractLoaded(pdfFile, doc, sha256);
+            } finally {
+                admission.close();
+            }
+        } catch (IOException e) {
+            log.error("Failed to extract text from PDF: {}", e.getMessage());
+            throw new RuntimeException("PDF text extraction failed", e);
+        }
+    }
 
-            if (text != null && text.trim().length() >= MIN_TEXT_CHARS) {
-                log.info("Extracted {} chars via PDFBox text layer", text.trim().length());
-                return text;
+    // Same bytes always yield the same text — skip loading, stripping and OCR entirely
+    private Optional<ExtractionResult> fromCache(File pdfFile, String sha256) {
+        Optional<ExtractionCacheService.CachedText> cached = extractionCache.get(sha256);
+        if (cached.isEmpty()) return Optional.empty();
+        ExtractionCacheService.CachedText c = cached.get();
+        InstitutionDetector.Detection detection = institutionDetector.detect(c.text());
+        log.info("Extraction cache hit for {} ({} chars, institution {})",
+            pdfFile.getName(), c.text().length(), detection.institution());
+        List<StatementTable> tables = List.of();
+        if (tablesEnabled && !c.ocr()) {
+            try {
+                PdfDocumentLoader.Admission admission = pdfLoader.admit(pdfFile);
+                try (PDDocument doc = pdfLoader.load(pdfFile)) {
+                    tables = extractTables(pdfFile, doc);
+                } finally {
+                    admission.close();
+                }
+            } catch (IOException e) {
+                log.warn("Table extraction failed for {}: {}", pdfFile.getName(), e.getMessage());
             }
+        }
+        return Optional.of(new ExtractionResult(c.text(), detection.institution(), detection.confidence(),
+            c.pageCount(), c.ocr(), sha256, tables));
+    }
+
+    // The caller holds the admission for doc
+    private ExtractionResult extractLoaded(File pdfFile, PDDocument doc, String sha256) throws IOException {
+        int pageCount = doc.getNumberOfPages();
+        boolean ocr = false;
+        // Only a result that would come out the same on every run is worth caching
+        boolean cacheable = true;
+
+        // ── 1. Try native text extraction (sorted by position for multi-column layout) ──
+        String text = stripText(pdfFile, doc);
 
+        // ── 1b. Append AcroForm field values (some PDFs store values in form fields) ─
+        text = appendAcroFormFields(doc, text);
+
+        if (text != null && text.trim().length() >= MIN_TEXT_CHARS) {
+            log.info("Extracted {} chars via PDFBox text layer", text.trim().length());
+        } else {
             // ── 2. Image-only PDF — fall back to Tesseract OCR ──────────────
             log.info("PDF has no text layer ({} chars). Attempting OCR with Tesseract...",
                 text == null ? 0 : text.trim().length());
-            return extractTextWithOcr(doc);
+            OcrService.OcrResult result = ocrService.ocr(doc);
+            text = result.text();
+            ocr = true;
+            if (!result.complete()) {
+                log.warn("OCR failed on {} of {} page(s) of {} — not caching the extraction",
+                    result.failedPages(), pageCount, pdfFile.getName());
+                cacheable = false;
+            }
+        }
 
-        } catch (IOException e) {
-            log.error("Failed to extract text from PDF: {}", e.getMessage());
-            throw new RuntimeException("PDF text extraction failed", e);
+        // Too little text usually means a failed extraction; leave it to be retried next time
+        if (cacheable && text.trim().length() >= MIN_TEXT_CHARS) {
+            extractionCache.put(sha256, new ExtractionCacheService.CachedText(text, pageCount, ocr));
         }
+
+        // Tabula needs a text layer; OCR output only exists as lines
+        List<StatementTable> tables = tablesEnabled && !ocr ? extractTables(pdfFile, doc) : List.of();
+
+        InstitutionDetector.Detection detection = institutionDetector.detect(text);
+        log.info("Detected institution: {} (confidence {}) for file: {} ({} pages)",
+            detection.institution(), detection.confidence(), pdfFile.getName(), pageCount);
+        return new ExtractionResult(text, detection.institution(), detection.confidence(),
+            pageCount, ocr, sha256, tables);
     }
 
-    private String extractTextWithOcr(PDDocument doc) {
-        String tesseract = findTesseract();
-        if (tesseract == null) {
-            throw new RuntimeException(
-                "This PDF has no text layer and Tesseract OCR is not installed. " +
-                "Install it with: brew install tesseract");
+    /**
+     * Strips the text layer in page order. Long documents are split into contiguous
+     * page ranges that are stripped concurrently (see {@link #perPageRange}).
+     */
+    private String stripText(File pdfFile, PDDocument doc) throws IOException {
+        long start = System.nanoTime();
+        List<String> ranges = perPageRange(pdfFile, doc, PdfExtractionService::stripRange);
+        if (ranges.size() > 1) {
+            log.info("Stripped {} pages in {} ranges in {} ms", doc.getNumberOfPages(), ranges.size(),
+                (System.nanoTime() - start) / 1_000_000);
         }
+        return String.join("", ranges);
+    }
+
+    /**
+     * Recovers column-aligned tables page by page with Tabula: lattice mode for pages with
+     * ruling lines, stream mode (whitespace-separated columns) otherwise. Pages are processed
+     * in parallel ranges like text stripping.
+     */
+    private List<StatementTable> extractTables(File pdfFile, PDDocument doc) throws IOException {
+        long start = System.nanoTime();
+        List<StatementTable> tables = new ArrayList<>();
+        perPageRange(pdfFile, doc, PdfExtractionService::tableRange).forEach(tables::addAll);
+        log.info("Extracted {} tables ({} rows) from {} pages in {} ms", tables.size(),
+            tables.stream().mapToInt(t -> t.rows().size()).sum(), doc.getNumberOfPages(),
+            (System.nanoTime() - start) / 1_000_000);
+        return tables;
+    }
+
+    @FunctionalInterface
+    private interface RangeTask<T> {
+        T run(PDDocument doc, int firstPage, int lastPage) throws IOException;
+    }
 
-        StringBuilder result = new StringBuilder();
-        PDFRenderer renderer = new PDFRenderer(doc);
+    /**
+     * Runs {@code task} over the document in page order and returns one result per range.
+     * Long documents are split into contiguous ranges processed concurrently on the shared
+     * pool — PDDocument is not thread-safe, so each extra range opens its own handle on the
+     * file while the first range reuses {@code doc} on the calling thread. Extra handles are
+     * admitted against the PDF memory budget like the first one; when it is tight the
+     * document is split into fewer ranges.
+     */
+    private <T> List<T> perPageRange(File pdfFile, PDDocument doc, RangeTask<T> task) throws IOException {
         int pages = doc.getNumberOfPages();
-        log.info("Running OCR on {} page(s) using {}", pages, tesseract);
+        int wanted = Math.min(parallelThreads, pages / Math.max(1, parallelMinPages / 2));
+        if (!parallelEnabled || pages < parallelMinPages || wanted < 2) {
+            return List.of(task.run(doc, 1, pages));
+        }
+        try (PdfDocumentLoader.Admission extra = pdfLoader.tryAdmitHandles(pdfFile, wanted - 1)) {
+            int chunks = extra.handles() + 1;
+            if (chunks < 2) {
+                log.debug("PDF memory budget too tight to open {} in parallel ranges", pdfFile.getName());
+                return List.of(task.run(doc, 1, pages));
+            }
+            return runRanges(pdfFile, doc, task, pages, chunks);
+        }
+    }
 
-        for (int pageNum = 0; pageNum < pages; pageNum++) {
-            File tempPng = null;
-            try {
-                // Render at 300 DPI — good balance of quality vs speed
-                BufferedImage image = renderer.renderImageWithDPI(pageNum, 300);
-
-                tempPng = Files.createTempFile("ocr_pg" + pageNum + "_", ".png").toFile();
-                ImageIO.write(image, "PNG", tempPng);
-
-                // Run: tesseract <image> stdout --psm 6
-                // psm 6 = assume a single uniform block of text (good for statements)
-                ProcessBuilder pb = new ProcessBuilder(
-                    tesseract, tempPng.getAbsolutePath(), "stdout",
-                    "--psm", "6",
-                    "-l", "eng"
-                );
-                pb.redirectErrorStream(true);
-                Process process = pb.start();
-                String pageText = new String(process.getInputStream().readAllBytes());
-                int exit = process.waitFor();
-
-                if (exit == 0 && !pageText.isBlank()) {
-                    log.info("OCR page {}/{}: {} chars", pageNum + 1, pages, pageText.length());
-                    result.append(pageText).append("\n");
-                } else {
-                    log.warn("OCR page {}/{} returned exit code {} or empty text", pageNum + 1, pages, exit);
+    private <T> List<T> runRanges(File pdfFile, PDDocument doc, RangeTask<T> task,
+                                  int pages, int chunks) throws IOException {
+        int perChunk = (pages + chunks - 1) / chunks;
+        List<Future<T>> tail = new ArrayList<>();
+        for (int from = 1 + perChunk; from <= pages; from += perChunk) {
+            int first = from;
+            int last = Math.min(pages, from + perChunk - 1);
+            tail.add(stripPool.submit(() -> {
+                try (PDDocument handle = pdfLoader.load(pdfFile)) {
+                    return task.run(handle, first, last);
                 }
+            }));
+        }
 
-            } catch (Exception e) {
-                log.error("OCR failed on page {}: {}", pageNum + 1, e.getMessage());
-            } finally {
-                if (tempPng != null) tempPng.delete();
+        List<T> results = new ArrayList<>(tail.size() + 1);
+        results.add(task.run(doc, 1, Math.min(pages, perChunk)));
+        try {
+            for (Future<T> f : tail) results.add(f.get());
+        } catch (InterruptedException e) {
+            tail.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted during parallel page processing", e);
+        } catch (ExecutionException e) {
+            tail.forEach(f -> f.cancel(true));
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+        return results;
+    }
+
+    private static String stripRange(PDDocument doc, int firstPage, int lastPage) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setSortByPosition(true);
+        stripper.setStartPage(firstPage);
+        stripper.setEndPage(lastPage);
+        return stripper.getText(doc);
+    }
+
+    private static List<StatementTable> tableRange(PDDocument doc, int firstPage, int lastPage) {
+        SpreadsheetExtractionAlgorithm lattice = new SpreadsheetExtractionAlgorithm();
+        BasicExtractionAlgorithm stream = new BasicExtractionAlgorithm();
+        List<Integer> pageNumbers = new ArrayList<>();
+        for (int p = firstPage; p <= lastPage; p++) pageNumbers.add(p);
+
+        List<StatementTable> tables = new ArrayList<>();
+        PageIterator pages = new ObjectExtractor(doc).extract(pageNumbers);
+        while (pages.hasNext()) {
+            Page page = pages.next();
+            List<Table> found = lattice.isTabular(page) ? lattice.extract(page) : stream.extract(page);
+            for (Table table : found) {
+                List<List<String>> rows = new ArrayList<>(table.getRowCount());
+                // Cell by cell, as getRows() does, but without its raw RectangularTextContainer lists
+                for (int r = 0; r < table.getRowCount(); r++) {
+                    List<String> cells = new ArrayList<>(table.getColCount());
+                    for (int c = 0; c < table.getColCount(); c++) {
+                        RectangularTextContainer<?> cell = table.getCell(r, c);
+                        cells.add(cell.getText().replace('\r', ' ').trim());
+                    }
+                    rows.add(cells);
+                }
+                if (!rows.isEmpty()) tables.add(new StatementTable(page.getPageNumber(), rows));
             }
         }
+        return tables;
+    }
 
-        String text = result.toString();
-        log.info("OCR complete: {} total chars across {} pages", text.length(), pages);
-        return text;
+    /** Hex SHA-256 of the file contents, streamed so the PDF is never buffered whole. */
+    public static String sha256(File file) {
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file.toPath()), newSha256())) {
+            in.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(((DigestInputStream) in).getMessageDigest().digest());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to hash " + file.getName(), e);
+        }
     }
 
-    public String detectInstitution(String text) {
-        // Use only the header (first 1500 chars) to avoid false positives.
-        // e.g. an Amex statement mentions "Bank of America, NA" as the AutoPay bank,
-        // but the actual issuer "American Express" is always in the first few lines.
-        String header = text.substring(0, Math.min(1500, text.length())).toLowerCase();
-
-        // Most-specific / most-likely-to-appear-in-other-statements first
-        if (header.contains("american express") || header.contains("americanexpress.com")) return "AMEX";
-        if (header.contains("bank of america") || header.contains("bankofamerica")) return "BANK_OF_AMERICA";
-        if (header.contains("wells fargo")) return "WELLS_FARGO";
-        if (header.contains("citibank") || header.contains("citi card") || header.contains("citicards")) return "CITI";
-        if (header.contains("capital one") || header.contains("capitalone.com")) return "CAPITAL_ONE";
-        if (header.contains("chase") || header.contains("jpmorgan")) return "CHASE";
-        if (header.contains("discover") || header.contains("dfs services")) return "DISCOVER";
-        if (header.contains("goldman sachs") || header.contains("apple card") || header.contains("applecard.apple.com")) return "GOLDMAN_SACHS";
-
-        // Fallback: scan full text if header had no match
-        String lower = text.toLowerCase();
-        if (lower.contains("american express") || lower.contains("americanexpress.com")) return "AMEX";
-        if (lower.contains("bank of america") || lower.contains("bankofamerica")) return "BANK_OF_AMERICA";
-        if (lower.contains("wells fargo")) return "WELLS_FARGO";
-        if (lower.contains("citibank") || lower.contains("citi card")) return "CITI";
-        if (lower.contains("capital one") || lower.contains("capitalone.com")) return "CAPITAL_ONE";
-        if (lower.contains("chase") || lower.contains("jpmorgan")) return "CHASE";
-        if (lower.contains("discover") || lower.contains("dfs services")) return "DISCOVER";
-        if (lower.contains("goldman sachs") || lower.contains("apple card") || lower.contains("applecard.apple.com")) return "GOLDMAN_SACHS";
-        return "GENERIC";
+    static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     /**
@@ -199,20 +671,4 @@ public class PdfExtractionService {
         }
         return text;
     }
-
-    private String findTesseract() {
-        for (String path : TESSERACT_PATHS) {
-            File f = new File(path);
-            if (path.equals("tesseract") || f.exists()) {
-                try {
-                    new ProcessBuilder(path, "--version")
-                        .redirectErrorStream(true)
-                        .start()
-                        .waitFor();
-                    return path;
-                } catch (Exception ignored) {}
-            }
-        }
-        return null;
-    }
 }
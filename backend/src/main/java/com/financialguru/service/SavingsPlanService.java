@@ -4,6 +4,7 @@ import com.financialguru.dto.response.SavingsPlanResponse;
 import com.financialguru.dto.response.SavingsPlanResponse.*;
 import com.financialguru.model.FinancialProfile;
 import com.financialguru.repository.AccountRepository;
+import com.financialguru.repository.DailySpendingRollupRepository;
 import com.financialguru.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +22,7 @@ import java.util.stream.Collectors;
 public class SavingsPlanService {
 
     private final TransactionRepository transactionRepository;
+    private final DailySpendingRollupRepository dailySpendingRollupRepository;
     private final AccountRepository accountRepository;
     private final FinancialProfileService financialProfileService;
     private final OllamaService ollamaService;
@@ -69,7 +71,7 @@ public class SavingsPlanService {
         BigDecimal income = detectIncome(threeMonthsAgo, today);
 
         // ── 2. Current spending by category (3-month average) ────────────
-        List<Object[]> rawCategories = transactionRepository.findAllCategoryTotals(threeMonthsAgo, today);
+        List<Object[]> rawCategories = dailySpendingRollupRepository.findAllCategoryTotals(threeMonthsAgo, today);
         Map<String, BigDecimal> categoryMonthly = new LinkedHashMap<>();
         for (Object[] row : rawCategories) {
             String cat = (String) row[0];
@@ -254,7 +256,7 @@ public class SavingsPlanService {
 
     private List<TopMerchant> getTopMerchants(String category, LocalDate start, LocalDate end) {
         try {
-            List<Object[]> merchants = transactionRepository.findAllTopMerchants(start, end);
+            List<Object[]> merchants = dailySpendingRollupRepository.findAllTopMerchants(start, end);
             return merchants.stream()
                 .filter(row -> {
                     // Filter merchants that plausibly belong to this category
@@ -27,6 +27,7 @@ public class SchedulerService {
     private final NetWorthService netWorthService;
     private final AlertRuleService alertRuleService;
     private final AccountBalanceService accountBalanceService;
+    private final SearchIndex searchIndex;
 
     // Run daily at 8 AM
     @Scheduled(cron = "0 0 8 * * *")
@@ -183,4 +184,11 @@ public class SchedulerService {
         log.info("Capturing balance snapshots...");
         accountBalanceService.captureSnapshots();
     }
+
+    // Rebuild the typeahead index nightly at 3 AM so merchant spend ages out of its window
+    @Scheduled(cron = "0 0 3 * * *")
+    public void rebuildSearchIndex() {
+        log.info("Rebuilding search index...");
+        searchIndex.rebuild();
+    }
 }
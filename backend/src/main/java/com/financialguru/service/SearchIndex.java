@@ -0,0 +1,248 @@
+package com.financialguru.service;
+
+import com.financialguru.model.Account;
+import com.financialguru.model.Transaction;
+import com.financialguru.repository.AccountRepository;
+import com.financialguru.repository.DailySpendingRollupRepository;
+import com.financialguru.repository.SpendingRollupWriter;
+import com.financialguru.repository.TransactionBulkWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * In-process typeahead index over merchant names and active accounts, used by {@link SearchService}.
+ *
+ * Merchants are ranked by their trailing 12-month spend. Accounts are ranked newest first.
+ * Each side is an immutable snapshot: entries in rank order plus a trigram → entry postings
+ * map. A lookup takes the rarest trigram of the term, walks that posting list in rank order and
+ * verifies each candidate with a substring check; terms shorter than a trigram scan the entries.
+ * Word-prefix hits come before other substring hits. Snapshots are swapped on change, so readers
+ * never lock.
+ *
+ * Built at startup from the spending rollup. When an ingest or a statement delete commits, the
+ * merchants it touched are re-read from the rollup, so reprocessing never counts spend twice and
+ * deleted spend drops out. Account edits reload the accounts, and a nightly {@link #rebuild()}
+ * ages spend out of the window.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndex {
+
+    private static final int WINDOW_MONTHS = 12;
+    private static final int GRAM = 3;
+
+    private final DailySpendingRollupRepository dailySpendingRollupRepository;
+    private final AccountRepository accountRepository;
+
+    // Writers serialize on this; readers only touch the volatile snapshots
+    private final Object writeLock = new Object();
+    private Map<String, BigDecimal> merchantSpend = new HashMap<>();
+
+    private volatile Snapshot<String> merchants = Snapshot.empty();
+    private volatile Snapshot<UUID> accounts = Snapshot.empty();
+
+    /** Merchants containing {@code query}, highest spend first. */
+    public List<String> merchants(String query, int limit) {
+        return merchants.find(normalize(query), limit);
+    }
+
+    /** Ids of active accounts whose name or institution contains {@code query}, newest first. */
+    public List<UUID> accountIds(String query, int limit) {
+        return accounts.find(normalize(query), limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            long start = System.nanoTime();
+            LocalDate today = LocalDate.now();
+            Map<String, BigDecimal> spend = new HashMap<>();
+            for (Object[] row : dailySpendingRollupRepository.findAllTopMerchants(today.minusMonths(WINDOW_MONTHS), today)) {
+                spend.put((String) row[0], (BigDecimal) row[1]);
+            }
+            synchronized (writeLock) {
+                merchantSpend = spend;
+                publishMerchants();
+                reloadAccounts();
+            }
+            log.info("Search index built: {} merchants, {} accounts in {} ms",
+                spend.size(), accounts.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Search index build failed, typeahead stays on the previous snapshot: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionsInserted(TransactionBulkWriter.TransactionsInserted event) {
+        Set<String> touched = new HashSet<>();
+        for (Transaction t : event.transactions()) {
+            if (t.getType() == Transaction.TransactionType.DEBIT && t.getMerchantName() != null) {
+                touched.add(t.getMerchantName());
+            }
+        }
+        refreshMerchants(touched);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatementRemoved(SpendingRollupWriter.StatementRemoved event) {
+        refreshMerchants(event.merchants());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(AccountService.AccountChanged event) {
+        try {
+            synchronized (writeLock) {
+                reloadAccounts();
+            }
+        } catch (Exception e) {
+            log.warn("Search index account reload failed: {}", e.getMessage());
+        }
+    }
+
+    /** Replaces the spend of these merchants with their committed rollup totals; a merchant with none drops out. */
+    private void refreshMerchants(Collection<String> touched) {
+        if (touched.isEmpty()) return;
+        try {
+            LocalDate today = LocalDate.now();
+            Map<String, BigDecimal> spend = new HashMap<>();
+            for (Object[] row : dailySpendingRollupRepository.findMerchantSpend(touched, today.minusMonths(WINDOW_MONTHS), today)) {
+                spend.put((String) row[0], (BigDecimal) row[1]);
+            }
+            synchronized (writeLock) {
+                for (String merchant : touched) {
+                    BigDecimal total = spend.get(merchant);
+                    if (total == null || total.signum() <= 0) merchantSpend.remove(merchant);
+                    else merchantSpend.put(merchant, total);
+                }
+                publishMerchants();
+            }
+        } catch (Exception e) {
+            log.warn("Search index merchant refresh failed, the nightly rebuild will catch up: {}", e.getMessage());
+        }
+    }
+
+    private void publishMerchants() {
+        List<Map.Entry<String, BigDecimal>> ranked = new ArrayList<>(merchantSpend.entrySet());
+        ranked.sort(Map.Entry.<String, BigDecimal>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey()));
+        merchants = Snapshot.of(ranked.stream().map(Map.Entry::getKey).toList(), Function.identity());
+    }
+
+    private void reloadAccounts() {
+        List<Account> active = accountRepository.findByIsActiveTrueOrderByCreatedAtDesc();
+        Map<UUID, String> text = new HashMap<>();
+        for (Account a : active) {
+            text.put(a.getId(), a.getName() + (a.getInstitution() != null ? " " + a.getInstitution() : ""));
+        }
+        accounts = Snapshot.of(active.stream().map(Account::getId).toList(), text::get);
+    }
+
+    private static String normalize(String query) {
+        return query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Snapshot<T> {
+        private static final int[] NONE = new int[0];
+
+        private final List<T> values;
+        private final String[] keys;
+        private final Map<String, int[]> postings;
+
+        private Snapshot(List<T> values, String[] keys, Map<String, int[]> postings) {
+            this.values = values;
+            this.keys = keys;
+            this.postings = postings;
+        }
+
+        static <T> Snapshot<T> empty() {
+            return new Snapshot<>(List.of(), new String[0], Map.of());
+        }
+
+        /** {@code values} in rank order; {@code text} gives the searchable text of each. */
+        static <T> Snapshot<T> of(List<T> values, Function<T, String> text) {
+            String[] keys = new String[values.size()];
+            Map<String, int[]> lists = new HashMap<>();
+            Map<String, Integer> sizes = new HashMap<>();
+            for (int i = 0; i < keys.length; i++) {
+                String key = normalize(text.apply(values.get(i)));
+                keys[i] = key;
+                for (int g = 0; g + GRAM <= key.length(); g++) {
+                    String gram = key.substring(g, g + GRAM);
+                    int size = sizes.getOrDefault(gram, 0);
+                    int[] list = lists.get(gram);
+                    if (list == null) {
+                        list = new int[4];
+                    } else if (list[size - 1] == i) {
+                        continue; // gram repeats within this key
+                    } else if (size == list.length) {
+                        list = Arrays.copyOf(list, size * 2);
+                    }
+                    list[size] = i;
+                    lists.put(gram, list);
+                    sizes.put(gram, size + 1);
+                }
+            }
+            lists.replaceAll((gram, list) -> Arrays.copyOf(list, sizes.get(gram)));
+            return new Snapshot<>(values, keys, lists);
+        }
+
+        int size() {
+            return keys.length;
+        }
+
+        List<T> find(String q, int limit) {
+            if (q.isEmpty() || limit <= 0) return List.of();
+            int[] candidates = q.length() < GRAM ? null : rarestPosting(q);
+            if (candidates == NONE) return List.of();
+
+            List<T> hits = new ArrayList<>(limit);
+            List<Integer> substringHits = new ArrayList<>();
+            int n = candidates == null ? keys.length : candidates.length;
+            for (int c = 0; c < n && hits.size() < limit; c++) {
+                int i = candidates == null ? c : candidates[c];
+                String key = keys[i];
+                int at = key.indexOf(q);
+                if (at < 0) continue;
+                if (at == 0 || key.charAt(at - 1) == ' ') {
+                    hits.add(values.get(i));
+                } else if (substringHits.size() < limit) {
+                    substringHits.add(i);
+                }
+            }
+            for (int k = 0; k < substringHits.size() && hits.size() < limit; k++) {
+                hits.add(values.get(substringHits.get(k)));
+            }
+            return hits;
+        }
+
+        private int[] rarestPosting(String q) {
+            int[] rarest = null;
+            for (int g = 0; g + GRAM <= q.length(); g++) {
+                int[] list = postings.get(q.substring(g, g + GRAM));
+                if (list == null) return NONE;
+                if (rarest == null || list.length < rarest.length) rarest = list;
+            }
+            return rarest;
+        }
+    }
+}
@@ -4,7 +4,6 @@ import com.financialguru.dto.response.AccountResponse;
 import com.financialguru.dto.response.SearchResult;
 import com.financialguru.dto.response.TransactionResponse;
 import com.financialguru.model.Account;
-import com.financialguru.model.Transaction;
 import com.financialguru.repository.AccountRepository;
 import com.financialguru.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
@@ -13,8 +12,10 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,6 +24,8 @@ import java.util.stream.Collectors;
 public class SearchService {
 
     private final TransactionRepository transactionRepository;
+    private final SearchIndex searchIndex;
+    private final TransactionService transactionService;
     private final AccountRepository accountRepository;
 
     public SearchResult search(String query) {
@@ -39,28 +42,27 @@ public class SearchService {
         String q = query.trim();
         Pageable top5 = PageRequest.of(0, 5);
 
-        List<Transaction> txns = transactionRepository.searchTransactions(q, top5);
-        List<Account> accounts = accountRepository.findByIsActiveTrueOrderByCreatedAtDesc().stream()
-                .filter(a -> a.getName().toLowerCase().contains(q.toLowerCase())
-                        || (a.getInstitution() != null
-                                && a.getInstitution().toLowerCase().contains(q.toLowerCase())))
-                .limit(5)
-                .collect(Collectors.toList());
+        String term = q.toLowerCase();
+        List<TransactionResponse> txns = transactionService.getByIds(
+                transactionRepository.searchTransactionIds(term, TransactionService.likeEscape(term), top5));
 
-        // Top merchants matching query
-        List<String> merchants = transactionRepository.findAllTopMerchants(
-                        LocalDate.now().minusMonths(12), LocalDate.now())
-                .stream()
-                .map(r -> (String) r[0])
-                .filter(m -> m.toLowerCase().contains(q.toLowerCase()))
-                .limit(5)
+        // Typeahead matches come from the in-memory index; only the matched accounts are loaded
+        List<UUID> accountIds = searchIndex.accountIds(q, 5);
+        Map<UUID, Account> byId = accountRepository.findAllById(accountIds).stream()
+                .collect(Collectors.toMap(Account::getId, a -> a));
+        List<Account> accounts = accountIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
 
+        // Top merchants matching query, by 12-month spend
+        List<String> merchants = searchIndex.merchants(q, 5);
+
         int total = txns.size() + accounts.size() + merchants.size();
 
         return SearchResult.builder()
                 .query(q)
-                .transactions(txns.stream().map(TransactionResponse::from).collect(Collectors.toList()))
+                .transactions(txns)
                 .accounts(accounts.stream().map(AccountResponse::from).collect(Collectors.toList()))
                 .merchants(merchants)
                 .totalResults(total)
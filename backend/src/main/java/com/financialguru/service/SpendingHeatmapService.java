@@ -5,6 +5,7 @@ import com.financialguru.dto.response.MerchantTrendResponse;
 import com.financialguru.dto.response.SpendingHeatmapResponse;
 import com.financialguru.dto.response.TransactionResponse;
 import com.financialguru.model.Transaction;
+import com.financialguru.repository.DailySpendingRollupRepository;
 import com.financialguru.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,13 +27,14 @@ import java.util.stream.Collectors;
 public class SpendingHeatmapService {
 
     private final TransactionRepository transactionRepository;
+    private final DailySpendingRollupRepository dailySpendingRollupRepository;
 
     public SpendingHeatmapResponse getHeatmap(int year) {
         LocalDate start = LocalDate.of(year, 1, 1);
         LocalDate end = LocalDate.of(year, 12, 31).isBefore(LocalDate.now())
                 ? LocalDate.of(year, 12, 31) : LocalDate.now();
 
-        List<Object[]> rows = transactionRepository.findDailySpendingTotals(start, end);
+        List<Object[]> rows = dailySpendingRollupRepository.findDailySpendingTotals(start, end);
         Map<LocalDate, Object[]> byDate = new LinkedHashMap<>();
         for (Object[] row : rows) {
             byDate.put((LocalDate) row[0], row);
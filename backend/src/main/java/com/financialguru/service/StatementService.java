@@ -4,23 +4,36 @@ import com.financialguru.model.Account;
 import com.financialguru.model.Statement;
 import com.financialguru.model.Transaction;
 import com.financialguru.repository.AccountRepository;
+import com.financialguru.repository.AlertRepository;
+import com.financialguru.repository.SpendingRollupWriter;
 import com.financialguru.repository.StatementRepository;
+import com.financialguru.repository.TransactionBulkWriter;
+import com.financialguru.repository.TransactionFingerprinter;
 import com.financialguru.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -31,23 +44,75 @@ public class StatementService {
     private final StatementRepository statementRepository;
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
+    private final TransactionBulkWriter transactionBulkWriter;
+    private final AlertRepository alertRepository;
+    private final SpendingRollupWriter spendingRollupWriter;
     private final PdfExtractionService pdfExtractionService;
     private final AnomalyDetectionService anomalyDetectionService;
     private final SubscriptionDetectionService subscriptionDetectionService;
+    private final IngestJobService ingestJobService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.upload.dir:./uploads/statements}")
     private String uploadDir;
 
+    // Transactions per commit when a large statement is streamed
+    @Value("${app.ingest.chunk-size:500}")
+    private int chunkSize;
+
+    // A statement in any of these states already has (or will have) its transactions
+    private static final List<Statement.StatementStatus> LIVE_STATUSES = List.of(
+        Statement.StatementStatus.PENDING,
+        Statement.StatementStatus.PROCESSING,
+        Statement.StatementStatus.COMPLETED);
+
     @Transactional
     public Statement uploadStatement(MultipartFile file, UUID accountId) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return ingestFile(in, file.getOriginalFilename(), accountId, null);
+        }
+    }
+
+    /**
+     * Streams one PDF to the upload directory and enqueues it for parsing. The stream
+     * is not closed, so callers can pass successive entries of a ZipInputStream.
+     * Returns the existing statement instead when the same bytes were already ingested.
+     */
+    @Transactional
+    public Statement ingestFile(InputStream in, String originalFilename, UUID accountId, UUID batchId) throws IOException {
         // Create upload directory if needed
         Path uploadPath = Paths.get(uploadDir);
         Files.createDirectories(uploadPath);
 
-        // Save file
-        String filename = UUID.randomUUID() + "_" + file.getOriginalFilename();
+        // Keep only the last path segment — ZIP entry names may contain directories or "../"
+        String displayName = Paths.get(originalFilename == null ? "statement.pdf" : originalFilename)
+            .getFileName().toString();
+
+        // Save file, hashing the bytes as they stream to disk
+        String filename = UUID.randomUUID() + "_" + displayName;
         Path filePath = uploadPath.resolve(filename);
-        Files.copy(file.getInputStream(), filePath);
+        MessageDigest digest = PdfExtractionService.newSha256();
+        try {
+            Files.copy(new DigestInputStream(in, digest), filePath);
+        } catch (IOException e) {
+            // Don't leave a partial file behind (e.g. an entry rejected by the bulk import size caps)
+            Files.deleteIfExists(filePath);
+            throw e;
+        }
+        String contentHash = HexFormat.of().formatHex(digest.digest());
+
+        // Re-uploading the same PDF returns the existing statement instead of duplicating its transactions.
+        // The lock makes a concurrent upload of the same bytes wait for this one to commit.
+        statementRepository.lockContentHash(contentHash);
+        Optional<Statement> duplicate = statementRepository
+            .findFirstByContentHashAndStatusInOrderByCreatedAtAsc(contentHash, LIVE_STATUSES);
+        if (duplicate.isPresent()) {
+            Files.deleteIfExists(filePath);
+            log.info("Upload {} matches existing statement {} (sha256 {}) — skipping ingestion",
+                displayName, duplicate.get().getId(), contentHash);
+            return duplicate.get();
+        }
 
         Account account = accountId != null
             ? accountRepository.findById(accountId).orElse(null)
@@ -55,85 +120,233 @@ public class StatementService {
 
         Statement statement = Statement.builder()
             .account(account)
-            .fileName(file.getOriginalFilename())
+            .fileName(displayName)
             .filePath(filePath.toString())
+            .contentHash(contentHash)
+            .batchId(batchId)
             .status(Statement.StatementStatus.PENDING)
             .build();
 
         Statement saved = statementRepository.save(statement);
-        processStatementAsync(saved.getId());
+        // Parsing happens on an ingest worker once this transaction commits
+        ingestJobService.enqueue(saved.getId());
         return saved;
     }
 
-    @Async
-    public void processStatementAsync(UUID statementId) {
-        try {
-            Statement statement = statementRepository.findById(statementId)
-                .orElseThrow(() -> new RuntimeException("Statement not found: " + statementId));
+    /**
+     * Extracts, parses and persists a statement. Called by {@link IngestWorkerPool}
+     * after it has claimed the statement's ingest job; any exception propagates so
+     * the worker can record the failed attempt and retry. Every write transaction first
+     * re-checks that {@code workerId} still holds the job (see {@link IngestJobService#verifyLease}).
+     *
+     * Long statements are streamed (see {@link #processStreaming}); everything else is
+     * extracted, parsed and saved in a single transaction.
+     */
+    public void processStatement(UUID statementId, String workerId) {
+        File pdfFile = new File(getStatement(statementId).getFilePath());
+        PdfExtractionService.Opened opened = pdfExtractionService.open(pdfFile);
+        PdfExtractionService.ExtractionResult extraction = opened.extraction();
+        if (opened.stream() != null) {
+            try (PdfExtractionService.PageStream pages = opened.stream()) {
+                if (processStreaming(statementId, workerId, pages)) return;
+            }
+            log.warn("Streamed parse of statement {} found no transactions — retrying in memory", statementId);
+            extraction = pdfExtractionService.extract(pdfFile);
+        }
+        PdfExtractionService.ExtractionResult extracted = extraction;
+        transactionTemplate.executeWithoutResult(status -> {
+            ingestJobService.verifyLease(statementId, workerId);
+            processInMemory(statementId, extracted);
+        });
+    }
 
-            statement.setStatus(Statement.StatementStatus.PROCESSING);
-            statementRepository.save(statement);
+    /**
+     * Parses a long statement page window by page window and commits its transactions in
+     * chunks of {@code app.ingest.chunk-size}, so memory stays flat regardless of page count
+     * and rows become visible while later pages are still being stripped. The statement stays
+     * PROCESSING until the last chunk lands; a failed run deletes the chunks it committed (with
+     * their rollup totals and alerts) before the failure propagates, so a half-parsed statement
+     * does not linger in listings and totals until its retry. Anomaly and subscription detection
+     * run per chunk. Returns false (with nothing persisted) when the parser recognised no transactions.
+     */
+    private boolean processStreaming(UUID statementId, String workerId, PdfExtractionService.PageStream pages) {
+        // Commit the account up front — chunk transactions reference it
+        Statement statement = transactionTemplate.execute(status -> {
+            ingestJobService.verifyLease(statementId, workerId);
+            Statement s = getStatement(statementId);
+            deleteStaleTransactions(statementId);
+            s.setContentHash(pages.sha256());
+            if (s.getAccount() == null) {
+                autoCreateAccount(pages.head(), pages.institution(), s);
+            }
+            s.setAccount((Account) Hibernate.unproxy(s.getAccount()));
+            return statementRepository.save(s);
+        });
+        Account account = statement.getAccount();
 
-            File pdfFile = new File(statement.getFilePath());
-            Account account = statement.getAccount();
+        try {
+            return streamChunks(statementId, workerId, pages, statement, account);
+        } catch (IngestJobService.LeaseLostException e) {
+            // The statement's rows belong to the worker that re-claimed it now
+            throw e;
+        } catch (RuntimeException e) {
+            discardStreamedChunks(statementId, workerId);
+            throw e;
+        }
+    }
 
-            // Auto-create account if none was provided at upload time
-            if (account == null) {
-                account = autoCreateAccount(pdfFile, statement);
+    private boolean streamChunks(UUID statementId, String workerId, PdfExtractionService.PageStream pages,
+                                 Statement statement, Account account) {
+        List<Transaction> chunk = new ArrayList<>(chunkSize);
+        TransactionFingerprinter fingerprints = new TransactionFingerprinter();
+        LocalDate[] range = new LocalDate[2];
+        int[] saved = {0};
+        int parsed = pdfExtractionService.streamTransactions(pages, statement, account, t -> {
+            // Once per transaction: occurrence numbers must not move if a chunk commit is retried
+            fingerprints.assign(t);
+            chunk.add(t);
+            if (range[0] == null || t.getTransactionDate().isBefore(range[0])) range[0] = t.getTransactionDate();
+            if (range[1] == null || t.getTransactionDate().isAfter(range[1])) range[1] = t.getTransactionDate();
+            if (chunk.size() >= chunkSize) {
+                saved[0] += saveChunk(statementId, workerId, chunk, account);
+                log.info("Statement {}: {} transactions saved so far", statementId, saved[0]);
             }
+        });
+        if (parsed == 0) return false;
+        if (!chunk.isEmpty()) saved[0] += saveChunk(statementId, workerId, chunk, account);
 
-            List<Transaction> transactions = pdfExtractionService.extractTransactions(
-                pdfFile, statement, account);
-
-            // Persist any account metadata (APR, promo APR, etc.) updated during extraction.
-            // Also carry forward the payment due day so the dashboard always shows the
-            // next upcoming payment even when no new statement has been uploaded yet.
+        transactionTemplate.executeWithoutResult(status -> {
+            ingestJobService.verifyLease(statementId, workerId);
             if (account != null) {
                 if (statement.getPaymentDueDate() != null) {
-                    int dueDay = statement.getPaymentDueDate().getDayOfMonth();
-                    account.setPaymentDueDay(dueDay);
-                    log.info("Account {}: payment due day set to {} (from statement due date {})",
-                        account.getName(), dueDay, statement.getPaymentDueDate());
+                    account.setPaymentDueDay(statement.getPaymentDueDate().getDayOfMonth());
                 }
                 accountRepository.save(account);
-                log.info("Saved account {} with updated metadata", account.getId());
             }
+            statement.setStartDate(range[0]);
+            statement.setEndDate(range[1]);
+            statement.setStatementMonth(range[0].withDayOfMonth(1));
+            statement.setStatus(Statement.StatementStatus.COMPLETED);
+            statement.setProcessedAt(OffsetDateTime.now());
+            statementRepository.save(statement);
+        });
+        log.info("Statement {} streamed: {} pages, {} transactions ({} already imported)",
+            statementId, pages.pageCount(), saved[0], parsed - saved[0]);
+        return true;
+    }
 
-            // Set statement dates from transactions
-            if (!transactions.isEmpty()) {
-                LocalDate minDate = transactions.stream()
-                    .map(Transaction::getTransactionDate)
-                    .min(LocalDate::compareTo).orElse(null);
-                LocalDate maxDate = transactions.stream()
-                    .map(Transaction::getTransactionDate)
-                    .max(LocalDate::compareTo).orElse(null);
-                statement.setStartDate(minDate);
-                statement.setEndDate(maxDate);
-                statement.setStatementMonth(minDate != null ? minDate.withDayOfMonth(1) : null);
+    // Best effort: whatever survives is cleared by the retry's deleteStaleTransactions
+    private void discardStreamedChunks(UUID statementId, String workerId) {
+        try {
+            Integer discarded = transactionTemplate.execute(status -> {
+                ingestJobService.verifyLease(statementId, workerId);
+                return deleteTransactions(statementId);
+            });
+            if (discarded != null && discarded > 0) {
+                log.info("Discarded {} transactions committed by the failed stream of statement {}", discarded, statementId);
             }
+        } catch (Exception e) {
+            log.warn("Could not discard partial transactions of statement {}: {}", statementId, e.getMessage());
+        }
+    }
 
-            // Save transactions
-            List<Transaction> saved = transactionRepository.saveAll(transactions);
-            log.info("Saved {} transactions for statement {}", saved.size(), statementId);
+    private int saveChunk(UUID statementId, String workerId, List<Transaction> chunk, Account account) {
+        int saved = transactionTemplate.execute(status -> {
+            ingestJobService.verifyLease(statementId, workerId);
+            List<Transaction> inserted = transactionBulkWriter.insertAll(chunk);
+            runDetection(inserted, account);
+            return inserted.size();
+        });
+        chunk.clear();
+        return saved;
+    }
 
-            // Run anomaly detection and subscription detection
-            if (account != null) {
-                anomalyDetectionService.detectAnomalies(saved, account);
-                subscriptionDetectionService.detectSubscriptions(saved, account);
-            }
+    private void runDetection(List<Transaction> inserted, Account account) {
+        if (account == null) return;
+        List<Transaction> flagged = anomalyDetectionService.detectAnomalies(inserted, account);
+        subscriptionDetectionService.detectSubscriptions(inserted, account);
+        // Bulk-inserted rows are not managed entities, so flags set above must be written back
+        transactionBulkWriter.updateFlags(flagged);
+    }
 
-            statement.setStatus(Statement.StatementStatus.COMPLETED);
-            statementRepository.save(statement);
-            log.info("Statement {} processing complete", statementId);
+    private void deleteStaleTransactions(UUID statementId) {
+        // A retry after a lost lease may find rows from a run that committed late
+        int stale = deleteTransactions(statementId);
+        if (stale > 0) log.info("Cleared {} stale transactions for statement {}", stale, statementId);
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to process statement {}: {}", statementId, e.getMessage(), e);
-            statementRepository.findById(statementId).ifPresent(s -> {
-                s.setStatus(Statement.StatementStatus.FAILED);
-                s.setErrorMessage(e.getMessage());
-                statementRepository.save(s);
-            });
+    /**
+     * Removes a statement's transactions, their rollup totals and the alerts raised for them, set-based.
+     * Rows an overlapping statement also listed are handed to that statement first and survive,
+     * together with their rollup totals and alerts.
+     */
+    private int deleteTransactions(UUID statementId) {
+        int kept = transactionRepository.bulkReassignShared(statementId);
+        if (kept > 0) log.info("Kept {} transactions of statement {} that another statement also lists", kept, statementId);
+        transactionRepository.deleteClaimsByStatementId(statementId);
+        spendingRollupWriter.removeStatement(statementId);
+        alertRepository.deleteByStatementId(statementId);
+        return transactionRepository.bulkDeleteByStatementId(statementId);
+    }
+
+    private void processInMemory(UUID statementId, PdfExtractionService.ExtractionResult extraction) {
+        Statement statement = statementRepository.findById(statementId)
+            .orElseThrow(() -> new RuntimeException("Statement not found: " + statementId));
+
+        deleteStaleTransactions(statementId);
+
+        // The PDF was loaded and stripped exactly once by the caller; every later step reuses this result
+        statement.setContentHash(extraction.sha256());
+        Account account = statement.getAccount();
+
+        // Auto-create account if none was provided at upload time
+        if (account == null) {
+            account = autoCreateAccount(extraction.text(), extraction.institution(), statement);
         }
+
+        List<Transaction> transactions = pdfExtractionService.extractTransactions(
+            extraction, statement, account);
+
+        // Persist any account metadata (APR, promo APR, etc.) updated during extraction.
+        // Also carry forward the payment due day so the dashboard always shows the
+        // next upcoming payment even when no new statement has been uploaded yet.
+        if (account != null) {
+            if (statement.getPaymentDueDate() != null) {
+                int dueDay = statement.getPaymentDueDate().getDayOfMonth();
+                account.setPaymentDueDay(dueDay);
+                log.info("Account {}: payment due day set to {} (from statement due date {})",
+                    account.getName(), dueDay, statement.getPaymentDueDate());
+            }
+            accountRepository.save(account);
+            log.info("Saved account {} with updated metadata", account.getId());
+        }
+
+        // Set statement dates from transactions
+        if (!transactions.isEmpty()) {
+            LocalDate minDate = transactions.stream()
+                .map(Transaction::getTransactionDate)
+                .min(LocalDate::compareTo).orElse(null);
+            LocalDate maxDate = transactions.stream()
+                .map(Transaction::getTransactionDate)
+                .max(LocalDate::compareTo).orElse(null);
+            statement.setStartDate(minDate);
+            statement.setEndDate(maxDate);
+            statement.setStatementMonth(minDate != null ? minDate.withDayOfMonth(1) : null);
+        }
+
+        // Save transactions — rows already imported from an overlapping statement are skipped
+        new TransactionFingerprinter().assign(transactions);
+        List<Transaction> saved = transactionBulkWriter.insertAll(transactions);
+        log.info("Saved {} transactions for statement {} ({} already imported)",
+            saved.size(), statementId, transactions.size() - saved.size());
+
+        // Run anomaly detection and subscription detection
+        runDetection(saved, account);
+
+        statement.setStatus(Statement.StatementStatus.COMPLETED);
+        statement.setProcessedAt(OffsetDateTime.now());
+        statementRepository.save(statement);
+        log.info("Statement {} processing complete", statementId);
     }
 
     public List<Statement> getAllStatements() {
@@ -148,20 +361,18 @@ public class StatementService {
     @Transactional
     public void deleteStatement(UUID id) {
         Statement statement = getStatement(id);
-        List<Transaction> existing = transactionRepository.findByStatementId(id);
-        if (!existing.isEmpty()) transactionRepository.deleteAll(existing);
+        int deleted = deleteTransactions(id);
         statementRepository.delete(statement);
-        log.info("Deleted statement {} and {} transactions", id, existing.size());
+        log.info("Deleted statement {} and {} transactions", id, deleted);
     }
 
     @Transactional
     public void reprocessStatement(UUID id) {
         Statement statement = getStatement(id);
         // Delete existing transactions first so reprocessing never creates duplicates
-        List<Transaction> existing = transactionRepository.findByStatementId(id);
-        if (!existing.isEmpty()) {
-            transactionRepository.deleteAll(existing);
-            log.info("Deleted {} existing transactions before reprocessing statement {}", existing.size(), id);
+        int deleted = deleteTransactions(id);
+        if (deleted > 0) {
+            log.info("Deleted {} existing transactions before reprocessing statement {}", deleted, id);
         }
         statement.setStatus(Statement.StatementStatus.PENDING);
         statement.setErrorMessage(null);
@@ -173,8 +384,9 @@ public class StatementService {
         statement.setYtdTotalFees(null);
         statement.setYtdTotalInterest(null);
         statement.setYtdYear(null);
+        statement.setProcessedAt(null);
         statementRepository.save(statement);
-        processStatementAsync(id);
+        ingestJobService.enqueue(id);
     }
 
     // Generic last4 pattern — covers most bank statement formats
@@ -187,11 +399,7 @@ public class StatementService {
      * Matches by institution + last4 to correctly distinguish multiple cards
      * from the same bank (e.g., two Chase cards).
      */
-    @Transactional
-    private Account autoCreateAccount(File pdfFile, Statement statement) {
-        String text = pdfExtractionService.extractText(pdfFile);
-        String institution = pdfExtractionService.detectInstitution(text);
-
+    private Account autoCreateAccount(String text, String institution, Statement statement) {
         if ("GENERIC".equals(institution)) {
             log.info("Could not detect institution — statement will have no account");
             return null;
@@ -233,6 +441,7 @@ public class StatementService {
             .isActive(true)
             .build();
         newAccount = accountRepository.save(newAccount);
+        eventPublisher.publishEvent(new AccountService.AccountChanged(newAccount.getId()));
 
         statement.setAccount(newAccount);
         statementRepository.save(statement);
@@ -263,13 +472,14 @@ public class StatementService {
         statement.setAccount(account);
         statementRepository.save(statement);
 
-        // Back-fill all transactions for this statement with the account
-        List<Transaction> transactions = transactionRepository.findByStatementId(statementId);
-        transactions.forEach(t -> t.setAccount(account));
-        transactionRepository.saveAll(transactions);
+        // Back-fill all transactions for this statement (and their alerts) with the account
+        spendingRollupWriter.removeStatement(statementId);
+        int updated = transactionRepository.bulkAssignAccount(statementId, account);
+        spendingRollupWriter.addStatement(statementId);
+        alertRepository.assignAccountByStatementId(statementId, account);
 
         log.info("Assigned account {} to statement {} ({} transactions updated)",
-            account.getName(), statementId, transactions.size());
+            account.getName(), statementId, updated);
         return statement;
     }
 }
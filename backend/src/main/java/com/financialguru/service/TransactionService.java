@@ -1,8 +1,10 @@
 package com.financialguru.service;
 
 import com.financialguru.dto.request.TransactionFilterRequest;
+import com.financialguru.dto.response.TransactionCursorPage;
 import com.financialguru.dto.response.TransactionResponse;
 import com.financialguru.model.Transaction;
+import com.financialguru.repository.SpendingRollupWriter;
 import com.financialguru.repository.TransactionRepository;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
@@ -12,12 +14,18 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -27,6 +35,11 @@ import java.util.stream.Collectors;
 public class TransactionService {
 
     private final TransactionRepository transactionRepository;
+    private final SpendingRollupWriter spendingRollupWriter;
+
+    private static final int MAX_KEYSET_PAGE = 500;
+    private static final Sort KEYSET_ORDER = Sort.by(Sort.Direction.DESC, "transactionDate", "id");
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "transactionDate");
 
     public Page<TransactionResponse> getTransactions(TransactionFilterRequest filter) {
         Pageable pageable = PageRequest.of(
@@ -34,7 +47,62 @@ public class TransactionService {
             Sort.by(Sort.Direction.DESC, "transactionDate")
         );
         Specification<Transaction> spec = buildSpec(filter);
-        return transactionRepository.findAll(spec, pageable).map(TransactionResponse::from);
+        return transactionRepository.findResponses(spec, pageable);
+    }
+
+    /**
+     * Keyset ("seek") pagination in (transactionDate, id) descending order: each page starts
+     * strictly after the cursor row, so its cost does not depend on how deep the caller has
+     * scrolled. No COUNT is run unless {@code filter.count} asks for one.
+     */
+    public TransactionCursorPage getTransactionsAfter(TransactionFilterRequest filter) {
+        int size = Math.max(1, Math.min(filter.getSize(), MAX_KEYSET_PAGE));
+        Specification<Transaction> spec = buildSpec(filter);
+        Specification<Transaction> seek = spec;
+        if (filter.getCursor() != null && !filter.getCursor().isBlank()) {
+            seek = spec.and(after(decodeCursor(filter.getCursor())));
+        }
+
+        List<TransactionResponse> rows = transactionRepository.findResponses(seek, KEYSET_ORDER, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<TransactionResponse> page = hasNext ? rows.subList(0, size) : rows;
+
+        return TransactionCursorPage.builder()
+            .content(page)
+            .size(size)
+            .hasNext(hasNext)
+            .nextCursor(hasNext ? encodeCursor(page.get(page.size() - 1)) : null)
+            .totalElements(filter.isCount() ? transactionRepository.count(spec) : null)
+            .build();
+    }
+
+    // (date, id) < (cursor date, cursor id). JPA has no row-value comparison and Postgres cannot
+    // bound an index scan or prune partitions on the OR alone; the redundant date <= cursor date
+    // conjunct gives it a range start on the (date DESC, id DESC) index and in every month
+    private static Specification<Transaction> after(Cursor c) {
+        return (root, query, cb) -> cb.and(
+            cb.lessThanOrEqualTo(root.get("transactionDate"), c.date()),
+            cb.or(
+                cb.lessThan(root.get("transactionDate"), c.date()),
+                cb.and(cb.equal(root.get("transactionDate"), c.date()), cb.lessThan(root.get("id"), c.id()))));
+    }
+
+    private record Cursor(LocalDate date, UUID id) {}
+
+    // Opaque to clients: base64url("yyyy-MM-dd|uuid")
+    private static String encodeCursor(TransactionResponse last) {
+        String raw = last.getTransactionDate() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new Cursor(LocalDate.parse(raw.substring(0, sep)), UUID.fromString(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + cursor);
+        }
     }
 
     private Specification<Transaction> buildSpec(TransactionFilterRequest f) {
@@ -60,9 +128,10 @@ public class TransactionService {
                 predicates.add(cb.lessThanOrEqualTo(root.get("amount"), f.getMaxAmount()));
             }
             if (f.getSearch() != null && !f.getSearch().isBlank()) {
-                String pattern = "%" + f.getSearch().toLowerCase() + "%";
-                Predicate byMerchant = cb.like(cb.lower(root.get("merchantName")), pattern);
-                Predicate byDescription = cb.like(cb.lower(root.get("description")), pattern);
+                // LOWER(col) LIKE '%term%' is what the V25 trigram indexes serve
+                String pattern = "%" + likeEscape(f.getSearch().toLowerCase()) + "%";
+                Predicate byMerchant = cb.like(cb.lower(root.get("merchantName")), pattern, '\\');
+                Predicate byDescription = cb.like(cb.lower(root.get("description")), pattern, '\\');
                 predicates.add(cb.or(byMerchant, byDescription));
             }
 
@@ -70,6 +139,11 @@ public class TransactionService {
         };
     }
 
+    /** Escapes LIKE wildcards in a user-supplied term, so "50%" or "a_b" match literally. */
+    static String likeEscape(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     public TransactionResponse getTransaction(UUID id) {
         Transaction t = transactionRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Transaction not found: " + id));
@@ -77,16 +151,15 @@ public class TransactionService {
     }
 
     public List<TransactionResponse> getAnomalies() {
-        return transactionRepository.findByIsFlaggedTrueOrderByTransactionDateDesc()
-            .stream()
-            .map(TransactionResponse::from)
-            .collect(Collectors.toList());
+        return transactionRepository.findResponses(
+            (root, query, cb) -> cb.isTrue(root.get("isFlagged")), NEWEST_FIRST, 0);
     }
 
     @Transactional
     public TransactionResponse updateTransaction(UUID id, Map<String, Object> updates) {
         Transaction t = transactionRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Transaction not found: " + id));
+        SpendingRollupWriter.Snapshot before = spendingRollupWriter.snapshot(List.of(t));
 
         if (updates.containsKey("category")) {
             t.setCategory((String) updates.get("category"));
@@ -101,13 +174,23 @@ public class TransactionService {
             t.setFlagReason((String) updates.get("flagReason"));
         }
 
-        return TransactionResponse.from(transactionRepository.save(t));
+        Transaction saved = transactionRepository.save(t);
+        spendingRollupWriter.applyEdits(before);
+        return TransactionResponse.from(saved);
     }
 
     public List<TransactionResponse> getByStatementId(UUID statementId) {
-        return transactionRepository.findByStatementIdOrderByTransactionDateDesc(statementId)
+        return transactionRepository.findResponses(
+            (root, query, cb) -> cb.equal(root.get("statement").get("id"), statementId), NEWEST_FIRST, 0);
+    }
+
+    /** The given transactions, in the order of {@code ids}. */
+    public List<TransactionResponse> getByIds(List<UUID> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<UUID, TransactionResponse> byId = transactionRepository.findResponses(
+                (root, query, cb) -> root.get("id").in(ids), Sort.unsorted(), 0)
             .stream()
-            .map(TransactionResponse::from)
-            .collect(Collectors.toList());
+            .collect(Collectors.toMap(TransactionResponse::getId, r -> r));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
     }
 }
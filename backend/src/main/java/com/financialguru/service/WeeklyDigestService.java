@@ -6,6 +6,7 @@ import com.financialguru.model.Account;
 import com.financialguru.model.Transaction;
 import com.financialguru.repository.AccountRepository;
 import com.financialguru.repository.InsightRepository;
+import com.financialguru.repository.DailySpendingRollupRepository;
 import com.financialguru.repository.TransactionRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +28,7 @@ import java.util.stream.Collectors;
 public class WeeklyDigestService {
 
     private final TransactionRepository transactionRepository;
+    private final DailySpendingRollupRepository dailySpendingRollupRepository;
     private final BudgetService budgetService;
     private final InsightRepository insightRepository;
     private final AccountRepository accountRepository;
@@ -37,8 +39,8 @@ public class WeeklyDigestService {
         LocalDate priorWeekStart = weekStart.minusDays(7);
         LocalDate priorWeekEnd = weekStart.minusDays(1);
 
-        BigDecimal thisWeek = transactionRepository.sumAllSpending(weekStart, today);
-        BigDecimal priorWeek = transactionRepository.sumAllSpending(priorWeekStart, priorWeekEnd);
+        BigDecimal thisWeek = dailySpendingRollupRepository.sumAllSpending(weekStart, today);
+        BigDecimal priorWeek = dailySpendingRollupRepository.sumAllSpending(priorWeekStart, priorWeekEnd);
         if (thisWeek == null) thisWeek = BigDecimal.ZERO;
         if (priorWeek == null) priorWeek = BigDecimal.ZERO;
 
@@ -64,7 +66,7 @@ public class WeeklyDigestService {
         List<BudgetStatusResponse> budgets = budgetService.getAllBudgetsWithStatus();
 
         // Category breakdown for this week
-        List<Object[]> cats = transactionRepository.findAllCategoryTotals(weekStart, today);
+        List<Object[]> cats = dailySpendingRollupRepository.findAllCategoryTotals(weekStart, today);
         List<Map<String, Object>> catBreakdown = cats.stream().limit(5).map(row -> {
             Map<String, Object> m = new LinkedHashMap<>();
             m.put("category", row[0]);
@@ -0,0 +1,20 @@
+CREATE TABLE ingest_jobs (
+    id               UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    statement_id     UUID NOT NULL UNIQUE REFERENCES statements(id) ON DELETE CASCADE,
+    status           VARCHAR(20) NOT NULL DEFAULT 'QUEUED' CHECK (status IN ('QUEUED', 'RUNNING', 'DONE', 'FAILED')),
+    attempts         INTEGER NOT NULL DEFAULT 0,
+    available_at     TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    lease_expires_at TIMESTAMP WITH TIME ZONE,
+    locked_by        VARCHAR(255),
+    last_error       TEXT,
+    created_at       TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+    updated_at       TIMESTAMP WITH TIME ZONE DEFAULT NOW()
+);
+
+-- Claim scans only look at QUEUED and RUNNING rows
+CREATE INDEX idx_ingest_jobs_claimable ON ingest_jobs(status, available_at)
+    WHERE status IN ('QUEUED', 'RUNNING');
+
+-- Re-queue statements that were left mid-flight by the old in-process @Async path
+INSERT INTO ingest_jobs (statement_id)
+SELECT id FROM statements WHERE status IN ('PENDING', 'PROCESSING');
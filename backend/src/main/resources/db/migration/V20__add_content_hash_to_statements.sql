@@ -0,0 +1,4 @@
+ALTER TABLE statements
+    ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_statements_content_hash ON statements(content_hash);
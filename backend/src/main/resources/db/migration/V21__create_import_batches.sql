@@ -0,0 +1,13 @@
+CREATE TABLE import_batches (
+    id              UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    file_count      INTEGER NOT NULL DEFAULT 0,
+    duplicate_count INTEGER NOT NULL DEFAULT 0,
+    skipped_count   INTEGER NOT NULL DEFAULT 0,
+    created_at      TIMESTAMP WITH TIME ZONE DEFAULT NOW()
+);
+
+ALTER TABLE statements
+    ADD COLUMN IF NOT EXISTS batch_id     UUID REFERENCES import_batches(id) ON DELETE SET NULL,
+    ADD COLUMN IF NOT EXISTS processed_at TIMESTAMP WITH TIME ZONE;
+
+CREATE INDEX IF NOT EXISTS idx_statements_batch_id ON statements(batch_id);
@@ -0,0 +1,31 @@
+-- Import identity of a parsed transaction: account, date, signed cents, normalized description,
+-- reference number, and which occurrence of that combination it is within its statement.
+-- Computed by TransactionFingerprinter on ingest — the expression below must stay in step with it.
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS fingerprint VARCHAR(32);
+
+WITH keyed AS (
+    SELECT id, statement_id, created_at,
+           account_id::text
+               || '|' || (transaction_date - DATE '1970-01-01')
+               || '|' || ((CASE WHEN type IN ('CREDIT', 'PAYMENT') THEN -1 ELSE 1 END) * round(amount * 100))::bigint
+               || '|' || lower(regexp_replace(coalesce(description, ''), '[^A-Za-z0-9]', '', 'g'))
+               || '|' || coalesce(reference_number, '') AS natural_key
+    FROM transactions
+    WHERE account_id IS NOT NULL
+), numbered AS (
+    SELECT id, md5(natural_key || '|' || row_number() OVER (
+               PARTITION BY statement_id, natural_key ORDER BY created_at, id)) AS fingerprint
+    FROM keyed
+)
+UPDATE transactions t SET fingerprint = n.fingerprint
+FROM numbered n
+WHERE t.id = n.id;
+
+-- Rows already duplicated by overlapping statements are kept, but only the oldest owns the key
+UPDATE transactions t SET fingerprint = NULL
+FROM (SELECT id, row_number() OVER (PARTITION BY fingerprint ORDER BY created_at, id) AS rn
+      FROM transactions
+      WHERE fingerprint IS NOT NULL) d
+WHERE t.id = d.id AND d.rn > 1;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_transactions_fingerprint ON transactions(fingerprint);
@@ -0,0 +1,23 @@
+-- Per-day totals of transactions, kept in step by SpendingRollupWriter on ingest, edit, delete
+-- and reassignment, so dashboard aggregates read a table sized by days × merchants rather than
+-- by raw transaction volume. Derived data: no foreign keys, rebuildable from transactions.
+CREATE TABLE daily_spending_rollup (
+    id            UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    spend_date    DATE NOT NULL,
+    account_id    UUID,
+    type          VARCHAR(50),
+    category      VARCHAR(100),
+    merchant_name VARCHAR(255),
+    total_amount  DECIMAL(14,2) NOT NULL DEFAULT 0,
+    txn_count     BIGINT NOT NULL DEFAULT 0
+);
+
+-- Upsert target; unlinked, uncategorized and merchant-less rows each roll up into one bucket
+CREATE UNIQUE INDEX idx_daily_spending_rollup_key
+    ON daily_spending_rollup(spend_date, account_id, type, category, merchant_name) NULLS NOT DISTINCT;
+CREATE INDEX idx_daily_spending_rollup_type_date ON daily_spending_rollup(type, spend_date);
+
+INSERT INTO daily_spending_rollup (spend_date, account_id, type, category, merchant_name, total_amount, txn_count)
+SELECT transaction_date, account_id, type, category, merchant_name, SUM(amount), COUNT(*)
+FROM transactions
+GROUP BY transaction_date, account_id, type, category, merchant_name;
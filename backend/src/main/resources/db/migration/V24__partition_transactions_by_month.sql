@@ -0,0 +1,69 @@
+-- Moves transactions to declarative monthly range partitions on transaction_date, so date-bounded
+-- queries prune to the months they touch and vacuum/index maintenance works per month. A month can
+-- be archived with ALTER TABLE transactions DETACH PARTITION transactions_pYYYY_MM CONCURRENTLY.
+--
+-- Partitions are created on demand by ensure_transactions_partition(), called from the ingest path
+-- (TransactionPartitions) before rows for a new month are inserted. There is no default partition:
+-- an insert for a month nobody ensured fails instead of landing somewhere that blocks the month's
+-- partition from being created later.
+
+-- Standalone table + ATTACH rather than CREATE ... PARTITION OF: ATTACH only takes a SHARE UPDATE
+-- EXCLUSIVE lock on the parent, so readers and concurrent ingests are not blocked.
+CREATE OR REPLACE FUNCTION ensure_transactions_partition(p_date DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    month_start DATE := date_trunc('month', p_date)::date;
+    part_name   TEXT := 'transactions_p' || to_char(month_start, 'YYYY_MM');
+BEGIN
+    IF to_regclass(part_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+    -- Concurrent ingests may race for the same month
+    PERFORM pg_advisory_xact_lock(hashtext('ensure_transactions_partition'));
+    IF to_regclass(part_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE transactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', part_name);
+    EXECUTE format('ALTER TABLE transactions ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   part_name, month_start, (month_start + INTERVAL '1 month')::date);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- A foreign key into a partitioned table has to include the partition key. Alerts for a
+-- statement's transactions are deleted together with them (StatementService), so the link
+-- is kept as a plain column.
+ALTER TABLE alerts DROP CONSTRAINT IF EXISTS alerts_transaction_id_fkey;
+
+ALTER TABLE transactions RENAME TO transactions_heap;
+
+CREATE TABLE transactions (LIKE transactions_heap INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (transaction_date);
+
+SELECT ensure_transactions_partition(m::date)
+FROM (SELECT DISTINCT date_trunc('month', transaction_date) AS m FROM transactions_heap
+      UNION
+      SELECT generate_series(date_trunc('month', now()), date_trunc('month', now()) + INTERVAL '3 months',
+                             INTERVAL '1 month')) months;
+
+INSERT INTO transactions SELECT * FROM transactions_heap;
+
+DROP TABLE transactions_heap;
+
+-- Keys and indexes are declared on the parent and cascade to every partition, present and future.
+-- Unique constraints must include the partition key; the fingerprint already encodes the date.
+ALTER TABLE transactions ADD PRIMARY KEY (id, transaction_date);
+ALTER TABLE transactions ADD FOREIGN KEY (account_id) REFERENCES accounts(id) ON DELETE SET NULL;
+ALTER TABLE transactions ADD FOREIGN KEY (statement_id) REFERENCES statements(id) ON DELETE SET NULL;
+
+CREATE UNIQUE INDEX idx_transactions_fingerprint ON transactions(fingerprint, transaction_date);
+
+CREATE INDEX idx_transactions_account_id ON transactions(account_id);
+CREATE INDEX idx_transactions_statement_id ON transactions(statement_id);
+CREATE INDEX idx_transactions_date ON transactions(transaction_date DESC);
+CREATE INDEX idx_transactions_category ON transactions(category);
+CREATE INDEX idx_transactions_merchant ON transactions(merchant_name);
+CREATE INDEX idx_transactions_is_flagged ON transactions(is_flagged) WHERE is_flagged = TRUE;
+CREATE INDEX idx_transactions_is_recurring ON transactions(is_recurring) WHERE is_recurring = TRUE;
+CREATE INDEX idx_transactions_type_date ON transactions(type, transaction_date DESC);
+CREATE INDEX idx_transactions_category_date ON transactions(category, transaction_date DESC);
+CREATE INDEX idx_transactions_merchant_date ON transactions(merchant_name, transaction_date DESC);
@@ -0,0 +1,11 @@
+-- Trigram indexes for transaction text search. They serve both LOWER(col) LIKE '%term%' (any
+-- wildcard position) and the fuzzy word-similarity operators TransactionRepository ranks with.
+-- Declared on the partitioned parent, so every monthly partition gets its own.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_transactions_merchant_trgm
+    ON transactions USING GIN (LOWER(merchant_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_transactions_description_trgm
+    ON transactions USING GIN (LOWER(description) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_transactions_category_trgm
+    ON transactions USING GIN (LOWER(category) gin_trgm_ops);
@@ -0,0 +1,10 @@
+-- Seek indexes for keyset pagination of /api/transactions: (transaction_date, id) descending is
+-- the list order and the cursor, optionally under one account. They cover the single-column
+-- indexes they replace, which become redundant write overhead.
+CREATE INDEX IF NOT EXISTS idx_transactions_date_id
+    ON transactions(transaction_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_transactions_account_date_id
+    ON transactions(account_id, transaction_date DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_transactions_date;
+DROP INDEX IF EXISTS idx_transactions_account_id;
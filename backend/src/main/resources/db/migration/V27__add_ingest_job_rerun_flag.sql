@@ -0,0 +1,4 @@
+-- Set when a statement is re-enqueued while a worker is still running it; the job goes back to
+-- QUEUED once that run finishes instead of being reset under the running worker
+ALTER TABLE ingest_jobs
+    ADD COLUMN rerun_requested BOOLEAN NOT NULL DEFAULT FALSE;
@@ -0,0 +1,20 @@
+-- Every statement that listed a fingerprinted transaction, including the statements whose copy was
+-- dropped as a duplicate on insert (the row itself only records the statement that won). When a
+-- statement is deleted or reprocessed, the rows it shares with another statement are handed to that
+-- statement instead of being deleted with it (StatementService.deleteTransactions).
+CREATE TABLE IF NOT EXISTS transaction_claims (
+    fingerprint      VARCHAR(32) NOT NULL,
+    transaction_date DATE        NOT NULL,
+    statement_id     UUID        NOT NULL REFERENCES statements(id) ON DELETE CASCADE,
+    PRIMARY KEY (fingerprint, transaction_date, statement_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_transaction_claims_statement ON transaction_claims(statement_id);
+
+-- Only the owning statement is known for rows imported before this migration; duplicates that
+-- were already dropped left no trace, so those rows still go with their owner on delete
+INSERT INTO transaction_claims (fingerprint, transaction_date, statement_id)
+SELECT fingerprint, transaction_date, statement_id
+FROM transactions
+WHERE fingerprint IS NOT NULL AND statement_id IS NOT NULL
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,137 @@
+package com.financialguru.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link AhoCorasick} must report exactly what the {@code lower.contains(keyword)} loops it replaced
+ * would find — every keyword at every position, overlaps and nested keywords included, in any case.
+ */
+class AhoCorasickTest {
+
+    @Test
+    void reportsOverlappingAndNestedMatches() {
+        AhoCorasick<String> automaton = automaton(List.of("he", "she", "his", "hers"));
+
+        assertThat(matches(automaton, "ushers")).containsExactly("she@1", "he@2", "hers@2");
+        assertThat(matches(automaton, "hishe")).containsExactly("his@0", "she@2", "he@3");
+    }
+
+    @Test
+    void repeatedPrefixesFollowTheirFailureLinks() {
+        AhoCorasick<String> automaton = automaton(List.of("aa", "aaa", "ab"));
+
+        assertThat(matches(automaton, "aaaab"))
+            .containsExactly("aa@0", "aaa@0", "aa@1", "aaa@1", "aa@2", "ab@3");
+    }
+
+    @Test
+    void foldsCaseOfPatternsAndText() {
+        AhoCorasick<String> automaton = automaton(List.of("Whole Foods", "h-e-b", "tst*"));
+
+        assertThat(matches(automaton, "WHOLE FOODS MKT")).containsExactly("Whole Foods@0");
+        assertThat(matches(automaton, "wHoLe fOoDs")).containsExactly("Whole Foods@0");
+        assertThat(matches(automaton, "H-E-B #512")).containsExactly("h-e-b@0");
+        assertThat(matches(automaton, "TST* BLUE BOTTLE")).containsExactly("tst*@0");
+        // Non-ASCII text never matches an ASCII pattern character
+        assertThat(matches(automaton, "whole fóods")).isEmpty();
+    }
+
+    @Test
+    void scansOnlyTheRequestedRange() {
+        AhoCorasick<String> automaton = automaton(List.of("chase", "citi"));
+        String text = "citi ... chase";
+
+        assertThat(matches(automaton, text, 0, 8)).containsExactly("citi@0");
+        assertThat(matches(automaton, text, 4, text.length())).containsExactly("chase@9");
+        assertThat(matches(automaton, text, 10, text.length())).isEmpty();
+        assertThat(automaton.maxPatternLength()).isEqualTo(5);
+    }
+
+    @Test
+    void handlerCanStopTheScan() {
+        AhoCorasick<String> automaton = automaton(List.of("a"));
+        List<Integer> seen = new ArrayList<>();
+
+        automaton.scan("aaaa", (keyword, start, end) -> {
+            seen.add(start);
+            return seen.size() < 2;
+        });
+        assertThat(seen).containsExactly(0, 1);
+    }
+
+    @Test
+    void rejectsPatternsItCannotFold() {
+        assertThatThrownBy(() -> AhoCorasick.<String>builder().add("", "")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AhoCorasick.<String>builder().add("café", "")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void agreesWithContainsOnRandomText() {
+        Random random = new Random(42);
+        String alphabet = "abcAB -*";
+        for (int round = 0; round < 200; round++) {
+            List<String> keywords = new ArrayList<>();
+            for (int k = 1 + random.nextInt(12); k > 0; k--) keywords.add(randomString(random, alphabet, 1, 5));
+            AhoCorasick<String> automaton = automaton(keywords);
+
+            for (int t = 0; t < 50; t++) {
+                String text = randomString(random, alphabet, 0, 40);
+                List<String> found = matches(automaton, text);
+                String lower = text.toLowerCase(Locale.ROOT);
+                for (String keyword : keywords) {
+                    assertThat(found.stream().anyMatch(m -> m.startsWith(keyword + "@")))
+                        .as("%s in %s", keyword, text)
+                        .isEqualTo(lower.contains(keyword.toLowerCase(Locale.ROOT)));
+                }
+                assertThat(found).as(text).containsExactlyInAnyOrderElementsOf(naive(keywords, lower));
+            }
+        }
+    }
+
+    private static AhoCorasick<String> automaton(List<String> keywords) {
+        AhoCorasick.Builder<String> builder = AhoCorasick.builder();
+        keywords.forEach(k -> builder.add(k, k));
+        return builder.build();
+    }
+
+    private static List<String> matches(AhoCorasick<String> automaton, String text) {
+        return matches(automaton, text, 0, text.length());
+    }
+
+    /** "keyword@start" per match, in report order; also checks each span covers the keyword. */
+    private static List<String> matches(AhoCorasick<String> automaton, String text, int from, int to) {
+        List<String> found = new ArrayList<>();
+        automaton.scan(text, from, to, (keyword, start, end) -> {
+            assertThat(text.substring(start, end)).isEqualToIgnoringCase(keyword);
+            found.add(keyword + "@" + start);
+            return true;
+        });
+        return found;
+    }
+
+    /** Every occurrence of every keyword, found with indexOf the way the old loops did. */
+    private static List<String> naive(List<String> keywords, String lower) {
+        List<String> found = new ArrayList<>();
+        for (String keyword : keywords) {
+            String k = keyword.toLowerCase(Locale.ROOT);
+            for (int i = lower.indexOf(k); i >= 0; i = lower.indexOf(k, i + 1)) found.add(keyword + "@" + i);
+        }
+        return found;
+    }
+
+    private static String randomString(Random random, String alphabet, int min, int max) {
+        StringBuilder sb = new StringBuilder();
+        for (int n = min + random.nextInt(max - min + 1); n > 0; n--) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,56 @@
+package com.financialguru.parser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link InstitutionDetector}: the issuer named in the header wins over any bank mentioned further
+ * down, matching ignores case, and header-only keywords are not trusted in the body.
+ */
+class InstitutionDetectorTest {
+
+    private final InstitutionDetector detector = new InstitutionDetector();
+
+    @Test
+    void headerHitIsCertain() {
+        assertThat(detector.detect("AMERICAN EXPRESS\nStatement closing date 01/05/25"))
+            .isEqualTo(new InstitutionDetector.Detection("AMEX", 1.0));
+    }
+
+    @Test
+    void headerWinsOverTheBody() {
+        String text = "Chase Freedom statement\n" + filler(2000) + "AutoPay from Bank of America, NA";
+
+        assertThat(detector.detect(text).institution()).isEqualTo("CHASE");
+    }
+
+    @Test
+    void severalIssuersInTheHeaderPickTheHighestPriority() {
+        assertThat(detector.detect("Apple Card\nIssued by Goldman Sachs Bank USA. Payments via Chase"))
+            .isEqualTo(new InstitutionDetector.Detection("CHASE", 0.8));
+    }
+
+    @Test
+    void bodyHitIsLessCertain() {
+        assertThat(detector.detect(filler(2000) + "Wells Fargo Bank, N.A."))
+            .isEqualTo(new InstitutionDetector.Detection("WELLS_FARGO", 0.6));
+    }
+
+    @Test
+    void keywordStraddlingTheHeaderBoundaryIsFound() {
+        // "discover" starts four chars before the 1500-char header ends
+        assertThat(detector.detect(filler(1496) + "DISCOVER card").institution()).isEqualTo("DISCOVER");
+    }
+
+    @Test
+    void headerOnlyKeywordIsIgnoredInTheBody() {
+        assertThat(detector.detect("CitiCards\nAccount summary").institution()).isEqualTo("CITI");
+        assertThat(detector.detect(filler(2000) + "pay online at citicards.com"))
+            .isEqualTo(new InstitutionDetector.Detection(InstitutionDetector.GENERIC, 0.0));
+    }
+
+    private static String filler(int length) {
+        return "x".repeat(length);
+    }
+}
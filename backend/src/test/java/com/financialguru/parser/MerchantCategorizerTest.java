@@ -0,0 +1,94 @@
+package com.financialguru.parser;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link MerchantCategorizer} must pick the category the old if-chain of {@code lower.contains}
+ * checks picked: the first rule, in table order, with any keyword anywhere in the merchant name.
+ */
+class MerchantCategorizerTest {
+
+    private final MerchantCategorizer categorizer = new MerchantCategorizer(10_000);
+
+    @Test
+    void earliestRuleWins() {
+        assertThat(categorizer.categorize("STARBUCKS STORE #1234")).isEqualTo("Dining");
+        // "giant" (Groceries) beats "pizza" (Dining); "uber eats" (Dining) beats "uber" (Transportation)
+        assertThat(categorizer.categorize("GIANT PIZZA CO")).isEqualTo("Groceries");
+        assertThat(categorizer.categorize("UBER EATS PENDING")).isEqualTo("Dining");
+        assertThat(categorizer.categorize("UBER *TRIP")).isEqualTo("Transportation");
+        assertThat(categorizer.categorize("Target T-1234")).isEqualTo("Shopping");
+        assertThat(categorizer.categorize("ACME WIDGETS LLC")).isNull();
+    }
+
+    @Test
+    void memoDoesNotChangeAnswers() {
+        MerchantCategorizer tiny = new MerchantCategorizer(2);
+        List<String> merchants = List.of("KROGER #12", "NETFLIX.COM", "ACME", "KROGER #12", "Shell Oil 5744", "ACME");
+        for (int pass = 0; pass < 3; pass++) {
+            for (String merchant : merchants) {
+                assertThat(tiny.categorize(merchant)).isEqualTo(oldChain(merchant));
+            }
+        }
+    }
+
+    @Test
+    void agreesWithTheOldChainOnRandomMerchants() {
+        List<String> keywords = new ArrayList<>();
+        rules().forEach(rule -> keywords.addAll(keywordsOf(rule)));
+        Random random = new Random(7);
+        String noise = "abcdefghijklmnopqrstuvwxyz0123456789 #*-.&/";
+
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder merchant = new StringBuilder();
+            for (int part = random.nextInt(4); part >= 0; part--) {
+                if (random.nextBoolean()) {
+                    String keyword = keywords.get(random.nextInt(keywords.size()));
+                    // Whole keyword, or a fragment that may only match once joined with its neighbour
+                    int from = random.nextInt(3) == 0 ? random.nextInt(keyword.length()) : 0;
+                    merchant.append(keyword, from, keyword.length());
+                } else {
+                    for (int n = random.nextInt(6); n > 0; n--) merchant.append(noise.charAt(random.nextInt(noise.length())));
+                }
+            }
+            String name = randomCase(random, merchant.toString());
+            assertThat(categorizer.categorize(name)).as(name).isEqualTo(oldChain(name));
+        }
+    }
+
+    /** The if-chain the categorizer replaced, over the same table. */
+    private static String oldChain(String merchantName) {
+        String lower = merchantName.toLowerCase(Locale.ROOT);
+        for (Object rule : rules()) {
+            for (String keyword : keywordsOf(rule)) {
+                if (lower.contains(keyword)) return ReflectionTestUtils.invokeMethod(rule, "category");
+            }
+        }
+        return null;
+    }
+
+    private static List<?> rules() {
+        return (List<?>) ReflectionTestUtils.getField(MerchantCategorizer.class, "RULES");
+    }
+
+    private static List<String> keywordsOf(Object rule) {
+        return ReflectionTestUtils.invokeMethod(rule, "keywords");
+    }
+
+    private static String randomCase(Random random, String s) {
+        StringBuilder out = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            out.append(random.nextBoolean() ? Character.toUpperCase(c) : c);
+        }
+        return out.toString();
+    }
+}
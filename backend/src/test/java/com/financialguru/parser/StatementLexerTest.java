@@ -0,0 +1,134 @@
+package com.financialguru.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static com.financialguru.parser.StatementLexer.NO_AMOUNT;
+import static com.financialguru.parser.StatementLexer.NO_DATE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link StatementLexer} against the amount and date shapes statements actually print, and the
+ * malformed ones it must reject through its sentinels rather than misread.
+ */
+class StatementLexerTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '=', value = {
+        "$1,234.56    = 123456",
+        "(1,234.56)   = -123456",
+        "($500.00)    = -50000",
+        "-$5.00       = -500",
+        "$-5.00       = -500",
+        "- $63.00     = -6300",
+        "+12.5        = 1250",
+        "5,000        = 500000",
+        "1,234,567    = 123456700",
+        "48,25        = 4825",
+        "0.07         = 7",
+        ".99          = 99",
+        "9999999999999999.99 = 999999999999999999",
+    })
+    void parsesAmounts(String text, long cents) {
+        assertThat(StatementLexer.cents(text)).isEqualTo(cents);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "", "$", "-", "()", "(5.00", "1.234", "12.3.4", "5,00,0.00x", "abc", "1 2",
+        // 17 integer digits would no longer fit in a long once scaled to cents
+        "12345678901234567", "12345678901234567.00", "-99,999,999,999,999,999.99"
+    })
+    void rejectsMalformedAmounts(String text) {
+        assertThat(StatementLexer.cents(text)).isEqualTo(NO_AMOUNT);
+    }
+
+    @Test
+    void sixteenIntegerDigitsAreTheLimit() {
+        assertThat(StatementLexer.cents("1234567890123456")).isEqualTo(123456789012345600L);
+        assertThat(StatementLexer.cents("-1,234,567,890,123,456.78")).isEqualTo(-123456789012345678L);
+    }
+
+    @Test
+    void amountsConvertOnlyWhenPresent() {
+        assertThat(StatementLexer.toAmount(StatementLexer.cents("(1,234.56)"))).isEqualByComparingTo("-1234.56");
+        assertThat(StatementLexer.toAmount(StatementLexer.cents("48,25"))).isEqualTo(new BigDecimal("48.25"));
+        assertThat(StatementLexer.toAmount(NO_AMOUNT)).isNull();
+    }
+
+    @Test
+    void parsesARangeWithoutCopying() {
+        String line = "01/05  COFFEE SHOP  ($4.50)  tail";
+        assertThat(StatementLexer.monthDay(line, 0, 5)).isEqualTo(105);
+        assertThat(StatementLexer.cents(line, 20, 27)).isEqualTo(-450);
+        assertThat(StatementLexer.cents(line, 7, 27)).isEqualTo(NO_AMOUNT);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "01/05/2025,      2025-01-05",
+        "1/5/25,          2025-01-05",
+        "12/31/99,        2099-12-31",
+        "02/29/2024,      2024-02-29",
+        "Jan 5 2025,      2025-01-05",
+        "'Jan. 5, 2025',  2025-01-05",
+        "September 30 2024, 2024-09-30",
+        "Sept 3 2024,     2024-09-03",
+        "05 Jan 2025,     2025-01-05",
+        "2025-01-05,      2025-01-05",
+        "'  03/15/2025 ', 2025-03-15",
+    })
+    void parsesDates(String text, LocalDate expected) {
+        assertThat(StatementLexer.toLocalDate(StatementLexer.date(text, 1999))).isEqualTo(expected);
+    }
+
+    @Test
+    void twoDigitYearsAreThisCentury() {
+        assertThat(StatementLexer.slashDate("07/04/25")).isEqualTo(StatementLexer.slashDate("07/04/2025"));
+        assertThat(StatementLexer.toLocalDate(StatementLexer.slashDate("07/04/00"))).isEqualTo(LocalDate.of(2000, 7, 4));
+        // Only two or four digits make a year
+        assertThat(StatementLexer.slashDate("07/04/5")).isEqualTo(NO_DATE);
+        assertThat(StatementLexer.slashDate("07/04/202")).isEqualTo(NO_DATE);
+        assertThat(StatementLexer.slashDate("07/04/20255")).isEqualTo(NO_DATE);
+        assertThat(StatementLexer.monthNameDate("Jul 4, 25", 0, 9)).isEqualTo(NO_DATE);
+    }
+
+    @Test
+    void dayPastTheEndOfTheMonthIsClamped() {
+        // Lenient like the formatters the lexer replaced: the last day of the month, not an error
+        assertThat(StatementLexer.toLocalDate(StatementLexer.slashDate("02/30/25"))).isEqualTo(LocalDate.of(2025, 2, 28));
+        assertThat(StatementLexer.toLocalDate(StatementLexer.slashDate("02/31/2024"))).isEqualTo(LocalDate.of(2024, 2, 29));
+        assertThat(StatementLexer.toLocalDate(StatementLexer.slashDate("04/31/2025"))).isEqualTo(LocalDate.of(2025, 4, 30));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "", "13/01/25", "00/10/25", "01/00/25", "01/32/25", "13/01", "01-05-2025", "01/05/25x",
+        "Foo 5 2025", "Ja 5 2025", "Jan 2025", "2025-13-01", "2025-1-05", "32 Jan 2025"
+    })
+    void rejectsInvalidDates(String text) {
+        assertThat(StatementLexer.date(text, 2025)).isEqualTo(NO_DATE);
+    }
+
+    @Test
+    void monthDayTakesTheDefaultYear() {
+        assertThat(StatementLexer.monthDay("02/14")).isEqualTo(214);
+        assertThat(StatementLexer.monthDay("Feb. 14")).isEqualTo(214);
+        assertThat(StatementLexer.monthDay("13/01")).isEqualTo(NO_DATE);
+        assertThat(StatementLexer.monthDay("02/32")).isEqualTo(NO_DATE);
+        assertThat(StatementLexer.toLocalDate(StatementLexer.date("02/14", 2023))).isEqualTo(LocalDate.of(2023, 2, 14));
+    }
+
+    @Test
+    void epochDayMatchesLocalDate() {
+        for (LocalDate d = LocalDate.of(1899, 1, 1); d.isBefore(LocalDate.of(2101, 1, 1)); d = d.plusDays(1)) {
+            assertThat(StatementLexer.epochDay(d.getYear(), d.getMonthValue(), d.getDayOfMonth()))
+                .as("%s", d).isEqualTo((int) d.toEpochDay());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.financialguru.parser.bench;
+
+import com.financialguru.parser.LineScanner;
+import com.financialguru.parser.bench.SyntheticStatementCorpus.Layout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The line walk every parser does, old style against {@link LineScanner}: split + trim +
+ * toLowerCase section checks and a fresh matcher per line, versus the zero-copy scanner with
+ * shape prefilters and reused matchers. Both count the same transaction rows. Run with
+ * {@code -prof gc} to compare bytes allocated per statement.
+ *
+ * <pre>
+ * mvn -Pjmh verify -DskipTests -Djmh.args="LineScannerBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class LineScannerBenchmark {
+
+    // Chase-style row: "01/05  MERCHANT NAME  1,234.56"
+    private static final Pattern ROW = Pattern.compile("(\\d{2}/\\d{2})\\s+(.+?)\\s+(-?\\$?[\\d,]+\\.\\d{2})");
+
+    @Param("20000")
+    public int lines;
+
+    private String text;
+    private int expectedRows;
+
+    @Setup
+    public void setUp() {
+        text = SyntheticStatementCorpus.generate(Layout.CHASE, lines, 42);
+        expectedRows = splitTrim();
+        if (expectedRows == 0 || lineScanner() != expectedRows) {
+            throw new IllegalStateException("Line walks disagree on the synthetic statement");
+        }
+    }
+
+    @Benchmark
+    public int splitTrim() {
+        int rows = 0;
+        boolean inSection = false;
+        for (String line : text.split("\n")) {
+            line = line.trim();
+            if (line.isBlank()) continue;
+            String lower = line.toLowerCase();
+            if (lower.contains("account activity") || lower.contains("transaction detail")) {
+                inSection = true;
+                continue;
+            }
+            if (lower.startsWith("totals year") || lower.startsWith("total fees")) inSection = false;
+            if (!inSection) continue;
+            Matcher m = ROW.matcher(line);
+            if (m.matches()) rows++;
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public int lineScanner() {
+        int rows = 0;
+        boolean inSection = false;
+        LineScanner line = new LineScanner(text);
+        Matcher m = ROW.matcher("");
+        while (line.next()) {
+            if (line.containsAnyIgnoreCase("account activity", "transaction detail")) {
+                inSection = true;
+                continue;
+            }
+            if (line.startsWithAnyIgnoreCase("totals year", "total fees")) inSection = false;
+            if (!inSection) continue;
+            if (!line.startsWithMmDd() || !line.endsWithAmount()) continue;
+            if (line.firstMatch(m) != null) rows++;
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,103 @@
+package com.financialguru.parser.bench;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.financialguru.model.Account;
+import com.financialguru.model.Statement;
+import com.financialguru.model.Transaction;
+import com.financialguru.parser.AmexParser;
+import com.financialguru.parser.BankOfAmericaParser;
+import com.financialguru.parser.BankStatementParser;
+import com.financialguru.parser.CapitalOneParser;
+import com.financialguru.parser.ChaseParser;
+import com.financialguru.parser.CitiParser;
+import com.financialguru.parser.DiscoverParser;
+import com.financialguru.parser.GenericPdfParser;
+import com.financialguru.parser.GoldmanSachsParser;
+import com.financialguru.parser.WellsFargoParser;
+import com.financialguru.parser.bench.SyntheticStatementCorpus.Layout;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse throughput of every statement parser on a {@link SyntheticStatementCorpus} in its
+ * institution's layout — no Spring context or database. The {@code lines} counter is reported
+ * as lines/sec; run with {@code -prof gc} for bytes allocated per parse
+ * ({@code gc.alloc.rate.norm}).
+ *
+ * <pre>
+ * mvn -Pjmh verify -DskipTests -Djmh.args="ParserBenchmark -prof gc -p layout=CHASE"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({"CHASE", "AMEX", "CITI", "DISCOVER", "CAPITAL_ONE", "GOLDMAN_SACHS",
+            "BANK_OF_AMERICA", "WELLS_FARGO", "GENERIC"})
+    public Layout layout;
+
+    @Param("20000")
+    public int lines;
+
+    private BankStatementParser parser;
+    private String text;
+    private int lineCount;
+
+    /** Lines parsed, so JMH reports them per second alongside parses per second. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Lines {
+        public long lines;
+    }
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() {
+        // Parsers log every transaction at DEBUG; keep logging out of the measurement
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        parser = parserFor(layout);
+        text = SyntheticStatementCorpus.generate(layout, lines, 42);
+        lineCount = (int) text.lines().count();
+        if (parser.parse(text, new Statement(), new Account()).isEmpty()) {
+            throw new IllegalStateException(layout + " parser found no transactions in its corpus");
+        }
+    }
+
+    @Benchmark
+    public List<Transaction> parse(Lines counter) {
+        counter.lines += lineCount;
+        return parser.parse(text, new Statement(), new Account());
+    }
+
+    static BankStatementParser parserFor(Layout layout) {
+        return switch (layout) {
+            case CHASE -> new ChaseParser();
+            case AMEX -> new AmexParser();
+            case CITI -> new CitiParser();
+            case DISCOVER -> new DiscoverParser();
+            case CAPITAL_ONE -> new CapitalOneParser();
+            case GOLDMAN_SACHS -> new GoldmanSachsParser();
+            case BANK_OF_AMERICA -> new BankOfAmericaParser();
+            case WELLS_FARGO -> new WellsFargoParser();
+            case GENERIC -> new GenericPdfParser();
+        };
+    }
+}
@@ -0,0 +1,179 @@
+package com.financialguru.parser.bench;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Deterministic, synthetic statement text in the layout each institution parser expects.
+ *
+ * Real statements cannot be checked into the repo, so parser throughput is measured on
+ * generated text instead: a period/summary header, section markers, transaction rows in
+ * the institution's own date and amount format, and a sprinkling of page furniture
+ * (page footers, column headers) that the parsers have to skip. The same seed always
+ * produces the same text, so runs are comparable across parser changes.
+ */
+public final class SyntheticStatementCorpus {
+
+    /** One entry per institution code returned by {@code InstitutionDetector}. */
+    public enum Layout {
+        CHASE, AMEX, CITI, DISCOVER, CAPITAL_ONE, GOLDMAN_SACHS, BANK_OF_AMERICA, WELLS_FARGO, GENERIC
+    }
+
+    public static final int MAX_LINES = 100_000;
+
+    private static final String[] MERCHANTS = {
+        "AMAZON MKTPL*2K4LP9RT1", "STARBUCKS STORE 08812", "WHOLEFDS MKT 10233", "SHELL OIL 57442391",
+        "UBER *TRIP HELP.UBER.COM", "NETFLIX.COM", "TARGET 00023481", "COSTCO WHSE #0117",
+        "CHIPOTLE 1429", "DELTA AIR 0062184751", "SPOTIFY USA", "HOME DEPOT #4711",
+        "WALGREENS #7731", "TRADER JOE S #552", "APPLE.COM/BILL", "CVS/PHARMACY #02291",
+        "LYFT *RIDE SUN 9PM", "DOORDASH*THAI BASIL", "COMCAST CABLE COMM", "PG&E WEBRECURRING"
+    };
+    private static final String[] NOISE = {
+        "Page 2 of 7", "Continued on next page", "Date  Description  Amount",
+        "Trans Date  Post Date  Description  Amount", "Customer Service 1-800-555-0100"
+    };
+    private static final String[] MONTHS = {
+        "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
+    };
+
+    private static final LocalDate PERIOD_START = LocalDate.of(2026, 1, 1);
+    private static final LocalDate PERIOD_END = LocalDate.of(2026, 1, 31);
+
+    private SyntheticStatementCorpus() {}
+
+    /** Statement text of roughly {@code lines} lines (capped at {@link #MAX_LINES}). */
+    public static String generate(Layout layout, int lines, long seed) {
+        int count = Math.max(1, Math.min(lines, MAX_LINES));
+        Random random = new Random(seed ^ layout.ordinal());
+        StringBuilder sb = new StringBuilder(count * 64);
+        header(layout, sb);
+
+        int paymentsAt = count - Math.max(1, count / 20);
+        for (int i = 0; i < count; i++) {
+            if (i == paymentsAt) paymentsSection(layout, sb);
+            if (random.nextInt(12) == 0) {
+                sb.append(NOISE[random.nextInt(NOISE.length)]).append('\n');
+                continue;
+            }
+            LocalDate date = PERIOD_START.plusDays(random.nextInt(31));
+            String merchant = MERCHANTS[random.nextInt(MERCHANTS.length)];
+            long cents = 100 + random.nextInt(250_000);
+            row(layout, sb, date, merchant, i >= paymentsAt ? -cents : cents);
+        }
+        return sb.toString();
+    }
+
+    private static void header(Layout layout, StringBuilder sb) {
+        switch (layout) {
+            case CHASE -> sb.append("Opening/Closing Date 01/01/26 - 01/31/26\n")
+                            .append("New Balance $4,812.33\n")
+                            .append("ACCOUNT ACTIVITY\n");
+            case AMEX -> sb.append("Closing Date 01/31/26\n")
+                           .append("New Charges\n");
+            case CITI -> sb.append("Statement Period 01/01/2026 to 01/31/2026\n")
+                           .append("Standard Purchases\n");
+            case DISCOVER -> sb.append("Opening Date 01/01/2026  Closing Date 01/31/2026\n")
+                               .append("Purchases and Cash Advances\n");
+            case CAPITAL_ONE -> sb.append("Jan 1, 2026 - Jan 31, 2026 | 31 days in Billing Cycle\n")
+                                  .append("Transactions\n");
+            case GOLDMAN_SACHS -> sb.append("Billing Period: Jan 1, 2026 - Jan 31, 2026\n")
+                                    .append("Transactions\n");
+            case BANK_OF_AMERICA -> sb.append("Statement Closing Date 01/31/2026\n")
+                                      .append("Purchases and Adjustments\n");
+            case WELLS_FARGO, GENERIC -> sb.append("Statement Period 01/01/2026 - 01/31/2026\n");
+        }
+    }
+
+    private static void paymentsSection(Layout layout, StringBuilder sb) {
+        switch (layout) {
+            case AMEX -> sb.append("Payments and Credits\n");
+            case BANK_OF_AMERICA -> sb.append("Payments and Other Credits\n");
+            case DISCOVER, CITI -> sb.append("Payments and Credits\n");
+            default -> { }
+        }
+    }
+
+    private static void row(Layout layout, StringBuilder sb, LocalDate date, String merchant, long cents) {
+        int mm = date.getMonthValue();
+        int dd = date.getDayOfMonth();
+        LocalDate post = date.plusDays(1);
+        switch (layout) {
+            case CHASE -> {
+                mmdd(sb, mm, dd).append("     ").append(merchant).append("     ");
+                amount(sb, cents, false);
+            }
+            case AMEX -> {
+                mmdd(sb, mm, dd).append('/').append(date.getYear() % 100).append("   ").append(merchant).append("   ");
+                amount(sb, cents, true);
+            }
+            case CITI -> {
+                mmdd(sb, mm, dd).append(' ');
+                mmdd(sb, post.getMonthValue(), post.getDayOfMonth()).append("  ").append(merchant).append("     ");
+                amount(sb, cents, false);
+            }
+            case DISCOVER -> {
+                mmdd(sb, mm, dd).append('/').append(date.getYear() % 100).append(' ');
+                mmdd(sb, post.getMonthValue(), post.getDayOfMonth()).append('/').append(post.getYear() % 100)
+                    .append("  ").append(merchant).append("     ");
+                amount(sb, cents, true);
+            }
+            case CAPITAL_ONE -> {
+                sb.append(MONTHS[mm - 1]).append(' ').append(dd).append(' ')
+                  .append(MONTHS[post.getMonthValue() - 1]).append(' ').append(post.getDayOfMonth())
+                  .append(' ').append(merchant).append(' ');
+                if (cents < 0) sb.append("- ");
+                amount(sb, Math.abs(cents), true);
+            }
+            case GOLDMAN_SACHS -> {
+                sb.append(MONTHS[mm - 1]).append(' ').append(dd).append(", ").append(date.getYear())
+                  .append("     ").append(merchant).append("     ");
+                if (cents < 0) {
+                    sb.append('(');
+                    amount(sb, -cents, true);
+                    sb.append(')');
+                } else {
+                    amount(sb, cents, true);
+                }
+            }
+            case BANK_OF_AMERICA -> {
+                mmdd(sb, mm, dd).append(' ');
+                mmdd(sb, post.getMonthValue(), post.getDayOfMonth()).append(' ').append(merchant)
+                    .append(" CHARLOTTE NC 0317 3266 ");
+                amount(sb, cents, false);
+            }
+            case WELLS_FARGO, GENERIC -> {
+                mmdd(sb, mm, dd).append('/').append(date.getYear()).append(' ').append(merchant).append(' ');
+                amount(sb, cents, true);
+            }
+        }
+        sb.append('\n');
+    }
+
+    private static StringBuilder mmdd(StringBuilder sb, int mm, int dd) {
+        if (mm < 10) sb.append('0');
+        sb.append(mm).append('/');
+        if (dd < 10) sb.append('0');
+        return sb.append(dd);
+    }
+
+    /** "-$1,234.56" / "1,234.56" style amount. */
+    private static void amount(StringBuilder sb, long cents, boolean dollarSign) {
+        if (cents < 0) sb.append('-');
+        if (dollarSign) sb.append('$');
+        long abs = Math.abs(cents);
+        long units = abs / 100;
+        if (units >= 1000) {
+            sb.append(units / 1000).append(',');
+            long rest = units % 1000;
+            if (rest < 100) sb.append('0');
+            if (rest < 10) sb.append('0');
+            sb.append(rest);
+        } else {
+            sb.append(units);
+        }
+        long fraction = abs % 100;
+        sb.append('.');
+        if (fraction < 10) sb.append('0');
+        sb.append(fraction);
+    }
+}
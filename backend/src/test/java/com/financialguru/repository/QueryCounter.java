@@ -0,0 +1,39 @@
+package com.financialguru.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL statements Hibernate prepares on the current thread. Registered by the tests that
+ * use it through {@code spring.jpa.properties.hibernate.session_factory.statement_inspector};
+ * Hibernate creates the instance, hence the static state. JdbcTemplate statements bypass it.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) statements.add(sql);
+        return sql;
+    }
+
+    /** Statements Hibernate prepared on this thread while {@code action} ran. */
+    public static int count(Runnable action) {
+        return statements(action).size();
+    }
+
+    /** The SQL of those statements, in order, with {@code ?} placeholders. */
+    public static List<String> statements(Runnable action) {
+        STATEMENTS.set(new ArrayList<>());
+        try {
+            action.run();
+            return STATEMENTS.get();
+        } finally {
+            STATEMENTS.remove();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.financialguru.repository;
+
+import com.financialguru.model.Account;
+import com.financialguru.model.Transaction;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link TransactionBulkWriter#insertAll} against PostgreSQL, through COPY and the merge, and its
+ * recovery from a month whose partition disappeared after this process ensured it. Runs outside a
+ * test transaction, like an ingest: partitions are created in a side transaction, which must see
+ * a dropped partition as committed.
+ */
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+@Import({TransactionBulkWriter.class, TransactionPartitions.class, SpendingRollupWriter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransactionBulkWriterTest {
+
+    // Far from any month the migrations or other tests create
+    private static final LocalDate DAY = LocalDate.of(2031, 1, 15);
+
+    @Autowired
+    private TransactionBulkWriter writer;
+
+    @Autowired
+    private TransactionPartitions partitions;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UUID accountId;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE transaction_date = ?", DAY);
+        jdbcTemplate.update("DELETE FROM daily_spending_rollup WHERE spend_date = ?", DAY);
+        if (accountId != null) jdbcTemplate.update("DELETE FROM accounts WHERE id = ?", accountId);
+        jdbcTemplate.execute("ALTER TABLE transactions DROP CONSTRAINT IF EXISTS test_amount_cap");
+    }
+
+    @Test
+    void copiesRowsAndDropsFingerprintDuplicates() {
+        accountId = jdbcTemplate.queryForObject(
+            "INSERT INTO accounts (name, type) VALUES ('Checking', 'CHECKING') RETURNING id", UUID.class);
+        Account account = Account.builder().id(accountId).build();
+
+        List<Transaction> first = List.of(debit("4.50", account), debit("4.50", account), debit("12.00", account));
+        new TransactionFingerprinter().assign(first);
+        assertThat(insert(first)).hasSize(3);
+
+        // The same three rows from an overlapping statement, plus one new row
+        List<Transaction> overlap = List.of(debit("4.50", account), debit("4.50", account), debit("12.00", account),
+            debit("7.25", account));
+        new TransactionFingerprinter().assign(overlap);
+        List<Transaction> inserted = insert(overlap);
+
+        assertThat(inserted).containsExactly(overlap.get(3));
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM transactions WHERE transaction_date = ?", Integer.class, DAY)).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT SUM(total_amount) FROM daily_spending_rollup WHERE spend_date = ?", BigDecimal.class, DAY))
+            .isEqualByComparingTo("28.25");
+    }
+
+    @Test
+    void recreatesAPartitionDroppedAfterItWasEnsured() {
+        partitions.ensureFor(List.of(debit("1.00", null)));
+        jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION transactions_p2031_01");
+        jdbcTemplate.execute("DROP TABLE transactions_p2031_01");
+
+        assertThat(insert(List.of(debit("2.00", null)))).hasSize(1);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM transactions WHERE transaction_date = ?", Integer.class, DAY)).isEqualTo(1);
+    }
+
+    @Test
+    void checkViolationWithThePartitionPresentIsNotRetried() {
+        partitions.ensureFor(List.of(debit("1.00", null)));
+        // Raises the same SQLSTATE as a missing partition
+        jdbcTemplate.execute("ALTER TABLE transactions ADD CONSTRAINT test_amount_cap CHECK (amount < 1000)");
+
+        assertThatThrownBy(() -> insert(List.of(debit("5000.00", null))))
+            .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM transactions WHERE transaction_date = ?", Integer.class, DAY)).isZero();
+    }
+
+    private List<Transaction> insert(List<Transaction> transactions) {
+        return new TransactionTemplate(transactionManager).execute(status -> writer.insertAll(transactions));
+    }
+
+    private static Transaction debit(String amount, Account account) {
+        return Transaction.builder()
+            .account(account)
+            .transactionDate(DAY)
+            .description("HARDWARE STORE")
+            .merchantName("Hardware Store")
+            .amount(new BigDecimal(amount))
+            .type(Transaction.TransactionType.DEBIT)
+            .build();
+    }
+}
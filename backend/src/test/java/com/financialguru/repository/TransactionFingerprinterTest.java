@@ -0,0 +1,107 @@
+package com.financialguru.repository;
+
+import com.financialguru.model.Account;
+import com.financialguru.model.Transaction;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link TransactionFingerprinter} must produce the fingerprints the V22 backfill computed for rows
+ * imported before fingerprints existed; otherwise re-importing an old statement duplicates its rows.
+ * Replays the migration's own statements over the same rows.
+ */
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+class TransactionFingerprinterTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 14);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void matchesTheV22Backfill() throws IOException {
+        jdbcTemplate.queryForObject("SELECT ensure_transactions_partition(?)", Boolean.class, java.sql.Date.valueOf(DAY));
+        UUID accountId = jdbcTemplate.queryForObject(
+            "INSERT INTO accounts (name, type) VALUES ('Checking', 'CHECKING') RETURNING id", UUID.class);
+        Account account = Account.builder().id(accountId).build();
+
+        List<Transaction> statement = List.of(
+            row(account, DAY, "COFFEE SHOP #12", "4.50", Transaction.TransactionType.DEBIT, null),
+            // Same natural key after normalization: occurrences 2 and 3
+            row(account, DAY, "Coffee-Shop 12", "4.50", Transaction.TransactionType.DEBIT, null),
+            row(account, DAY, "coffee shop 12!", "4.50", Transaction.TransactionType.DEBIT, null),
+            row(account, DAY, "COFFEE SHOP #12", "4.50", Transaction.TransactionType.DEBIT, "REF-1"),
+            row(account, DAY, "PAYMENT - THANK YOU", "500.00", Transaction.TransactionType.PAYMENT, null),
+            row(account, DAY, "REFUND Café Ñandú", "12.30", Transaction.TransactionType.CREDIT, "77A"),
+            row(account, DAY.plusDays(1), "COFFEE SHOP #12", "4.50", Transaction.TransactionType.DEBIT, null),
+            row(account, DAY, null, "0.99", Transaction.TransactionType.FEE, null),
+            row(account, DAY, "INTEREST CHARGE", "0.05", Transaction.TransactionType.INTEREST, null));
+
+        UUID statementId = jdbcTemplate.queryForObject(
+            "INSERT INTO statements (account_id, file_name, file_path) VALUES (?, 'march.pdf', '/tmp/march.pdf') RETURNING id",
+            UUID.class, accountId);
+        Instant createdAt = Instant.parse("2024-04-01T00:00:00Z");
+        for (int i = 0; i < statement.size(); i++) {
+            Transaction t = statement.get(i);
+            // The backfill numbers occurrences in created_at order, the fingerprinter in list order
+            jdbcTemplate.update("INSERT INTO transactions (id, account_id, statement_id, transaction_date, description, "
+                    + "amount, type, reference_number, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                t.getId(), accountId, statementId, t.getTransactionDate(), t.getDescription(), t.getAmount(),
+                t.getType().name(), t.getReferenceNumber(), Timestamp.from(createdAt.plusSeconds(i)));
+        }
+
+        // Replay the data steps only: the column exists and V24 replaced the index with a partitioned one
+        String v22 = new ClassPathResource("db/migration/V22__add_transaction_fingerprints.sql")
+            .getContentAsString(StandardCharsets.UTF_8)
+            .replaceAll("(?m)^--.*$", "");
+        Arrays.stream(v22.split(";"))
+            .map(String::strip)
+            .filter(sql -> sql.startsWith("WITH") || sql.startsWith("UPDATE"))
+            .forEach(jdbcTemplate::execute);
+        new TransactionFingerprinter().assign(statement);
+
+        Map<UUID, String> backfilled = jdbcTemplate.queryForList(
+                "SELECT id, fingerprint FROM transactions WHERE statement_id = ?", statementId).stream()
+            .collect(Collectors.toMap(r -> (UUID) r.get("id"), r -> (String) r.get("fingerprint")));
+        List<String> expected = new ArrayList<>();
+        statement.forEach(t -> expected.add(backfilled.get(t.getId())));
+        assertThat(statement).extracting(Transaction::getFingerprint)
+            .doesNotContainNull()
+            .doesNotHaveDuplicates()
+            .containsExactlyElementsOf(expected);
+    }
+
+    private static Transaction row(Account account, LocalDate date, String description, String amount,
+                                   Transaction.TransactionType type, String referenceNumber) {
+        return Transaction.builder()
+            .id(UUID.randomUUID())
+            .account(account)
+            .transactionDate(date)
+            .description(description)
+            .amount(new BigDecimal(amount))
+            .type(type)
+            .referenceNumber(referenceNumber)
+            .build();
+    }
+}
@@ -0,0 +1,143 @@
+package com.financialguru.service;
+
+import com.financialguru.parser.GenericPdfParser;
+import com.financialguru.parser.InstitutionDetector;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Streamed extraction ({@link PdfExtractionService#open}) must always end a consumer's stream:
+ * shutting the stream pool down while a producer is queued, stripping or blocked on a full queue
+ * fails the stream instead of leaving the consumer waiting for windows that never come.
+ */
+class PdfPageStreamTest {
+
+    private static final int PAGES = 12;
+
+    @TempDir
+    Path dir;
+
+    private PdfExtractionService extraction;
+    private File pdf;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        pdf = writePdf(dir.resolve("statement.pdf").toFile());
+
+        PdfDocumentLoader loader = new PdfDocumentLoader();
+        ReflectionTestUtils.setField(loader, "memoryMapped", true);
+        ReflectionTestUtils.setField(loader, "maxMainMemoryMb", 16L);
+        ReflectionTestUtils.setField(loader, "scratchDir", dir.toString());
+        ReflectionTestUtils.setField(loader, "budgetMb", 0);
+        ReflectionTestUtils.setField(loader, "baseMb", 16);
+        ReflectionTestUtils.setField(loader, "sizeFactor", 4.0);
+        ReflectionTestUtils.setField(loader, "admissionTimeoutSeconds", 5L);
+        ReflectionTestUtils.invokeMethod(loader, "init");
+
+        ExtractionCacheService cache = new ExtractionCacheService();
+        ReflectionTestUtils.setField(cache, "enabled", false);
+
+        GenericPdfParser generic = new GenericPdfParser();
+        extraction = new PdfExtractionService(List.of(generic), generic, new OcrService(), cache,
+            new InstitutionDetector(), loader);
+        ReflectionTestUtils.setField(extraction, "streamingEnabled", true);
+        ReflectionTestUtils.setField(extraction, "streamingMinPages", 4);
+        ReflectionTestUtils.setField(extraction, "streamingWindowPages", 1);
+        // One queued window: the producer is blocked on the queue long before the last page
+        ReflectionTestUtils.setField(extraction, "streamingQueueWindows", 1);
+        ReflectionTestUtils.setField(extraction, "streamingMaxStreams", 1);
+        ReflectionTestUtils.invokeMethod(extraction, "initPools");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(extraction, "shutdownPools");
+    }
+
+    @Test
+    void completeStreamYieldsEveryPage() {
+        try (PdfExtractionService.PageStream stream = extraction.open(pdf).stream()) {
+            assertThat(stream).isNotNull();
+            int windows = 0;
+            while (stream.hasNext()) {
+                assertThat(stream.next()).contains("Page " + (windows + 1) + " ");
+                windows++;
+            }
+            assertThat(windows).isEqualTo(PAGES);
+        }
+    }
+
+    @Test
+    void shutdownFailsTheStreamOfABlockedProducer() {
+        PdfExtractionService.PageStream stream = extraction.open(pdf).stream();
+        assertThat(stream.next()).contains("Page 1 ");
+
+        ReflectionTestUtils.invokeMethod(extraction, "shutdownPools");
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertThatThrownBy(() -> {
+                while (stream.hasNext()) stream.next();
+            })
+            .isInstanceOf(UncheckedIOException.class)
+            .hasCauseInstanceOf(InterruptedIOException.class));
+    }
+
+    @Test
+    void shutdownFailsTheStreamOfAProducerThatNeverStarted() {
+        // The first stream occupies the only producer thread; the second one waits in the pool queue
+        PdfExtractionService.PageStream running = extraction.open(pdf).stream();
+        PdfExtractionService.PageStream queued = extraction.open(pdf).stream();
+        assertThat(queued.next()).contains("Page 1 ");
+
+        ReflectionTestUtils.invokeMethod(extraction, "shutdownPools");
+
+        for (PdfExtractionService.PageStream stream : List.of(running, queued)) {
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertThatThrownBy(() -> {
+                    while (stream.hasNext()) stream.next();
+                })
+                .isInstanceOf(UncheckedIOException.class)
+                .hasCauseInstanceOf(InterruptedIOException.class));
+        }
+    }
+
+    private static File writePdf(File file) throws IOException {
+        PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        try (PDDocument doc = new PDDocument()) {
+            for (int p = 1; p <= PAGES; p++) {
+                PDPage page = new PDPage();
+                doc.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+                    content.beginText();
+                    content.setFont(font, 10);
+                    content.setLeading(14);
+                    content.newLineAtOffset(40, 750);
+                    content.showText("Page " + p + " of the account activity for this statement period");
+                    content.newLine();
+                    content.showText("01/05  COFFEE SHOP  4.50");
+                    content.endText();
+                }
+            }
+            doc.save(file);
+        }
+        return file;
+    }
+}
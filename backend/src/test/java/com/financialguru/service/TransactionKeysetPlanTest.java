@@ -0,0 +1,135 @@
+package com.financialguru.service;
+
+import com.financialguru.dto.request.TransactionFilterRequest;
+import com.financialguru.model.Account;
+import com.financialguru.model.Transaction;
+import com.financialguru.repository.QueryCounter;
+import com.financialguru.repository.SpendingRollupWriter;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A keyset page taken from an old cursor must start its index scan at the cursor instead of at
+ * the newest row, so its cost does not grow with page depth. Checked on the generic plan
+ * Postgres builds for the statement Hibernate actually issues.
+ */
+@DataJpaTest(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.financialguru.repository.QueryCounter")
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+@Import({TransactionService.class, SearchService.class, SpendingRollupWriter.class})
+class TransactionKeysetPlanTest {
+
+    private static final Pattern PARTITION_SCAN = Pattern.compile("Index Scan using \\S+ on transactions_p(\\d{4}_\\d{2})");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @MockBean
+    private SearchIndex searchIndex;
+
+    @Test
+    void oldCursorBoundsTheIndexScan() {
+        LocalDate start = LocalDate.of(2024, 1, 10);
+        Account account = entityManager.persist(Account.builder()
+            .name("Checking").type(Account.AccountType.CHECKING).build());
+        for (int month = 0; month < 6; month++) {
+            jdbcTemplate.queryForObject("SELECT ensure_transactions_partition(?)", Boolean.class,
+                java.sql.Date.valueOf(start.plusMonths(month)));
+            entityManager.persist(Transaction.builder()
+                .account(account)
+                .transactionDate(start.plusMonths(month))
+                .description("RENT")
+                .amount(new BigDecimal("1200.00"))
+                .type(Transaction.TransactionType.DEBIT)
+                .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        TransactionFilterRequest filter = new TransactionFilterRequest();
+        filter.setKeyset(true);
+        filter.setSize(2);
+        LocalDate cursorDate = start.plusMonths(1);
+        UUID cursorId = UUID.randomUUID();
+        filter.setCursor(cursor(cursorDate, cursorId));
+        List<String> sql = QueryCounter.statements(() -> transactionService.getTransactionsAfter(filter));
+
+        assertThat(sql).hasSize(1);
+        assertThat(sql.get(0)).containsPattern("transaction_date<=\\?");
+
+        // No data to speak of, so keep the planner off the scans a big table would never get; a
+        // generic plan is the one a prepared page query ends up with
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL enable_bitmapscan = off");
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+        jdbcTemplate.execute("PREPARE keyset_page AS " + numbered(sql.get(0)));
+        String types = jdbcTemplate.queryForObject("SELECT array_to_string(parameter_types::text[], ',') " +
+            "FROM pg_prepared_statements WHERE name = 'keyset_page'", String.class);
+        String args = Arrays.stream(types.split(","))
+            .map(type -> switch (type) {
+                case "date" -> "'" + cursorDate + "'";
+                case "uuid" -> "'" + cursorId + "'";
+                default -> "3"; // the row limit
+            })
+            .collect(Collectors.joining(", "));
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN (ANALYZE, COSTS OFF) EXECUTE keyset_page(" + args + ")", String.class);
+        jdbcTemplate.execute("DEALLOCATE keyset_page");
+        String planText = String.join("\n", plan);
+
+        // Each month scan is followed by its index condition
+        List<String> scanned = new ArrayList<>();
+        for (int i = 0; i + 1 < plan.size(); i++) {
+            Matcher scan = PARTITION_SCAN.matcher(plan.get(i));
+            if (!scan.find()) continue;
+            scanned.add(scan.group(1));
+            assertThat(plan.get(i + 1)).as(planText).contains("Index Cond: (transaction_date <= $");
+        }
+        // Months after the cursor's are pruned at executor start, not walked through
+        assertThat(scanned).as(planText).containsExactly("2024_02", "2024_01");
+        assertThat(planText).contains("Subplans Removed");
+    }
+
+    private static String cursor(LocalDate date, UUID id) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((date + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** JDBC {@code ?} placeholders as the {@code $n} parameters PREPARE takes. */
+    private static String numbered(String sql) {
+        StringBuilder out = new StringBuilder(sql.length() + 16);
+        int n = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') out.append('$').append(++n);
+            else out.append(c);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,166 @@
+package com.financialguru.service;
+
+import com.financialguru.dto.request.TransactionFilterRequest;
+import com.financialguru.dto.response.SearchResult;
+import com.financialguru.dto.response.TransactionCursorPage;
+import com.financialguru.dto.response.TransactionResponse;
+import com.financialguru.model.Account;
+import com.financialguru.model.Statement;
+import com.financialguru.model.Transaction;
+import com.financialguru.repository.QueryCounter;
+import com.financialguru.repository.SpendingRollupWriter;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Transaction listings must cost a fixed number of queries however many accounts and statements
+ * their rows span: the page is projected with the account name in one select, plus a count where
+ * the listing reports totals. A lazy association walked per row shows up as extra statements.
+ */
+@DataJpaTest(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.financialguru.repository.QueryCounter")
+@AutoConfigureEmbeddedDatabase(provider = DatabaseProvider.ZONKY)
+@Import({TransactionService.class, SearchService.class, SpendingRollupWriter.class})
+class TransactionListingQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @MockBean
+    private SearchIndex searchIndex;
+
+    private Statement checkingStatement;
+    private final List<Account> accounts = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        LocalDate start = LocalDate.of(2024, 1, 10);
+        for (int month = 0; month < 3; month++) {
+            jdbcTemplate.queryForObject("SELECT ensure_transactions_partition(?)", Boolean.class,
+                java.sql.Date.valueOf(start.plusMonths(month)));
+        }
+
+        // Three accounts with a statement each, rows spread over three months
+        String[] names = {"Checking", "Sapphire", "Savor"};
+        for (int a = 0; a < names.length; a++) {
+            Account account = entityManager.persist(Account.builder()
+                .name(names[a])
+                .type(a == 0 ? Account.AccountType.CHECKING : Account.AccountType.CREDIT_CARD)
+                .build());
+            accounts.add(account);
+            Statement statement = entityManager.persist(Statement.builder()
+                .account(account)
+                .fileName(names[a] + ".pdf")
+                .filePath("/tmp/" + names[a] + ".pdf")
+                .build());
+            if (a == 0) checkingStatement = statement;
+            for (int i = 0; i < 4; i++) {
+                entityManager.persist(Transaction.builder()
+                    .account(account)
+                    .statement(statement)
+                    .transactionDate(start.plusMonths(i % 3).plusDays(a))
+                    .description("COFFEE SHOP #" + a + i)
+                    .merchantName("Coffee Shop")
+                    .amount(new BigDecimal("4.50").add(BigDecimal.valueOf(i)))
+                    .type(Transaction.TransactionType.DEBIT)
+                    .isFlagged(i == 0)
+                    .flagReason(i == 0 ? "Unusual amount" : null)
+                    .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void transactionPageIsOneSelectPlusCount() {
+        TransactionFilterRequest filter = new TransactionFilterRequest();
+        filter.setSize(5);
+        AtomicReference<Page<TransactionResponse>> page = new AtomicReference<>();
+
+        assertThat(QueryCounter.count(() -> page.set(transactionService.getTransactions(filter)))).isEqualTo(2);
+        assertThat(page.get().getTotalElements()).isEqualTo(12);
+        assertAccountsResolved(page.get().getContent());
+    }
+
+    @Test
+    void keysetPageIsOneSelect() {
+        TransactionFilterRequest filter = new TransactionFilterRequest();
+        filter.setKeyset(true);
+        filter.setSize(5);
+        AtomicReference<TransactionCursorPage> page = new AtomicReference<>();
+
+        assertThat(QueryCounter.count(() -> page.set(transactionService.getTransactionsAfter(filter)))).isEqualTo(1);
+        assertAccountsResolved(page.get().getContent());
+
+        filter.setCursor(page.get().getNextCursor());
+        filter.setCount(true);
+        assertThat(QueryCounter.count(() -> page.set(transactionService.getTransactionsAfter(filter)))).isEqualTo(2);
+        assertThat(page.get().getTotalElements()).isEqualTo(12);
+    }
+
+    @Test
+    void anomaliesAreOneSelect() {
+        AtomicReference<List<TransactionResponse>> rows = new AtomicReference<>();
+
+        assertThat(QueryCounter.count(() -> rows.set(transactionService.getAnomalies()))).isEqualTo(1);
+        assertThat(rows.get()).hasSize(3);
+        assertAccountsResolved(rows.get());
+    }
+
+    @Test
+    void statementTransactionsAreOneSelect() {
+        AtomicReference<List<TransactionResponse>> rows = new AtomicReference<>();
+
+        assertThat(QueryCounter.count(() -> rows.set(transactionService.getByStatementId(checkingStatement.getId()))))
+            .isEqualTo(1);
+        assertThat(rows.get()).hasSize(4)
+            .allSatisfy(r -> assertThat(r.getStatementId()).isEqualTo(checkingStatement.getId()));
+        assertAccountsResolved(rows.get());
+    }
+
+    @Test
+    void searchIsRankedIdsThenOneProjectionThenAccounts() {
+        when(searchIndex.accountIds(anyString(), anyInt())).thenReturn(accounts.stream().map(Account::getId).toList());
+        when(searchIndex.merchants(anyString(), anyInt())).thenReturn(List.of("Coffee Shop"));
+        AtomicReference<SearchResult> result = new AtomicReference<>();
+
+        assertThat(QueryCounter.count(() -> result.set(searchService.search("coffee")))).isEqualTo(3);
+        assertThat(result.get().getTransactions()).hasSize(5);
+        assertThat(result.get().getAccounts()).hasSize(3);
+        assertAccountsResolved(result.get().getTransactions());
+    }
+
+    private static void assertAccountsResolved(List<TransactionResponse> rows) {
+        assertThat(rows).isNotEmpty().allSatisfy(r -> assertThat(r.getAccountName()).isNotNull());
+    }
+}
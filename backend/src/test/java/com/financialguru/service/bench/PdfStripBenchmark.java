@@ -0,0 +1,160 @@
+package com.financialguru.service.bench;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.financialguru.parser.GenericPdfParser;
+import com.financialguru.parser.InstitutionDetector;
+import com.financialguru.parser.bench.SyntheticStatementCorpus;
+import com.financialguru.parser.bench.SyntheticStatementCorpus.Layout;
+import com.financialguru.service.ExtractionCacheService;
+import com.financialguru.service.OcrService;
+import com.financialguru.service.PdfDocumentLoader;
+import com.financialguru.service.PdfExtractionService;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Page-parallel text stripping in {@link PdfExtractionService#extract} on a synthetic
+ * text-layer statement, for strip pool sizes 1..N. The extraction cache is disabled, so every
+ * operation loads and strips the whole document.
+ *
+ * Run through {@link #main} to sweep the pool size from 1 to the core count and print the
+ * speedup over a single thread:
+ *
+ * <pre>
+ * mvn -Pjmh verify -DskipTests -Djmh.main=com.financialguru.service.bench.PdfStripBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfStripBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param("96")
+    public int pages;
+
+    private static final int LINES_PER_PAGE = 48;
+
+    private File pdf;
+    private PdfExtractionService extraction;
+
+    @Setup
+    public void setUp() throws IOException {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        pdf = writeStatement(pages);
+
+        PdfDocumentLoader loader = new PdfDocumentLoader();
+        ReflectionTestUtils.setField(loader, "memoryMapped", true);
+        ReflectionTestUtils.setField(loader, "maxMainMemoryMb", 16L);
+        ReflectionTestUtils.setField(loader, "scratchDir", Files.createTempDirectory("pdf-bench").toString());
+        ReflectionTestUtils.setField(loader, "budgetMb", 0);
+        ReflectionTestUtils.setField(loader, "baseMb", 16);
+        ReflectionTestUtils.setField(loader, "sizeFactor", 4.0);
+        ReflectionTestUtils.setField(loader, "admissionTimeoutSeconds", 60L);
+        ReflectionTestUtils.invokeMethod(loader, "init");
+
+        ExtractionCacheService cache = new ExtractionCacheService();
+        ReflectionTestUtils.setField(cache, "enabled", false);
+
+        GenericPdfParser generic = new GenericPdfParser();
+        extraction = new PdfExtractionService(List.of(generic), generic, new OcrService(), cache,
+            new InstitutionDetector(), loader);
+        ReflectionTestUtils.setField(extraction, "parallelEnabled", true);
+        ReflectionTestUtils.setField(extraction, "parallelMinPages", 8);
+        ReflectionTestUtils.setField(extraction, "parallelThreads", threads);
+        ReflectionTestUtils.invokeMethod(extraction, "initPools");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        ReflectionTestUtils.invokeMethod(extraction, "shutdownPools");
+        Files.deleteIfExists(pdf.toPath());
+    }
+
+    @Benchmark
+    public PdfExtractionService.ExtractionResult extract() {
+        return extraction.extract(pdf);
+    }
+
+    private static File writeStatement(int pages) throws IOException {
+        List<String> lines = SyntheticStatementCorpus.generate(Layout.CHASE, pages * LINES_PER_PAGE, 42)
+            .lines().toList();
+        PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        File file = Files.createTempFile("strip-bench", ".pdf").toFile();
+        try (PDDocument doc = new PDDocument()) {
+            for (int from = 0; from < lines.size(); from += LINES_PER_PAGE) {
+                PDPage page = new PDPage();
+                doc.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+                    content.beginText();
+                    content.setFont(font, 9);
+                    content.setLeading(14);
+                    content.newLineAtOffset(40, 750);
+                    for (String line : lines.subList(from, Math.min(lines.size(), from + LINES_PER_PAGE))) {
+                        content.showText(line);
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            doc.save(file);
+        }
+        return file;
+    }
+
+    /** Runs the benchmark for every pool size from 1 to the core count and prints the speedup. */
+    public static void main(String[] args) throws RunnerException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        String[] sizes = IntStream.rangeClosed(1, cores).mapToObj(String::valueOf).toArray(String[]::new);
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+            .include(PdfStripBenchmark.class.getSimpleName())
+            .param("threads", sizes)
+            .build()).run();
+
+        Map<Integer, Double> score = new TreeMap<>();
+        for (RunResult r : results) {
+            score.put(Integer.parseInt(r.getParams().getParam("threads")), r.getPrimaryResult().getScore());
+        }
+        double single = score.getOrDefault(1, Double.NaN);
+        System.out.printf(Locale.ROOT, "%n%8s %14s %9s%n", "threads", "extracts/sec", "speedup");
+        score.forEach((t, s) -> System.out.printf(Locale.ROOT, "%8d %14.2f %8.2fx%n", t, s, s / single));
+    }
+}